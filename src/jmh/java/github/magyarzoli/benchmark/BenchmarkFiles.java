@@ -0,0 +1,61 @@
+package github.magyarzoli.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared file preparation of the benchmarks.
+ * Every benchmark works in its own temporary directory, which is removed in the tear down.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+final class BenchmarkFiles {
+
+    private BenchmarkFiles() {}
+
+    /**
+     * {@code directory} creates a new temporary directory for a benchmark.
+     * @return      the created directory.
+     */
+    static Path directory() {
+        try {
+            return Files.createTempDirectory("filehandler-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@code lines} writes a file of {@code count} lines, every line is about 64 characters long.
+     * @param       path the file to write.
+     * @param       count the number of lines.
+     */
+    static void lines(Path path, int count) {
+        try (var writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    writer.write('\n');
+                }
+                writer.write("line " + i + " lorem ipsum dolor sit amet consectetur adipiscing elit");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@code delete} removes the directory with all of its content.
+     * @param       directory the directory to remove.
+     */
+    static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach((path) -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.FileHandler;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of {@code CreateCommand.CREATES_THE_FILE} with many existing name collisions.
+ * The files {@code create.txt}, {@code create(1).txt} ... {@code create(collisions).txt} exist before every invocation,
+ * and the created file is removed after it, so every invocation has to find the same free name.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateBenchmark {
+
+    @Param({"0", "100", "1000", "10000"})
+    public int collisions;
+
+    private Path directory;
+
+    private String fileName;
+
+    private FileHandler handler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        fileName = directory.resolve("create.txt").toString();
+        try {
+            if (collisions > 0) {
+                new File(fileName).createNewFile();
+            }
+            for (int i = 1; i < collisions; i++) {
+                directory.resolve("create(" + i + ").txt").toFile().createNewFile();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newHandler() {
+        handler = new FileHandler(fileName);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteCreated() {
+        handler.getFile().delete();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public File createFile() {
+        handler.create(CreateCommand.CREATES_THE_FILE);
+        return handler.getFile();
+    }
+}
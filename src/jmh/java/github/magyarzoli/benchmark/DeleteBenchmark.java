@@ -0,0 +1,55 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.FileHandler;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of every {@code DeleteCommand}, the file is written again before every invocation.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeleteBenchmark {
+
+    @Param({"DELETE_THE_CONTENTS_OF_THE_FILE", "DELETE_THE_FILE"})
+    public DeleteCommand command;
+
+    @Param({"1000"})
+    public int lines;
+
+    private Path directory;
+
+    private Path path;
+
+    private FileHandler handler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        path = directory.resolve("delete.txt");
+        handler = new FileHandler(path.toString());
+    }
+
+    @Setup(Level.Invocation)
+    public void writeFile() {
+        BenchmarkFiles.lines(path, lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public void delete() {
+        handler.delete(command);
+    }
+}
@@ -0,0 +1,66 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.FileHandler;
+import github.magyarzoli.FileHandlerOptions;
+import github.magyarzoli.FileHandlerOptions.Durability;
+import github.magyarzoli.GroupCommitWriter;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of many threads appending a few elements to the same file, one write per call or in group commits.
+ * The direct appends are serialized by a lock, as the handler is not thread-safe.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    @Param({"NONE", "DATA"})
+    public Durability durability;
+
+    private Path directory;
+
+    private FileHandler handler;
+
+    private GroupCommitWriter writer;
+
+    private final String[] update = {"key", "value", "42"};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        handler = new FileHandler(directory.resolve("direct.txt").toString());
+        handler.setOptions(FileHandlerOptions.builder()
+                .durability(durability)
+                .build());
+        FileHandler committed = new FileHandler(directory.resolve("committed.txt").toString());
+        committed.setOptions(handler.getOptions());
+        writer = new GroupCommitWriter(committed);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.close();
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public void direct() {
+        synchronized (handler) {
+            handler.updateFileWithEnding(update);
+        }
+    }
+
+    @Benchmark
+    public void groupCommit() {
+        writer.append(update).join();
+    }
+}
@@ -0,0 +1,65 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.FileHandler;
+import github.magyarzoli.FileHandlerOptions;
+import github.magyarzoli.FileHandlerOptions.Durability;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the latency of overwriting a file, in place or atomically, with every {@code Durability}.
+ * The sample time mode reports the percentiles of the latency, the cost of forcing the content shows up in the
+ * upper percentiles on most storage devices.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverwriteBenchmark {
+
+    @Param({"false", "true"})
+    public boolean atomic;
+
+    @Param({"NONE", "DATA", "FULL"})
+    public Durability durability;
+
+    @Param({"100", "10000"})
+    public int lines;
+
+    private Path directory;
+
+    private FileHandler handler;
+
+    private List<String> content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        Path path = directory.resolve("overwrite.txt");
+        BenchmarkFiles.lines(path, lines);
+        handler = new FileHandler(path.toString());
+        handler.setOptions(FileHandlerOptions.builder()
+                .atomicOverwrite(atomic)
+                .durability(durability)
+                .build());
+        content = Collections.nCopies(lines, "line lorem ipsum dolor sit amet consectetur adipiscing elit\n");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public long overwrite() {
+        handler.updateFile(content);
+        return handler.getWrittenBytes();
+    }
+}
@@ -0,0 +1,94 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.ByteFileHandler;
+import github.magyarzoli.FileHandler;
+import github.magyarzoli.FileHandlerOptions;
+import github.magyarzoli.MappedFileReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the read paths of the {@code FileHandler} across file sizes.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int lines;
+
+    private Path directory;
+
+    private FileHandler handler;
+
+    private FileHandler parallelHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        Path path = directory.resolve("read.txt");
+        BenchmarkFiles.lines(path, lines);
+        handler = new FileHandler(path.toString());
+        parallelHandler = new FileHandler(path.toString());
+        parallelHandler.setOptions(FileHandlerOptions.builder()
+                .parallelRead(true)
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public String[] read() {
+        handler.read();
+        return handler.getReadArray();
+    }
+
+    @Benchmark
+    public String[] readParallel() {
+        parallelHandler.read();
+        return parallelHandler.getReadArray();
+    }
+
+    @Benchmark
+    public long readLines() {
+        try (Stream<String> stream = handler.readLines()) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public void readSplit(Blackhole blackhole) {
+        handler.readEachLine((line) -> blackhole.consume(line.split(" ")));
+    }
+
+    @Benchmark
+    public void readRecords(Blackhole blackhole) {
+        handler.readRecords((record) -> blackhole.consume(record.get(record.getFieldCount() - 1)));
+    }
+
+    @Benchmark
+    public ByteBuffer readBytes() {
+        return new ByteFileHandler(handler).readBytes();
+    }
+
+    @Benchmark
+    public void readMapped(Blackhole blackhole) {
+        MappedFileReader reader = handler.readMapped();
+        for (int i = 0; i < reader.getLineCount(); i++) {
+            blackhole.consume(reader.getLineBuffer(i));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.FileHandler;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of every {@code UpdateCommand} with arrays, collections and maps.
+ * The file is reset to {@code lines} lines before every invocation, outside of the measured time, so appending and
+ * prepending always run on a file of {@code lines} lines, instead of a file growing with every invocation.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBenchmark {
+
+    @Param({"UPDATE_FILE_TO_STARTING_CONTENTS", "UPDATE_FILE_TO_ENDING_CONTENTS", "UPDATE_FILE_WITH_CONTENTS_OVERWRITING"})
+    public UpdateCommand command;
+
+    @Param({"10000"})
+    public int lines;
+
+    @Param({"100"})
+    public int elements;
+
+    private Path directory;
+
+    private Path path;
+
+    private FileHandler handler;
+
+    private String[] array;
+
+    private List<String> collection;
+
+    private Map<String, String> map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        path = directory.resolve("update.txt");
+        handler = new FileHandler(path.toString());
+        array = new String[elements];
+        map = new LinkedHashMap<>();
+        for (int i = 0; i < elements; i++) {
+            array[i] = "value" + i;
+            map.put("key" + i, "value" + i);
+        }
+        collection = List.of(array);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetFile() {
+        BenchmarkFiles.lines(path, lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public void array()
+    throws IOException {
+        handler.update(array, command);
+    }
+
+    @Benchmark
+    public void collection()
+    throws IOException {
+        handler.update(collection, command);
+    }
+
+    @Benchmark
+    public void map()
+    throws IOException {
+        handler.update(map, command);
+    }
+}
@@ -0,0 +1,53 @@
+package github.magyarzoli.benchmark;
+
+import github.magyarzoli.FileHandler;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the bulk serialization of large collections, the whole collection is written by a single overwrite.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WritingBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"LIST", "SET"})
+    public String type;
+
+    private Path directory;
+
+    private FileHandler handler;
+
+    private Collection<Integer> collection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = BenchmarkFiles.directory();
+        handler = new FileHandler(directory.resolve("writing.txt").toString());
+        collection = type.equals("SET") ? new LinkedHashSet<>(size * 2) : new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            collection.add(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public void updateFile() {
+        handler.updateFile(collection);
+    }
+}
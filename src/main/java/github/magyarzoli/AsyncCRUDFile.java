@@ -0,0 +1,77 @@
+package github.magyarzoli;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous Create, Read, Update, Delete file interface.
+ * The asynchronous counterpart of {@link github.magyarzoli.CRUDFile CRUDFile}, every operation returns at once with a
+ * {@link java.util.concurrent.CompletableFuture CompletableFuture}, which is completed with the result of the operation,
+ * or completed exceptionally with the exception thrown by it.
+ * Use, when the calling thread should not wait for the disk, and the file I/O can overlap with other work.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public interface AsyncCRUDFile {
+
+    /**
+     * {@code createAsync} creates the file in the way specified by the {@code command}.
+     * @param       command by entering it, the file can be created in different ways.
+     * @return      the future completed with the final name of the file, which differs from the original name
+     *              if {@code CREATES_THE_FILE} had to rename the file.
+     * @see         github.magyarzoli.CreateFile#create(CreateCommand) create(CreateCommand)
+     */
+    public CompletableFuture<String> createAsync(CreateCommand command);
+
+    /**
+     * {@code readAsync} reads the lines of the file.
+     * @return      the future completed with the lines read.
+     * @see         github.magyarzoli.ReadFile#read() read()
+     */
+    public CompletableFuture<String[]> readAsync();
+
+    /**
+     * {@code updateAsync} updates the file with the elements of the {@code update} array.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <T> allows this method to be used with different types of arrays.
+     * @return      the future completed with the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Object[], UpdateCommand) update(Object[], UpdateCommand)
+     */
+    public <T> CompletableFuture<Long> updateAsync(T[] update, UpdateCommand command);
+
+    /**
+     * {@code updateAsync} updates the file with the elements of the {@code update} collection.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <T> allows this method to be used with different types.
+     * @param       <C> this constraint ensures that must be a subtype of Collection.
+     * @return      the future completed with the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Collection, UpdateCommand) update(Collection, UpdateCommand)
+     */
+    public <T, C extends Collection<T>> CompletableFuture<Long> updateAsync(C update, UpdateCommand command);
+
+    /**
+     * {@code updateAsync} updates the file with the key-value pairs of the {@code update} map.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <K> represents the type of keys in the map.
+     * @param       <V> represents the type of values in the map.
+     * @param       <M> this constraint ensures that must be a subtype of Map.
+     * @return      the future completed with the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Map, UpdateCommand) update(Map, UpdateCommand)
+     */
+    public <K, V, M extends Map<K, V>> CompletableFuture<Long> updateAsync(M update, UpdateCommand command);
+
+    /**
+     * {@code deleteAsync} deletes the file in the way specified by the {@code command}.
+     * @param       command by specifying the file can be deleted in several ways.
+     * @return      the future completed with {@code true} if the file existed before the deletion.
+     * @see         github.magyarzoli.DeleteFile#delete(DeleteCommand) delete(DeleteCommand)
+     */
+    public CompletableFuture<Boolean> deleteAsync(DeleteCommand command);
+}
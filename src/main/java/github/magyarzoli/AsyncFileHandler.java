@@ -0,0 +1,172 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class for creating, reading, updating and deleting a file asynchronously.
+ * Every operation is delegated to a {@link github.magyarzoli.FileHandler FileHandler} and run on an
+ * {@link java.util.concurrent.Executor Executor}. The operations of the same {@code AsyncFileHandler} run one after
+ * the other in the order they were submitted, because the {@code FileHandler} is not safe for concurrent use, while the
+ * operations of different handlers run in parallel.
+ * A failed operation completes its future exceptionally, and does not prevent the next operations from running.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class AsyncFileHandler
+implements AsyncCRUDFile {
+
+    /**
+     * Counter used to name the threads of the default executor.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * The executor used when no other is specified, its daemon threads are created on demand and kept alive for
+     * a minute after their last operation.
+     */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool((runnable) -> {
+        Thread thread = new Thread(runnable, ("file-handler-async-" + THREAD_COUNT.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Store the handler the operations are delegated to.
+     */
+    private final FileHandler handler;
+
+    /**
+     * Store the executor the operations run on.
+     */
+    private final Executor executor;
+
+    /**
+     * Store the future of the last submitted operation, the next operation starts after it.
+     */
+    private CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+
+    /**
+     * The constructor takes a {@code handler} and runs its operations on the dedicated default executor.
+     * @param       handler the handler the operations are delegated to.
+     */
+    public AsyncFileHandler(FileHandler handler) {
+        this(handler, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * The constructor takes a {@code handler} and the {@code executor} the operations run on.
+     * @param       handler the handler the operations are delegated to.
+     * @param       executor the executor the operations run on.
+     */
+    public AsyncFileHandler(FileHandler handler, Executor executor) {
+        if ((handler == null) || (executor == null)) {
+            throw new IllegalArgumentException("Handler and executor takes a null value!");
+        }
+        this.handler = handler;
+        this.executor = executor;
+    }
+
+    /**
+     * {@code getHandler} returns the handler the operations are delegated to.
+     * The handler must not be used directly while asynchronous operations are pending.
+     * @return      the handler.
+     */
+    public FileHandler getHandler() {
+        return handler;
+    }
+
+    @Override
+    public CompletableFuture<String> createAsync(CreateFile.CreateCommand command) {
+        return submit(() -> {
+            handler.create(command);
+            return handler.getFileName();
+        });
+    }
+
+    @Override
+    public CompletableFuture<String[]> readAsync() {
+        return submit(() -> {
+            handler.read();
+            return handler.getReadArray();
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Long> updateAsync(T[] update, UpdateFile.UpdateCommand command) {
+        return submit(() -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    @Override
+    public <T, C extends Collection<T>> CompletableFuture<Long> updateAsync(C update, UpdateFile.UpdateCommand command) {
+        return submit(() -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    @Override
+    public <K, V, M extends Map<K, V>> CompletableFuture<Long> updateAsync(M update, UpdateFile.UpdateCommand command) {
+        return submit(() -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(DeleteFile.DeleteCommand command) {
+        return submit(() -> {
+            boolean existed = handler.getFile().exists();
+            handler.delete(command);
+            return existed;
+        });
+    }
+
+    /**
+     * {@code submit} method that schedules an operation after the previously submitted one.
+     * <ul>
+     *     <li>The operation is chained to the future of the last submitted operation, ignoring its outcome, so a
+     *     failed operation does not cancel the next one.</li>
+     *     <li>The operation runs on the {@code executor}.</li>
+     *     <li>An {@code IOException} of the operation is wrapped in a {@link java.util.concurrent.CompletionException CompletionException}.</li>
+     *     <li>The future of the operation becomes the last submitted one.</li>
+     * </ul>
+     * @param       operation the operation to run.
+     * @param       <R> the type of the result of the operation.
+     * @return      the future completed with the result of the operation.
+     */
+    private synchronized <R> CompletableFuture<R> submit(Operation<R> operation) {
+        CompletableFuture<R> future = last.handle((result, exception) -> null)
+                .thenApplyAsync((ignored) -> {
+                    try {
+                        return operation.run();
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+        last = future;
+        return future;
+    }
+
+    /**
+     * Functional interface of an operation of the handler, which returns a result and may throw an {@code IOException}.
+     * @param       <R> the type of the result.
+     */
+    @FunctionalInterface
+    private interface Operation<R> {
+
+        /**
+         * {@code run} runs the operation.
+         * @return      the result of the operation.
+         * @throws      IOException indicating that it can potentially encounter input/output errors.
+         */
+        R run()
+        throws IOException;
+    }
+}
@@ -0,0 +1,159 @@
+package github.magyarzoli;
+
+import java.nio.ByteBuffer;
+
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+/**
+ * Class for creating, reading, updating and deleting a file as raw bytes, for binary workloads like copying or
+ * concatenating payload files, which do not need the characters of the file.
+ * Every operation is delegated to a {@link github.magyarzoli.FileHandler FileHandler}, but the reads and the updates go
+ * through a {@link java.nio.channels.FileChannel FileChannel} and a {@link java.nio.ByteBuffer ByteBuffer} only, the
+ * bytes are never decoded to characters nor encoded from them, no {@code Reader}, {@code Writer} or {@code String} is
+ * involved.
+ * <ul>
+ *     <li>The {@link github.magyarzoli.FileHandlerOptions options} of the handler apply: the direct buffers, the atomic
+ *     overwrite, the durability, the locks and the listener of the operations.</li>
+ *     <li>The creations and the deletions are the same as those of the handler.</li>
+ *     <li>The updates concatenate the bytes with the existing content as they are, unlike the text updates, no newline
+ *     character is inserted between them.</li>
+ *     <li>An update invalidates the lines of the file cached by the {@link github.magyarzoli.ReadCache ReadCache} of the
+ *     options, like the text updates do.</li>
+ * </ul>
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class ByteFileHandler
+implements CRUDByteFile {
+
+    /**
+     * Store the handler the operations are delegated to.
+     */
+    private final FileHandler handler;
+
+    /**
+     * The constructor takes a {@code fileName} parameter of type {@code String}, and creates a handler of it.
+     * @param       fileName the specified file name.
+     * @see         github.magyarzoli.FileHandler#FileHandler(String) FileHandler(String)
+     */
+    public ByteFileHandler(String fileName) {
+        this(new FileHandler(fileName));
+    }
+
+    /**
+     * The constructor takes a {@code handler}, whose file and options are used.
+     * @param       handler the handler the operations are delegated to.
+     */
+    public ByteFileHandler(FileHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler takes a null value!");
+        }
+        this.handler = handler;
+    }
+
+    /**
+     * {@code getHandler} returns the handler the operations are delegated to, which also reads and updates the file
+     * as text.
+     * @return      the handler.
+     */
+    public FileHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * {@code getWrittenBytes} returns the number of bytes written to the file by the last update.
+     * For an update to the starting contents, the existing content copied after the new beginning is counted too.
+     * @return      the number of bytes written by the last update.
+     */
+    public long getWrittenBytes() {
+        return handler.getWrittenBytes();
+    }
+
+    @Override
+    public void createFile() {
+        handler.createFile();
+    }
+
+    @Override
+    public void recreateFile() {
+        handler.recreateFile();
+    }
+
+    @Override
+    public void notCreateAlreadyExists() {
+        handler.notCreateAlreadyExists();
+    }
+
+    /**
+     * {@code readBytes} reads the whole content of the file into a new {@code ByteBuffer}, direct if the options are
+     * set to use direct buffers.
+     * <ul>
+     *     <li>The file is read with positioned reads of a {@code FileChannel}, the bytes are not decoded.</li>
+     *     <li>If any {@code IOException} occurs, a {@link java.lang.RuntimeException RuntimeException} is thrown,
+     *     wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @return      the content of the file, ready to be read.
+     * @throws      IllegalStateException if the file is larger than a buffer can hold.
+     */
+    @Override
+    public ByteBuffer readBytes() {
+        return handler.readBytes();
+    }
+
+    /**
+     * {@code readBytes} reads the bytes of the file from the {@code position} into the {@code buffer}, without
+     * allocating, so a buffer can be reused to read a file of any size in chunks.
+     * @param       buffer the buffer to read into.
+     * @param       position the position of the file to read from, must not be negative.
+     * @return      the number of bytes read, or <i>-1</i> if the {@code position} is at or after the end of the file.
+     * @throws      IllegalArgumentException if the {@code position} is negative.
+     */
+    @Override
+    public int readBytes(ByteBuffer buffer, long position) {
+        return handler.readBytes(buffer, position);
+    }
+
+    /**
+     * {@code updateFileWithStarting} writes the remaining bytes of the {@code update} to the beginning of the file.
+     * The bytes are written to a temporary file, the existing content is copied after them with
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) transferTo()},
+     * and the temporary file replaces the file.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     */
+    @Override
+    public void updateFileWithStarting(ByteBuffer update) {
+        handler.updateBytes(update, UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS);
+    }
+
+    /**
+     * {@code updateFileWithEnding} writes the remaining bytes of the {@code update} to the end of the file, which is
+     * opened in append mode, so the existing content is neither read nor rewritten.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     */
+    @Override
+    public void updateFileWithEnding(ByteBuffer update) {
+        handler.updateBytes(update, UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS);
+    }
+
+    /**
+     * {@code updateFile} replaces the content of the file with the remaining bytes of the {@code update}, atomically
+     * if the options are set to overwrite atomically.
+     * @param       update the desired content that you would upload, {@code null} empties the file.
+     */
+    @Override
+    public void updateFile(ByteBuffer update) {
+        handler.updateBytes(((update != null) ? update : ByteBuffer.allocate(0)), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+    }
+
+    @Override
+    public void deleteAndCreateFile() {
+        handler.deleteAndCreateFile();
+    }
+
+    @Override
+    public void deleteFile() {
+        handler.deleteFile();
+    }
+}
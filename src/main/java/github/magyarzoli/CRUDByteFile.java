@@ -0,0 +1,11 @@
+package github.magyarzoli;
+
+/**
+ * Create, Read, Update, Delete file interface of bytes
+ * Collector interface, single implementation of 4 interfaces
+ * Use, when the inherited class can create, read, update and delete at the same time, with raw bytes instead of text.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public interface CRUDByteFile
+extends CreateFile, ReadByteFile, UpdateByteFile, DeleteFile {}
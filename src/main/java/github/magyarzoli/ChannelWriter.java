@@ -0,0 +1,211 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.*;
+
+/**
+ * {@link java.io.Writer Writer} that encodes characters into a caller supplied {@link java.nio.ByteBuffer ByteBuffer}
+ * and writes the buffer to a channel whenever it is full.
+ * Unlike {@link java.io.OutputStreamWriter OutputStreamWriter}, the size of the buffer and whether it is direct or heap
+ * is decided by the caller, so a large direct buffer is written to the channel without an extra copy.
+ * Characters that cannot be encoded are replaced, the same way as {@code OutputStreamWriter} does.
+ * Closing the writer closes the channel.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+class ChannelWriter
+extends Writer {
+
+    /**
+     * Store the channel the encoded bytes are written to.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Store the encoder of the charset.
+     */
+    private final CharsetEncoder encoder;
+
+    /**
+     * Store the buffer of the encoded bytes.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Store a high surrogate split from its low surrogate by the end of a write.
+     */
+    private final CharBuffer carry = CharBuffer.allocate(2);
+
+    /**
+     * Store the number of bytes written to the channel.
+     */
+    private long written;
+
+    /**
+     * Store whether the end of the input was encoded.
+     */
+    private boolean finished;
+
+    /**
+     * Store whether the writer is closed.
+     */
+    private boolean closed;
+
+    /**
+     * The constructor takes the {@code channel}, the {@code charset} of the content and the {@code buffer} of the encoded bytes.
+     * @param       channel the channel to write to.
+     * @param       charset the charset used to encode the characters.
+     * @param       buffer the buffer of the encoded bytes, it is cleared before use.
+     */
+    ChannelWriter(WritableByteChannel channel, Charset charset, ByteBuffer buffer) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = buffer.clear();
+    }
+
+    /**
+     * {@code getWritten} returns the number of bytes written to the channel so far.
+     * Bytes still held in the buffer are not counted until the writer is flushed.
+     * @return      the number of bytes written.
+     */
+    long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void write(int c)
+    throws IOException {
+        write(new char[] {(char) c}, 0, 1);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length)
+    throws IOException {
+        encode(CharBuffer.wrap(chars, offset, length));
+    }
+
+    @Override
+    public void write(String string, int offset, int length)
+    throws IOException {
+        encode(CharBuffer.wrap(string, offset, (offset + length)));
+    }
+
+    @Override
+    public void flush()
+    throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    /**
+     * {@code finish} encodes a pending high surrogate, flushes the encoder and the buffer, leaving the channel open,
+     * so every byte is in the channel and it can be forced before closing. Nothing can be written after it.
+     * @throws      IOException if the channel cannot be written.
+     */
+    void finish()
+    throws IOException {
+        ensureOpen();
+        if (finished) {
+            return;
+        }
+        finished = true;
+        carry.flip();
+        encode(carry, true);
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+        drain();
+    }
+
+    /**
+     * {@code close} finishes the writer if it is not finished yet, then closes the channel.
+     * @throws      IOException if the channel cannot be written or closed.
+     */
+    @Override
+    public void close()
+    throws IOException {
+        if (closed) {
+            return;
+        }
+        try (channel) {
+            finish();
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * {@code encode} encodes the {@code chars}, completing a pending high surrogate first.
+     * @param       chars the characters to encode.
+     * @throws      IOException if the channel cannot be written.
+     */
+    private void encode(CharBuffer chars)
+    throws IOException {
+        ensureOpen();
+        if (finished) {
+            throw new IOException("Writer finished!");
+        }
+        if (carry.position() > 0) {
+            if (!chars.hasRemaining()) {
+                return;
+            }
+            carry.put(chars.get()).flip();
+            encode(carry, false);
+            carry.clear();
+        }
+        encode(chars, false);
+        if (chars.hasRemaining()) {
+            carry.put(chars);
+        }
+    }
+
+    /**
+     * {@code encode} encodes the {@code chars} into the buffer, writing the buffer to the channel whenever it is full.
+     * @param       chars the characters to encode.
+     * @param       endOfInput whether no more characters follow.
+     * @throws      IOException if the channel cannot be written.
+     */
+    private void encode(CharBuffer chars, boolean endOfInput)
+    throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                return;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    /**
+     * {@code drain} writes the content of the buffer to the channel.
+     * @throws      IOException if the channel cannot be written.
+     */
+    private void drain()
+    throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * {@code ensureOpen} checks that the writer is not closed.
+     * @throws      IOException if the writer is closed.
+     */
+    private void ensureOpen()
+    throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed!");
+        }
+    }
+}
@@ -1,50 +1,111 @@
 package github.magyarzoli;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * Class for creating, reading, updating and deleting a file.
+ * The state of the handler is kept in volatile fields, and with {@link github.magyarzoli.PathLocks PathLocks} set in the
+ * {@link github.magyarzoli.FileHandlerOptions options}, the reads of the file run in parallel and its writes run alone,
+ * across every handler of the same file using the same locks. The stream of {@code readLines()} holds the read lock
+ * until it is closed, the mapped readers and the tailers returned by the handler read the file without holding its
+ * lock. With a {@link github.magyarzoli.FileOperationListener FileOperationListener}
+ * set in the options, or the {@code github.magyarzoli.File*} events enabled in a Java Flight Recorder recording, every
+ * create, read, update and delete operation is measured and reported.
  * @since       1.0
  * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
  */
 public class FileHandler
 implements CRUDFile {
 
+    /**
+     * The size of the sample of the start of the file the number of lines is estimated from, <i>64</i> KiB.
+     */
+    private static final int SAMPLE_SIZE = 64 * 1024;
+
+    /**
+     * The largest estimated number of lines a map is presized for, <i>2^20</i>, larger maps grow as usual.
+     */
+    private static final int MAX_EXPECTED_LINES = 1 << 20;
+
+    /**
+     * The shared event of the creations, never committed, only asked whether its type is enabled.
+     */
+    private static final FileHandlerEvent CREATE_EVENT = new FileHandlerEvent.Create();
+
+    /**
+     * The shared event of the reads, never committed, only asked whether its type is enabled.
+     */
+    private static final FileHandlerEvent READ_EVENT = new FileHandlerEvent.Read();
+
+    /**
+     * The shared event of the updates, never committed, only asked whether its type is enabled.
+     */
+    private static final FileHandlerEvent UPDATE_EVENT = new FileHandlerEvent.Update();
+
+    /**
+     * The shared event of the deletions, never committed, only asked whether its type is enabled.
+     */
+    private static final FileHandlerEvent DELETE_EVENT = new FileHandlerEvent.Delete();
+
     /**
      * Store specified file name in variable.
      */
-    private String fileName;
+    private volatile String fileName;
 
     /**
      * Store specified file in variable.
      */
-    private File file;
+    private volatile File file;
 
     /**
      * Store delimiter text string
      */
-    private String delimiter = " ";
+    private volatile String delimiter = " ";
+
+    /**
+     * Store the lines read from the file in a compact store.
+     */
+    private volatile LineStore lines;
 
     /**
-     * Store values read from the file in an array.
+     * Store the array of the lines, created from the {@code lines} on the first request.
      */
-    private String[] readArray;
+    private volatile String[] readArray;
 
     /**
-     * Storage of values read from a file in a collection.
+     * Store the paged view of the lines, created on the first request in lazy mode.
      */
-    private Collection<String> readCollection;
+    private volatile PagedLines pagedLines;
 
     /**
-     * Storage of values scanned from a file in a array, keeping the scanning pattern.
+     * Store the index of every line, created on the first random access.
      */
-    private String[] delimitedArray;
+    private volatile LineIndex lineIndex;
 
     /**
-     * Storage of values scanned from a file in a collection, keeping the scanning pattern.
+     * Store the I/O options used to read and write the file.
      */
-    private Collection<String> delimitedCollection;
+    private volatile FileHandlerOptions options = FileHandlerOptions.DEFAULT;
+
+    /**
+     * Store the number of bytes written to the file by the last update.
+     */
+    private volatile long writtenBytes;
 
     /**
      * Constructor reserved for further inheritance in a hierarchical system.
@@ -161,35 +222,102 @@ implements CRUDFile {
         }
     }
 
+    /**
+     * {@code getOptions} returns the I/O options currently used to read and write the file.
+     * @return      the options of the handler.
+     */
+    public FileHandlerOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * {@code setOptions} is a setter method for setting the I/O options of the handler.
+     * <ul>
+     *     <li>The method checks if the {@code options} parameter is not {@code null}.</li>
+     *     <li>If the {@code options} parameter is not {@code null}, the buffer size, the charset and the kind of the
+     *     byte buffers are used by every subsequent read and write of the file.</li>
+     * </ul>
+     * @param       options specified options, created with {@link github.magyarzoli.FileHandlerOptions#builder() builder()}.
+     */
+    public void setOptions(FileHandlerOptions options) {
+        if (options != null) {
+            this.options = options;
+        }
+    }
+
+    /**
+     * {@code getWrittenBytes} returns the number of bytes written to the file by the last update.
+     * For an update to the starting contents, the existing content copied after the new beginning is counted too.
+     * An update skipped because its content is {@code null} wrote nothing, so it is <i>0</i> after it.
+     * @return      the number of bytes written by the last update.
+     */
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
     /**
      * Storing read values in an array.
-     * @return      read values in an array.
+     * The array is created from the compact store of the lines on the first request after a read, and the same array
+     * is returned until the next read.
+     * If the {@code options} are set to read lazily, and the file was not read since the last write, it is read first.
+     * @return      read values in an array, {@code null} if the file was not read yet.
+     * @see         github.magyarzoli.FileHandlerOptions#isLazyRead() isLazyRead()
      */
     public String[] getReadArray() {
+        if ((lines == null) && options.isLazyRead()) {
+            read();
+        }
+        if ((readArray == null) && (lines != null)) {
+            readArray = lines.toArray();
+        }
         return readArray;
     }
 
     /**
      * Storing read values in a collection.
-     * @return      read values in a collection.
+     * The collection is an unmodifiable list view of the compact store of the lines, the {@code String} of a line is
+     * created only when the line is requested.
+     * <ul>
+     *     <li>If the {@code options} are set to read lazily, and the file was not read since the last write, the lines
+     *     are not read at once. The file is indexed in one pass over its bytes, and the returned view reads and decodes
+     *     only the pages of lines requested, keeping a few of them in memory.</li>
+     *     <li>If the charset cannot be indexed without decoding, like UTF-16, the file is read at once instead.</li>
+     * </ul>
+     * @return      read values in a collection, {@code null} if the file was not read yet.
+     * @see         github.magyarzoli.FileHandlerOptions#isLazyRead() isLazyRead()
+     * @see         github.magyarzoli.PagedLines PagedLines
      */
     public Collection<String> getReadCollection() {
-        return readCollection;
+        if ((lines == null) && options.isLazyRead()) {
+            if (pagedLines != null) {
+                return pagedLines;
+            }
+            if (LineIndex.supports(options.getCharset())) {
+                try {
+                    pagedLines = PagedLines.of(Path.of(fileName), options.getCharset(), options.allocate());
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return pagedLines;
+            }
+            read();
+        }
+        return (lines != null) ? lines.asList() : null;
     }
 
     /**
      * {@code createFile} method within the {@code FileHandler} class.
      * <ul>
-     *     <li>It checks if the file specified by the {@code file} property already exists using {@code file}.{@link java.io.File#exists() exists()}.</li>
-     *     <li>If the file exists, it invokes the {@code newFile()} method.
-     *     This method is assumed to generate a unique file name based on the existing file name.</li>
-     *     <li>After generating a new file name (if needed), it invokes the {@code createNewFile()} method, passing a lambda expression as an argument.</li>
-     *     <li>The lambda expression {@code () -> file.createNewFile()} represents an implementation of the {@code FileFunctional} interface.
-     *     It calls the {@code createNewFile()} method on the file object, which is assumed to be the property of the {@code FileHandler} class.</li>
+     *     <li>It invokes the {@code createNewFile()} method, passing a lambda expression as an argument.</li>
+     *     <li>The lambda expression represents an implementation of the {@code FileFunctional} interface.
+     *     It calls the {@link java.io.File#createNewFile() createNewFile()} method on the {@code file} object, which creates
+     *     the file only if it does not exist, in a single atomic step.</li>
+     *     <li>If the file already exists, it invokes the {@code newFile()} method,
+     *     which creates the file under a unique name based on the existing file name.</li>
      *     <li>The {@code createNewFile()} method is expected to handle any potential {@code IOException} that may occur when creating the file.</li>
      * </ul>
-     * {@code createFile} method checks if the file already exists and generates a new file name if necessary.
-     * Then, it proceeds to create a new file using the {@code createNewFile()} method by invoking the {@code createNewFile()} method of the {@code FileFunctional} interface,
+     * {@code createFile} method creates the file, and generates a new file name if necessary.
+     * It creates the file using the {@code createNewFile()} method by invoking the {@code createNewFile()} method of the {@code FileFunctional} interface,
      * which encapsulates the {@code file.createNewFile()} call. This approach allows for flexible handling of the file creation process,
      * including potential exceptions, using functional programming concepts.
      * @see         github.magyarzoli.FileFunctional FileFunctional
@@ -197,10 +325,14 @@ implements CRUDFile {
      */
     @Override
     public void createFile() {
-        if (file.exists()) {
-            newFile();
-        }
-        createNewFile(() -> file.createNewFile());
+        observed(CreateCommand.CREATES_THE_FILE, () -> locked(true, () -> {
+            createNewFile(() -> {
+                if (!file.createNewFile()) {
+                    newFile();
+                }
+            });
+            invalidate(file.toPath());
+        }));
     }
 
     /**
@@ -219,10 +351,13 @@ implements CRUDFile {
      */
     @Override
     public void recreateFile() {
-        if (file.exists()) {
-            file.delete();
-        }
-        createNewFile(() -> file.createNewFile());
+        observed(CreateCommand.CREATES_AGAIN_THE_FILE, () -> locked(true, () -> {
+            if (file.exists()) {
+                file.delete();
+                invalidate(file.toPath());
+            }
+            createNewFile(() -> file.createNewFile());
+        }));
     }
 
     /**
@@ -239,55 +374,479 @@ implements CRUDFile {
      */
     @Override
     public void notCreateAlreadyExists() {
-        if (!file.exists()) {
-            createNewFile(() -> file.createNewFile());
-        }
+        observed(CreateCommand.CREATES_DOES_NOT_IF_IT_ALREADY_EXISTS, () -> locked(true, () -> {
+            if (!file.exists()) {
+                createNewFile(() -> file.createNewFile());
+            }
+        }));
     }
 
     /**
-     * {@code read} It reads lines from a file and populates four different data structures:
-     * {@code readArray}, {@code readCollection}, {@code delimitedArray}, and {@code delimitedCollection}.
+     * {@code read} It reads lines from a file and stores them in a single compact {@code LineStore}, from which
+     * {@code getReadArray()} and {@code getReadCollection()} are served.
      * <ul>
-     *     <li>Two lists are declared to store the lines read from the file {@code result}
-     *     and the lines with an additional newline character at the end {@code delimitedResult}.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedReader BufferedReader}
-     *     is properly closed after use.</li>
-     *     <li>A {@code BufferedReader} is created to read the lines from the file specified by {@code fileName}.</li>
-     *     <li>Two {@link java.util.ArrayList ArrayList} instances are initialized for {@code result} and {@code delimitedResult}.</li>
-     *     <li>The method reads each line from the file using {@code reader}.{@link java.io.BufferedReader#readLine()}
-     *     and adds the line to both {@code result} and {@code delimitedResult}.</li>
-     *     <li>The last line in {@code delimitedResult} (the one with an extra newline) is retrieved.</li>
-     *     <li>The last line in {@code delimitedResult} is modified to remove the trailing newline character.</li>
+     *     <li>If the {@code options} have a {@link github.magyarzoli.ReadCache ReadCache}, the lines are taken from the
+     *     cache, which reads the file with the {@code readAll} method only if the file changed since it was last read.
+     *     The store is immutable, so it is shared with the cache without copying.</li>
+     *     <li>Otherwise the lines are read from the file specified by {@code fileName} with the {@code readAll} method.</li>
      *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
      *     is thrown, wrapping the original {@code IOException}.</li>
-     *     <li>After the try-with-resources block, the method converts both lists to arrays and assigns them to the corresponding class fields:
-     *     {@code readArray} is assigned the array representation of {@code result}.
-     *     {@code readCollection} is assigned the reference to {@code result} (not a new copy).
-     *     {@code delimitedArray} is assigned the array representation of {@code delimitedResult}.
-     *     {@code delimitedCollection} is assigned the reference to {@code delimitedResult} (not a new copy).</li>
+     *     <li>The store is assigned to the {@code lines} field, and the array of the previous read is dropped,
+     *     it is created again on the next request.</li>
      * </ul>
      * If the file is not found or there are any other issues while reading, a {@code RuntimeException} will be thrown.
+     * @see         github.magyarzoli.LineStore LineStore
      */
     @Override
     public void read() {
-        List<String> result, delimitedResult;
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-            result = new ArrayList<>();
-            delimitedResult = new ArrayList<>();
+        observed(true, LineStore::size, () -> locked(false, () -> {
+            ReadCache cache = options.getReadCache();
+            LineStore store;
+            try {
+                store = (cache != null) ? cache.lines(Path.of(fileName), options.getCharset(), this::readAll) : readAll();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            lines = store;
+            readArray = null;
+            pagedLines = null;
+            return store;
+        }));
+    }
+
+    /**
+     * {@code lineIndex} method that returns the sparse index of the lines of the file specified by {@code path}.
+     * <ul>
+     *     <li>Only the offset of every {@link github.magyarzoli.PagedLines#PAGE_LINES PAGE_LINES}-th line is kept, a
+     *     line between them is found by scanning forward from the nearest indexed offset.</li>
+     *     <li>The index of the previous random access is reused, if the size and the modification time of the file did
+     *     not change since.</li>
+     *     <li>If the {@code options} are set to persist the index, it is loaded from the sidecar file, if it describes
+     *     the current file.</li>
+     *     <li>Otherwise the index is built in one sequential pass over the bytes of the file, and saved to the sidecar
+     *     file if the {@code options} are set to persist the index.</li>
+     * </ul>
+     * @param       path the file.
+     * @return      the sparse index of the lines.
+     * @throws      IOException if the file or the sidecar file cannot be read, or the sidecar file cannot be written.
+     * @see         github.magyarzoli.LineIndex LineIndex
+     */
+    private LineIndex lineIndex(Path path)
+    throws IOException {
+        if ((lineIndex != null) && lineIndex.isValid(path)) {
+            return lineIndex;
+        }
+        lineIndex = null;
+        if (options.isPersistentIndex()) {
+            lineIndex = LineIndex.load(LineIndex.sidecar(path), path, PagedLines.PAGE_LINES);
+        }
+        if (lineIndex == null) {
+            lineIndex = LineIndex.build(path, PagedLines.PAGE_LINES, options.allocate());
+            if (options.isPersistentIndex()) {
+                lineIndex.save(LineIndex.sidecar(path));
+            }
+        }
+        return lineIndex;
+    }
+
+    /**
+     * {@code readAll} method that reads every line of the file specified by {@code fileName}.
+     * <ul>
+     *     <li>If the {@code options} are set to read in parallel, and the charset is supported, the file is read by a
+     *     {@code ParallelReader} with the common {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.</li>
+     *     <li>Otherwise the method uses a try-with-resources block to ensure the {@link java.io.BufferedReader BufferedReader}
+     *     is properly closed after use, and adds every line read with {@link java.io.BufferedReader#readLine()} to a
+     *     {@code LineStore}.</li>
+     * </ul>
+     * @return      the lines of the file.
+     * @throws      IOException if the file does not exist or cannot be read.
+     * @see         github.magyarzoli.ParallelReader ParallelReader
+     */
+    private LineStore readAll()
+    throws IOException {
+        if (options.isParallelRead() && LineIndex.supports(options.getCharset())) {
+            return ParallelReader.read(Path.of(fileName), options.getCharset(), ForkJoinPool.commonPool());
+        }
+        LineStore.Builder builder = LineStore.builder();
+        try (BufferedReader reader = reader()) {
             String line;
             while ((line = reader.readLine()) != null) {
-                result.add(line);
-                delimitedResult.add(line + "\n");
+                builder.add(line);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@code readLines} It reads lines from the file lazily, without populating any of the data structures of the
+     * {@code FileHandler}.
+     * <ul>
+     *     <li>A {@link java.io.BufferedReader BufferedReader} is created to read the lines from the file specified by
+     *     {@code fileName}.</li>
+     *     <li>The {@link java.io.BufferedReader#lines() lines()} stream of the reader is returned, every line is read
+     *     only when the stream requests the next element.</li>
+     *     <li>The read lock of the file is taken before the file is opened, with the {@code lock} method, and held
+     *     while the stream is open, so the writes of the file wait until the stream is closed.</li>
+     *     <li>The reader is registered as the close handler of the stream, closing the stream closes the file, releases
+     *     the lock, and reports the read with the number of lines consumed, if the read is measured.</li>
+     *     <li>If any {@code IOException} occurs while opening or closing the file, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * Unlike {@code read()}, the memory used does not depend on the size of the file, only one line is held at a time.
+     * The {@code readArray} and {@code readCollection} are left untouched. The stream must be closed by the thread
+     * that opened it, and while it is open, a write of the thread through the same {@code PathLocks} throws an
+     * {@link java.lang.IllegalStateException IllegalStateException}.
+     * @return      the lines of the file as a lazily populated {@code Stream}.
+     * @see         github.magyarzoli.FileHandler#readEachLine(java.util.function.Consumer) readEachLine(Consumer)
+     */
+    public Stream<String> readLines() {
+        FileOperationListener listener = options.getListener();
+        boolean measured = (listener != null) || READ_EVENT.isEnabled();
+        FileHandlerEvent event = measured ? newEvent(READ_EVENT) : null;
+        long start = System.nanoTime();
+        if (event != null) {
+            event.begin();
+        }
+        Runnable unlock = null;
+        BufferedReader reader;
+        try {
+            unlock = lock(false);
+            reader = reader();
+        } catch (IOException | RuntimeException | Error e) {
+            if (unlock != null) {
+                unlock.run();
+            }
+            if (measured) {
+                report(listener, event, null, start, 0, 0, e);
             }
-            String lastLine = delimitedResult.get(delimitedResult.size() - 1);
-            delimitedResult.set((delimitedResult.size() - 1), lastLine.substring(0, lastLine.length() - 1));
+            if (e instanceof Error error) {
+                throw error;
+            }
+            throw (e instanceof RuntimeException runtime) ? runtime : new RuntimeException(e);
+        }
+        long[] consumed = new long[1];
+        Stream<String> lines = measured ? reader.lines().peek((line) -> consumed[0]++) : reader.lines();
+        Runnable release = unlock;
+        return lines.onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                release.run();
+                if (measured) {
+                    report(listener, event, null, start, 0, consumed[0], null);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@code readEachLine} method that takes a {@link java.util.function.Consumer Consumer} as a parameter.
+     * <ul>
+     *     <li>The method opens the lines of the file with the {@code readLines()} method inside a try-with-resources
+     *     block, so the underlying file is closed even if the {@code action} throws an exception.</li>
+     *     <li>Every line is passed to the {@code action} in the order of the file, one by one.</li>
+     *     <li>No line is retained after the {@code action} returned, the memory used is constant regardless of the
+     *     size of the file.</li>
+     * </ul>
+     * By using this {@code readEachLine()} method, files larger than the available heap can be processed line by line.
+     * @param       action the callback invoked with every line of the file.
+     * @see         github.magyarzoli.FileHandler#readLines() readLines()
+     */
+    public void readEachLine(Consumer<? super String> action) {
+        try (Stream<String> lines = readLines()) {
+            lines.forEach(action);
+        }
+    }
+
+    /**
+     * {@code readRecords} It reads the lines of the file one at a time, and passes them to the {@code action} split
+     * into fields by the {@code delimiter}.
+     * <ul>
+     *     <li>A {@link java.io.BufferedReader BufferedReader} is created to read the lines from the file specified by
+     *     {@code fileName}, inside a try-with-resources block.</li>
+     *     <li>A single {@link github.magyarzoli.LineRecord LineRecord} is created with the current {@code delimiter},
+     *     and moved to every line read, the ends of the fields are found with {@code indexOf}, without regular expressions.</li>
+     *     <li>The fields are exposed as reused {@code CharSequence} views of the line, no {@code String} is created per
+     *     field unless requested.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * Like {@code readLines()}, only one line is held at a time, the {@code readArray} and {@code readCollection} are
+     * left untouched. The {@code action} runs while the file is locked for reading, if the {@code options} have locks,
+     * so it must not write the same file, nor any file with {@code PathLocks}: such a write throws an
+     * {@link java.lang.IllegalStateException IllegalStateException}.
+     * @param       action the callback invoked with the record of every line of the file, the record is valid only
+     *              during the call.
+     * @see         github.magyarzoli.LineRecord LineRecord
+     */
+    public void readRecords(Consumer<? super LineRecord> action) {
+        observed(true, Long::longValue, () -> locked(false, () -> {
+            LineRecord record = new LineRecord(delimiter);
+            try (BufferedReader reader = reader()) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    action.accept(record.reset(line, lineNumber++));
+                }
+                return lineNumber;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    /**
+     * {@code readMap} It reads the lines written by the {@code Map} updates back into a map, every line split at the
+     * first {@code delimiter} into a key and a value.
+     * <ul>
+     *     <li>The number of lines is estimated from a sample of the start of the file, and the map is presized to hold
+     *     them without rehashing, up to {@code MAX_EXPECTED_LINES} lines.</li>
+     *     <li>The lines are read one at a time with a {@link java.io.BufferedReader BufferedReader}, the key and the
+     *     value are converted by the {@code keyParser} and the {@code valueParser}.</li>
+     *     <li>A later line of the same key replaces the value of an earlier line, like {@link java.util.Map#put(Object, Object) put()}.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * The parsers run while the file is locked for reading, if the {@code options} have locks, so they must not write
+     * the same file, nor any file with {@code PathLocks}: such a write throws an
+     * {@link java.lang.IllegalStateException IllegalStateException}.
+     * @param       keyParser converts the text before the delimiter to a key.
+     * @param       valueParser converts the text after the delimiter to a value.
+     * @param       <K> the type of the keys.
+     * @param       <V> the type of the values.
+     * @return      the entries of the file in a new {@link java.util.HashMap HashMap}.
+     * @throws      IllegalStateException if the {@code delimiter} is empty, or a line does not contain it.
+     */
+    public <K, V> Map<K, V> readMap(Function<? super String, ? extends K> keyParser, Function<? super String, ? extends V> valueParser) {
+        long expected = expectedLines();
+        Map<K, V> map = new HashMap<>((int) ((expected * 4 / 3) + 1));
+        readEntries((line, split) -> map.put(
+                keyParser.apply(line.substring(0, split)), valueParser.apply(line.substring(split + delimiter.length()))));
+        return map;
+    }
+
+    /**
+     * {@code readMap} method that reads the entries of the file with the keys and the values kept as text.
+     * @return      the entries of the file.
+     * @see         github.magyarzoli.FileHandler#readMap(Function, Function) readMap(Function, Function)
+     */
+    public Map<String, String> readMap() {
+        return readMap(Function.identity(), Function.identity());
+    }
+
+    /**
+     * {@code readLongMap} It reads the lines written by the {@code Map} updates back into a map of primitive
+     * {@code long} values, every line split at the first {@code delimiter} into a key and a value.
+     * <ul>
+     *     <li>The number of lines is estimated from a sample of the start of the file, and the map is presized to hold
+     *     them without resizing, up to {@code MAX_EXPECTED_LINES} lines.</li>
+     *     <li>The value is parsed directly from the line with {@link java.lang.Long#parseLong(CharSequence, int, int, int) parseLong()},
+     *     no {@code String} and no {@code Long} is created for it.</li>
+     *     <li>A later line of the same key replaces the value of an earlier line.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @return      the entries of the file.
+     * @throws      IllegalStateException if the {@code delimiter} is empty, or a line does not contain it.
+     * @throws      NumberFormatException if a value is not a decimal {@code long}.
+     * @see         github.magyarzoli.StringLongMap StringLongMap
+     */
+    public StringLongMap readLongMap() {
+        StringLongMap map = new StringLongMap((int) expectedLines());
+        readEntries((line, split) -> map.put(
+                line.substring(0, split), Long.parseLong(line, (split + delimiter.length()), line.length(), 10)));
+        return map;
+    }
+
+    /**
+     * {@code expectedLines} method that estimates the number of lines of the file specified by {@code fileName}.
+     * The estimate is taken from a sample of the start of the file, if the charset of the {@code options} is
+     * supported by {@link github.magyarzoli.LineIndex#estimate(Path, ByteBuffer) LineIndex}, otherwise <i>0</i> is
+     * returned and the maps grow as usual.
+     * The estimate is capped at {@code MAX_EXPECTED_LINES}, so a large file, or a sample that is not typical of the
+     * file, does not allocate a huge table before a single line is read.
+     * @return      the estimated number of lines, at most {@code MAX_EXPECTED_LINES}.
+     */
+    private long expectedLines() {
+        if (!LineIndex.supports(options.getCharset())) {
+            return 0;
+        }
+        try {
+            return Math.min(MAX_EXPECTED_LINES, LineIndex.estimate(Path.of(fileName), ByteBuffer.allocate(SAMPLE_SIZE)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@code readEntries} method that reads every line of the file specified by {@code fileName}, and passes it to the
+     * {@code action} with the index of its first {@code delimiter}. The {@code action} runs holding the read lock of
+     * the file, a write of the same file, or of any file with {@code PathLocks}, from it throws.
+     * @param       action the callback invoked with every line and the index of its first delimiter.
+     * @throws      IllegalStateException if the {@code delimiter} is empty, or a line does not contain it.
+     */
+    private void readEntries(EntryFunctional action) {
+        observed(true, Long::longValue, () -> locked(false, () -> {
+            if (delimiter.isEmpty()) {
+                throw new IllegalStateException("Delimiter must not be empty to read entries!");
+            }
+            try (BufferedReader reader = reader()) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    int split = line.indexOf(delimiter);
+                    if (split < 0) {
+                        throw new IllegalStateException("Line " + lineNumber + " does not contain the delimiter!");
+                    }
+                    action.accept(line, split);
+                    lineNumber++;
+                }
+                return lineNumber;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    /**
+     * {@code readLine} It reads the line at {@code index} with a positioned read, without reading the lines before it.
+     * <ul>
+     *     <li>The offset of the nearest indexed line before the line is looked up in a sparse line index, created by
+     *     the {@code lineIndex} method on the first random access, and reused while the file does not change.</li>
+     *     <li>Only the bytes of the block of lines containing the line are read from the file with a positioned read,
+     *     decoded with the charset of the {@code options}, and scanned forward to the line.</li>
+     *     <li>If the charset cannot be indexed without decoding, like UTF-16, the lines before the line are streamed
+     *     and skipped instead.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @param       index the index of the line, starting from <i>0</i>.
+     * @return      the line.
+     * @throws      IndexOutOfBoundsException if the file has no line at the {@code index}.
+     * @see         github.magyarzoli.FileHandler#readLineRange(long, long) readLineRange(long, long)
+     */
+    public String readLine(long index) {
+        List<String> lines = readLineRange(index, (index + 1));
+        return lines.get(0);
+    }
+
+    /**
+     * {@code readLineRange} It reads the lines from {@code from} to {@code to} with a single positioned read, without
+     * reading the lines before them.
+     * <ul>
+     *     <li>The offsets of the nearest indexed lines around the range are looked up in a sparse line index, created
+     *     by the {@code lineIndex} method on the first random access, and reused while the file does not change.</li>
+     *     <li>The bytes of the blocks of lines containing the range are read with a positioned read, decoded with the
+     *     charset of the {@code options}, split into lines, and the lines before the range are skipped.</li>
+     *     <li>If the charset cannot be indexed without decoding, like UTF-16, the lines before the range are streamed
+     *     and skipped instead.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @param       from the index of the first line, inclusive.
+     * @param       to the index after the last line, exclusive.
+     * @return      the lines.
+     * @throws      IndexOutOfBoundsException if the range is not within the lines of the file.
+     */
+    public List<String> readLineRange(long from, long to) {
+        return observed(false, List::size, () -> locked(false, () -> {
+            if ((from < 0) || (from > to)) {
+                throw new IndexOutOfBoundsException("Invalid line range: " + from + " - " + to + "!");
+            }
+            if (!LineIndex.supports(options.getCharset())) {
+                List<String> result;
+                try (Stream<String> lines = readLines()) {
+                    result = lines.skip(from).limit(to - from).toList();
+                }
+                if (result.size() < (to - from)) {
+                    throw new IndexOutOfBoundsException("Invalid line range: " + from + " - " + to + "!");
+                }
+                return result;
+            }
+            Path path = Path.of(fileName);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                LineIndex index = lineIndex(path);
+                if (to > index.getLineCount()) {
+                    throw new IndexOutOfBoundsException("Line " + (to - 1) + " out of " + index.getLineCount() + "!");
+                }
+                if (from == to) {
+                    return List.of();
+                }
+                int first = (int) (from / index.getStride()), last = (int) ((to - 1) / index.getStride());
+                long start = index.getOffset(first), end = index.getEnd(last);
+                if ((end - start) > (Integer.MAX_VALUE - 8)) {
+                    throw new IllegalArgumentException("Line range is too large to read at once!");
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+                while (buffer.hasRemaining() && (channel.read(buffer, (start + buffer.position())) != -1)) {}
+                buffer.flip();
+                CharsetDecoder decoder = options.getCharset().newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                BufferedReader reader = new BufferedReader(new StringReader(decoder.decode(buffer).toString()));
+                for (long i = ((long) first * index.getStride()); i < from; i++) {
+                    reader.readLine();
+                }
+                List<String> result = new ArrayList<>((int) (to - from));
+                for (long i = from; i < to; i++) {
+                    String line = reader.readLine();
+                    result.add((line != null) ? line : "");
+                }
+                return result;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    /**
+     * {@code readMapped} It maps the file specified by {@code fileName} into memory and indexes its lines.
+     * <ul>
+     *     <li>A new {@link github.magyarzoli.MappedFileReader MappedFileReader} is created for the file, which maps
+     *     the file with {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long) map()}
+     *     in one or more windows.</li>
+     *     <li>The lines are exposed as offsets and {@link java.nio.ByteBuffer ByteBuffer} slices of the mapped region,
+     *     and they are decoded to {@code String} only when requested.</li>
+     *     <li>The returned reader can be kept and reused, repeated reads of the same file do not decode its content again.</li>
+     * </ul>
+     * Unlike {@code read()}, the {@code readArray} and {@code readCollection} are left untouched.
+     * @return      the mapped reader of the file.
+     * @throws      IllegalArgumentException if the lines of the charset of the options cannot be split without decoding.
+     * @see         github.magyarzoli.MappedFileReader MappedFileReader
+     */
+    public MappedFileReader readMapped() {
+        return new MappedFileReader(Path.of(fileName), options.getCharset());
+    }
+
+    /**
+     * {@code tail} It follows the file specified by {@code fileName}, and delivers the lines appended to it from now on.
+     * <ul>
+     *     <li>A new {@link github.magyarzoli.FileTailer FileTailer} is created for the file with the charset of the
+     *     {@code options}, starting at the current end of the file, or at its start if it does not exist yet.</li>
+     *     <li>The tailer is started, the lines are delivered to the {@code action} on its thread, only the bytes
+     *     appended since the previous check are read.</li>
+     *     <li>Truncation and rotation of the file are detected, the file is then read again from its start.</li>
+     *     <li>If any {@code IOException} occurs while reading the size of the file, a
+     *     {@link java.lang.RuntimeException RuntimeException} is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * Unlike {@code read()}, the {@code readArray} and {@code readCollection} are left untouched.
+     * The returned tailer must be closed when no longer used.
+     * @param       action the callback the new lines are delivered to.
+     * @return      the started tailer of the file.
+     * @see         github.magyarzoli.FileTailer FileTailer
+     */
+    public FileTailer tail(Consumer<? super String> action) {
+        long size;
+        try {
+            size = Files.size(Path.of(fileName));
+        } catch (NoSuchFileException e) {
+            size = 0;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        readArray = result.toArray(new String[0]);
-        readCollection = result;
-        delimitedArray = delimitedResult.toArray(new String[0]);
-        delimitedCollection = delimitedResult;
+        return new FileTailer(Path.of(fileName), options.getCharset(), size, action).start();
     }
 
     /**
@@ -296,32 +855,27 @@ implements CRUDFile {
      * {@code update} array to the beginning of the file.
      * <ul>
      *     <li>{@code <T>} This indicates that the method is a generic method with a type parameter {@code T}.</li>
-     *     <li>his means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code update} The array of type {@code T} that contains the elements to be added to the file. This
-     *     represents the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} array. This delimiter
-     *     will be used when writing the elements to the file.</li>
-     *     <li>{@code delimitedArray} This seems to be an array of strings called {@code delimitedArray}, which is a
-     *     property of the class or object that contains this method. It's used to provide additional data to the
-     *     {@code write} method. The method write seems to be designed to handle writing collections {@code Collection<T>}
-     *     and maps {@code Map<K, V>} in addition to arrays.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter between the elements from the {@code update} array and the elements from {@code delimitedArray}.
-     *     This indicates that no separator is required between these two parts.</li>
+     *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to prepend and the file remains unchanged.</li>
+     *     <li>The method calls the {@code prepend} method, which writes the new beginning into a temporary file, copies
+     *     the existing content after it, and replaces the file with the temporary file.</li>
+     *     <li>The elements of the {@code update} array are written with the {@code writing} method, separated by the
+     *     {@code delimiter}.</li>
      * </ul>
-     * {@code write} method with these arguments, the {@code updateFileWithStarting} method effectively writes the elements
-     * of the {@code update} array to the beginning of the file. The {@code delimitedArray} may contain some data that was
-     * already in the file, and the new data from the {@code update} array is added at the beginning without any separator
-     * between them. For the complete behavior of this method and the write method, you should also consider the
-     * implementations of the write method and how the delimiter and delimitedArray properties are used.
+     * The {@code updateFileWithStarting} method does not require a prior {@code read()}, and the existing content of the
+     * file is never loaded into memory, so large files can be updated with bounded memory.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types of arrays
-     * @see         github.magyarzoli.FileHandler#write(Object[], String, Object[], String) write(Object[], String, Object[], String)
+     * @see         github.magyarzoli.FileHandler#prepend(WriterFunctional) prepend(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Object[], String) writing(BufferedWriter, Object[], String)
      */
     @Override
     public <T> void updateFileWithStarting(T[] update) {
-        write(update, delimiter, delimitedArray, "");
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS, update.length, () -> prepend((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
+        }
     }
 
     /**
@@ -330,33 +884,27 @@ implements CRUDFile {
      * <ul>
      *     <li>{@code <T>} This indicates that the method is a generic method with a type parameter {@code T}.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code delimitedArray} This seems to be an array of strings called {@code delimitedArray}, which is a
-     *     property of the class or object that contains this method. The {@code delimitedArray} is used to provide data
-     *     that was already in the file. It is meant to be written to the file first, as it represents the existing data
-     *     at the end of the file.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter between the elements from {@code delimitedArray} and the elements from the {@code update} array.
-     *     This indicates that no separator is required between these two parts.</li>
-     *     <li>{@code update} The array of type {@code T} that contains the elements to be added to the file. This represents
-     *     the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} array. This delimiter
-     *     will be used when writing the elements to the file.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to append and the file remains unchanged.</li>
+     *     <li>The method calls the {@code append} method, which opens the file in append mode, so the existing content
+     *     of the file is neither read nor rewritten.</li>
+     *     <li>The elements of the {@code update} array are written with the {@code writing} method, separated by the
+     *     {@code delimiter}.</li>
      * </ul>
-     * By calling the {@code write} method with these arguments, the {@code updateFileWithEnding} method effectively writes
-     * the elements of the {@code update} array to the end of the file. The {@code delimitedArray} represents any data that
-     * was already present in the file. The new data from the {@code update} array is added to the end of the file without
-     * any separator between them. For the complete behavior of this method and the {@code write} method, you should also
-     * consider the implementations of the {@code write} method and how the {@code delimitedArray} and {@code delimiter}
-     * properties are used. The actual writing of the data to the file occurs in the write method when you flush or close
-     * the {@link java.io.BufferedWriter BufferedWriter} after calling this method.
+     * The cost of the {@code updateFileWithEnding} method depends only on the size of the {@code update} array, not on
+     * the size of the file, and it does not require a prior {@code read()}. The appended data starts on a new line if the
+     * file is not empty and does not already end with a newline character.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types of arrays.
-     * @see         github.magyarzoli.FileHandler#write(Object[], String, Object[], String) write(Object[], String, Object[], String)
+     * @see         github.magyarzoli.FileHandler#append(WriterFunctional) append(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Object[], String) writing(BufferedWriter, Object[], String)
      */
     @Override
     public <T> void updateFileWithEnding(T[] update) {
-        write(delimitedArray, "", update, delimiter);
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS, update.length, () -> append((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
+        }
     }
 
     /**
@@ -365,29 +913,26 @@ implements CRUDFile {
      * <ul>
      *     <li>{@code <T>} This indicates that the method is a generic method with a type parameter {@code T}.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code update} The array of type {@code T} that contains the elements to be added to the file. This
-     *     represents the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} array. This delimiter
-     *     will be used when writing the elements to the file.</li>
-     *     <li>This indicates that there is no data to be provided as {@code delimitedArray}, so it passes {@code null}
-     *     for this argument.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter.</li>
+     *     <li>The method calls the {@code overwrite} method, which truncates the file before writing.</li>
+     *     <li>If {@code update} is not {@code null}, the elements of the {@code update} array are written with the
+     *     {@code writing} method, separated by the {@code delimiter}.</li>
+     *     <li>If {@code update} is {@code null}, it means there is no data to be written, the file remains empty.</li>
      * </ul>
-     * By calling the {@code write} method with these arguments, the {@code updateFile} method effectively writes the
-     * elements of the {@code update} array to the file. The write method will simply write the elements from the
-     * {@code update} array to the file without any additional data provided as {@code delimitedArray}. For the complete
-     * behavior of this method and the write method, you should also consider the implementations of the {@code write}
-     * method and how the {@code delimiter} property is used. The actual writing of the data to the file occurs in the
-     * write method when you flush or close the {@link java.io.BufferedWriter BufferedWriter} after calling this method.
+     * By calling the {@code overwrite} method, the {@code updateFile} method effectively replaces the content of the file
+     * with the elements of the {@code update} array. The actual writing of the data to the file occurs in the
+     * {@code overwrite} method when it closes the {@link java.io.BufferedWriter BufferedWriter}.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types of arrays.
-     * @see         github.magyarzoli.FileHandler#write(Object[], String, Object[], String) write(Object[], String, Object[], String)
+     * @see         github.magyarzoli.FileHandler#overwrite(WriterFunctional) overwrite(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Object[], String) writing(BufferedWriter, Object[], String)
      */
     @Override
     public <T> void updateFile(T[] update) {
-        write(update, delimiter, null ,"");
+        observed(UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING, ((update != null) ? update.length : 0), () -> overwrite((writer) -> {
+            if (update != null) {
+                writing(writer, update, delimiter);
+            }
+        }));
     }
 
     /**
@@ -395,43 +940,31 @@ implements CRUDFile {
      * named {@code update}. The method is used to update a file with the elements of the {@code update} collection by
      * adding the elements to the beginning of the file.
      * <ul>
-     *     <li>{@link java.lang.SuppressWarnings @SuppressWarnings}{@code ("unchecked")}: This annotation is used to
-     *     suppress unchecked warnings from the Java compiler. The warning appears because of the type casting
-     *     {@code (C) delimitedCollection} on this line. The warning indicates that the compiler cannot guarantee type
-     *     safety due to the unchecked cast. In this case, the developer assumes that {@code delimitedCollection} is of
-     *     the same type as the {@code update} collection, and the warning is suppressed.</li>
      *     <li>{@code <T, C extends Collection<T>>} This indicates that the method is a generic method with two type
      *     parameters: {@code T} representing the type of elements in the collection, and {@code C}, which must be a
      *     subtype of {@code Collection<T>}, representing the type of the collection itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code update} The collection of type {@code C} that contains the elements to be added to the file. This
-     *     represents the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} collection. This
-     *     delimiter will be used when writing the elements to the file.</li>
-     *     <li>{@code (C) delimitedCollection} This seems to be a collection of type {@code C} called {@code delimitedCollection},
-     *     which is a property of the class or object that contains this method. It's used to provide additional data to
-     *     the {@code write} method.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter between the elements from the {@code update} collection and the elements from {@code delimitedCollection}.
-     *     This indicates that no separator is required between these two parts.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to prepend and the file remains unchanged.</li>
+     *     <li>The method calls the {@code prepend} method, which writes the new beginning into a temporary file, copies
+     *     the existing content after it, and replaces the file with the temporary file.</li>
+     *     <li>The elements of the {@code update} collection are written with the {@code writing} method, separated by
+     *     the {@code delimiter}.</li>
      * </ul>
-     * {@code write} method with these arguments, the {@code updateFileWithStarting} method effectively writes the elements
-     * of the {@code update} collection to the beginning of the file. The {@code delimitedCollection} may contain some data
-     * that was already in the file, and the new data from the {@code update} collection is added at the beginning without
-     * any separator between them. For the complete behavior of this method and the write method, you should also consider
-     * the implementations of the write method and how the delimiter and delimitedCollection properties are used. The use
-     * of {@code @SuppressWarnings("unchecked")} suggests that you should be cautious about the correctness of the cast
-     * and ensure that the types are consistent to avoid runtime issues.
+     * The {@code updateFileWithStarting} method does not require a prior {@code read()}, and the existing content of the
+     * file is never loaded into memory, so large files can be updated with bounded memory.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types.
      * @param       <C> this constraint ensures that must be a subtype of Collection.
-     * @see         github.magyarzoli.FileHandler#write(Collection, String, Collection, String) write(Collection, String, Collection, String)
+     * @see         github.magyarzoli.FileHandler#prepend(WriterFunctional) prepend(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Collection, String) writing(BufferedWriter, Collection, String)
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T, C extends Collection<T>> void updateFileWithStarting(C update) {
-        write(update, delimiter, (C) delimitedCollection, "");
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS, update.size(), () -> prepend((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
+        }
     }
 
     /**
@@ -439,46 +972,32 @@ implements CRUDFile {
      * update. This method is used to update a file with the elements of the {@code update} collection by adding them to
      * the end of the file.
      * <ul>
-     *     <li>{@link java.lang.SuppressWarnings @SuppressWarnings}{@code ("unchecked")}: This annotation is used to
-     *     suppress unchecked warnings from the Java compiler. The warning appears because of the type casting
-     *     {@code (C) delimitedCollection} on this line. The warning indicates that the compiler cannot guarantee type
-     *     safety due to the unchecked cast. In this case, the developer assumes that {@code delimitedCollection} is of
-     *     the same type as the {@code update} collection, and the warning is suppressed.</li>
      *     <li>{@code <T, C extends Collection<T>>} This indicates that the method is a generic method with two type
      *     parameters: {@code T} representing the type of elements in the collection, and {@code C}, which must be a
      *     subtype of {@code Collection<T>}, representing the type of the collection itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code (C) delimitedCollection} This seems to be a collection of type {@code C} called
-     *     {@code delimitedCollection}, which is a property of the class or object that contains this method. The
-     *     {@code delimitedCollection} is used to provide data that was already in the file. It is meant to be written to
-     *     the file first, as it represents the existing data at the end of the file.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter between the elements from {@code delimitedCollection} and the elements from the {@code update}
-     *     collection. This indicates that no separator is required between these two parts.</li>
-     *     <li>{@code update} The collection of type {@code C} that contains the elements to be added to the file. This
-     *     represents the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} collection. This delimiter
-     *     will be used when writing the elements to the file.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to append and the file remains unchanged.</li>
+     *     <li>The method calls the {@code append} method, which opens the file in append mode, so the existing content
+     *     of the file is neither read nor rewritten.</li>
+     *     <li>The elements of the {@code update} collection are written with the {@code writing} method, separated by
+     *     the {@code delimiter}.</li>
      * </ul>
-     * By calling the {@code write} method with these arguments, the {@code updateFileWithEnding} method effectively writes
-     * the elements of the {@code update} collection to the end of the file. The {@code delimitedCollection} represents any
-     * data that was already present in the file. The new data from the {@code update} collection is added to the end of the
-     * file without any separator between them. For the complete behavior of this method and the {@code write} method,
-     * you should also consider the implementations of the {@code write} method and how the {@code delimitedCollection}
-     * and {@code delimiter} properties are used. The actual writing of the data to the file occurs in the {@code write}
-     * method when you flush or close the {@link java.io.BufferedWriter BufferedWriter} after calling this method. The use
-     * of {@code @SuppressWarnings("unchecked")} suggests that you should be cautious about the correctness of the cast and
-     * ensure that the types are consistent to avoid runtime issues.
+     * The cost of the {@code updateFileWithEnding} method depends only on the size of the {@code update} collection, not
+     * on the size of the file, and it does not require a prior {@code read()}. The appended data starts on a new line if
+     * the file is not empty and does not already end with a newline character.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types.
      * @param       <C> this constraint ensures that must be a subtype of Collection.
-     * @see         github.magyarzoli.FileHandler#write(Collection, String, Collection, String) write(Collection, String, Collection, String)
+     * @see         github.magyarzoli.FileHandler#append(WriterFunctional) append(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Collection, String) writing(BufferedWriter, Collection, String)
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T, C extends Collection<T>> void updateFileWithEnding(C update) {
-        write((C) delimitedCollection, "", update, delimiter);
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS, update.size(), () -> append((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
+        }
     }
 
     /**
@@ -489,30 +1008,27 @@ implements CRUDFile {
      *     parameters: {@code T} representing the type of elements in the collection, and {@code C}, which must be a
      *     subtype of {@code Collection<T>}, representing the type of the collection itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method calls the {@code write} method with the following arguments:</li>
-     *     <li>{@code update} The collection of type {@code C} that contains the elements to be added to the file. This
-     *     represents the data that needs to be written to the file.</li>
-     *     <li>{@code delimiter} The delimiter used to separate the elements in the {@code update} collection. This
-     *     delimiter will be used when writing the elements to the file.</li>
-     *     <li>This indicates that there is no data to be provided as {@code delimitedCollection}, so it passes {@code null}
-     *     for this argument.</li>
-     *     <li>An empty string "", which represents an empty delimiter. In this case, the {@code write} method does not
-     *     use any delimiter.</li>
+     *     <li>The method calls the {@code overwrite} method, which truncates the file before writing.</li>
+     *     <li>If {@code update} is not {@code null}, the elements of the {@code update} collection are written with the
+     *     {@code writing} method, separated by the {@code delimiter}.</li>
+     *     <li>If {@code update} is {@code null}, it means there is no data to be written, the file remains empty.</li>
      * </ul>
-     * By calling the {@code write} method with these arguments, the {@code updateFile} method effectively writes the
-     * elements of the {@code update} collection to the file. The write method will simply write the elements from the
-     * update collection to the file without any additional data provided as {@code delimitedCollection}. For the complete
-     * behavior of this method and the {@code write} method, you should also consider the implementations of the {@code write}
-     * method and how the {@code delimiter} property is used. The actual writing of the data to the file occurs in the
-     * {@code write} method when you flush or close the {@link java.io.BufferedWriter BufferedWriter} after calling this method.
+     * By calling the {@code overwrite} method, the {@code updateFile} method effectively replaces the content of the file
+     * with the elements of the {@code update} collection. The actual writing of the data to the file occurs in the
+     * {@code overwrite} method when it closes the {@link java.io.BufferedWriter BufferedWriter}.
      * @param       update the desired content that you would upload.
      * @param       <T> allows this method to be used with different types.
      * @param       <C> this constraint ensures that must be a subtype of Collection.
-     * @see         github.magyarzoli.FileHandler#write(Collection, String, Collection, String) write(Collection, String, Collection, String)
+     * @see         github.magyarzoli.FileHandler#overwrite(WriterFunctional) overwrite(WriterFunctional)
+     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Collection, String) writing(BufferedWriter, Collection, String)
      */
     @Override
     public <T, C extends Collection<T>> void updateFile(C update) {
-        write(update, delimiter, null, "");
+        observed(UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING, ((update != null) ? update.size() : 0), () -> overwrite((writer) -> {
+            if (update != null) {
+                writing(writer, update, delimiter);
+            }
+        }));
     }
 
     /**
@@ -524,50 +1040,27 @@ implements CRUDFile {
      *     parameters: {@code K} representing the type of keys, {@code V} representing the type of {@code values}, and
      *     {@code M}, which must be a subtype of {@code Map<K, V>}, representing the type of the map itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter} is
-     *     properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by {@code fileName}.</li>
-     *     <li>The method checks if the {@code update} map is {@code null}.</li>
-     *     <li>If {@code update} is {@code null}, it means there are no key-value pairs to be written from the {@code update}
-     *     map, so it proceeds to write the key-value pairs from the {@code delimitedArray} using the {@code writing} method,
-     *     passing {@code delimitedArray} and an empty string "" as the delimiter. This effectively writes the elements of
-     *     {@code delimitedArray} to the beginning of the file.</li>
-     *     <li>If {@code delimitedArray} is {@code null}, it means there is no data in {@code delimitedArray}, so it
-     *     proceeds to write the key-value pairs from the {@code update} map using the {@code writing} method, passing
-     *     {@code update} and the specified {@code delimiter}.</li>
-     *     <li>If both {@code update} and {@code delimitedArray} are not {@code null}, it first writes the key-value pairs
-     *     from the {@code update} map using the {@code writing} method, passing update and the specified {@code delimiter}.
-     *     Then, it writes a newline character {@code "\n"} to the file using {@code writer.write("\n")} to separate the
-     *     data from the {@code delimitedArray}. Finally, it writes the key-value pairs from the {@code delimitedArray}
-     *     using the {@code writing} method, passing {@code delimitedArray} and an empty string "" as the {@code delimiter}.</li>
-     *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
-     *     is thrown, wrapping the original {@code IOException}.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to prepend and the file remains unchanged.</li>
+     *     <li>The method calls the {@code prepend} method, which writes the new beginning into a temporary file, copies
+     *     the existing content after it, and replaces the file with the temporary file.</li>
+     *     <li>The key-value pairs of the {@code update} map are written with the {@code writing} method, one pair per
+     *     line, the key and the value separated by the {@code delimiter}.</li>
      * </ul>
-     * {@code updateFileWithStarting} method writes all the key-value pairs from the {@code update} map to the beginning
-     * of the file, separated by the provided {@code delimiter}. If the {@code update} map is {@code null}, it writes the
-     * elements from the {@code delimitedArray} at the beginning of the file. If both the {@code update} map and the
-     * {@code delimitedArray} are null, the file remains unchanged. As before, the actual writing of the data to the file
-     * occurs in the {@code BufferedWriter} when you flush or close it after calling this method.
+     * The {@code updateFileWithStarting} method does not require a prior {@code read()}, and the existing content of the
+     * file is never loaded into memory, so large files can be updated with bounded memory.
      * @param       update the desired content that you would upload.
      * @param       <K> represents the type of keys in the map.
      * @param       <V> represents the type of values in the map.
      * @param       <M> this constraint ensures that must be a subtype of Map.
+     * @see         github.magyarzoli.FileHandler#prepend(WriterFunctional) prepend(WriterFunctional)
      * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Map, String) writing(BufferedWriter, Map, String)
      */
     @Override
     public <K, V, M extends Map<K, V>> void updateFileWithStarting(M update) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            if (update == null) {
-                writing(writer, delimitedArray, "");
-            } else if (delimitedArray == null) {
-                writing(writer, update, delimiter);
-            } else {
-                writing(writer, update, delimiter);
-                writer.write("\n");
-                writing(writer, delimitedArray, "");
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS, update.size(), () -> prepend((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
         }
     }
 
@@ -580,50 +1073,28 @@ implements CRUDFile {
      *     parameters: {@code K} representing the type of keys, {@code V} representing the type of values, and {@code M},
      *     which must be a subtype of {@code Map<K, V>}, representing the type of the map itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter}
-     *     is properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by fileName.</li>
-     *     <li>The method checks if the {@code update} map is {@code null}.</li>
-     *     <li>If {@code update} is {@code null}, it means there are no key-value pairs to be written from the {@code update}
-     *     map, so it proceeds to write the key-value pairs from the {@code delimitedArray} using the {@code writing} method,
-     *     passing {@code delimitedArray} and an empty string "" as the delimiter. This effectively writes the elements of
-     *     {@code delimitedArray} to the end of the file.</li>
-     *     <li>If {@code delimitedArray} is {@code null}, it means there is no data in {@code delimitedArray}, so it
-     *     proceeds to write the key-value pairs from the {@code update} map using the {@code writing} method, passing
-     *     {@code update} and the specified {@code delimiter}.</li>
-     *     <li>If both {@code update} and {@code delimitedArray} are not {@code null}, it first writes the key-value pairs
-     *     from the {@code delimitedArray} using the {@code writing} method, passing {@code delimitedArray} and an empty
-     *     string "" as the delimiter. Then, it writes a newline character {@code "\n"} to the file using
-     *     {@code writer.write("\n")} to separate the data from the {@code update} map. Finally, it writes the key-value
-     *     pairs from the update map using the {@code writing} method, passing {@code update} and the specified {@code delimiter}.</li>
-     *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
-     *     is thrown, wrapping the original {@code IOException}.</li>
+     *     <li>If {@code update} is {@code null}, there is nothing to append and the file remains unchanged.</li>
+     *     <li>The method calls the {@code append} method, which opens the file in append mode, so the existing content
+     *     of the file is neither read nor rewritten.</li>
+     *     <li>The key-value pairs of the {@code update} map are written with the {@code writing} method, one pair per
+     *     line, the key and the value separated by the {@code delimiter}.</li>
      * </ul>
-     * {@code updateFileWithEnding} method writes all the key-value pairs from the {@code update} map to the end of the file,
-     * separated by the provided {@code delimiter}. If the {@code update} map is {@code null}, it writes the elements from
-     * the {@code delimitedArray} to the end of the file. If both the {@code update} map and the {@code delimitedArray}
-     * are {@code null}, the file remains unchanged. As before, the actual writing of the data to the file occurs in the
-     * {@code BufferedWriter} when you flush or close it after calling this method.
+     * The cost of the {@code updateFileWithEnding} method depends only on the size of the {@code update} map, not on the
+     * size of the file, and it does not require a prior {@code read()}. The appended data starts on a new line if the
+     * file is not empty and does not already end with a newline character.
      * @param       update the desired content that you would upload.
      * @param       <K> represents the type of keys in the map.
      * @param       <V> represents the type of values in the map.
      * @param       <M> this constraint ensures that must be a subtype of Map.
+     * @see         github.magyarzoli.FileHandler#append(WriterFunctional) append(WriterFunctional)
      * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Map, String) writing(BufferedWriter, Map, String)
      */
     @Override
     public <K, V, M extends Map<K, V>> void updateFileWithEnding(M update) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            if (update == null) {
-                writing(writer, delimitedArray, "");
-            } else if (delimitedArray == null) {
-                writing(writer, update, delimiter);
-            } else {
-                writing(writer, delimitedArray, "");
-                writer.write("\n");
-                writing(writer, update, delimiter);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (update != null) {
+            observed(UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS, update.size(), () -> append((writer) -> writing(writer, update, delimiter)));
+        } else {
+            writtenBytes = 0;
         }
     }
 
@@ -635,37 +1106,29 @@ implements CRUDFile {
      *     parameters: {@code K} representing the type of keys, {@code V} representing the type of values, and {@code M},
      *     which must be a subtype of {@code Map<K, V>}, representing the type of the map itself.</li>
      *     <li>This means the method does not return any value; it is meant to update the file with the provided data.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter} is
-     *     properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by {@code fileName}.</li>
-     *     <li>The method checks if the {@code update} map is not {@code null}.</li>
+     *     <li>The method calls the {@code overwrite} method, which truncates the file before writing.</li>
      *     <li>If {@code update} is not {@code null}, it means there are key-value pairs to be written from the
      *     {@code update} map. It proceeds to write the key-value pairs from the {@code update} map using the {@code writing}
      *     method, passing {@code update} and the specified {@code delimiter}.</li>
-     *     <li>If {@code update} is {@code null}, it means there are no key-value pairs to be written, so the method
-     *     does nothing.</li>
-     *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
-     *     is thrown, wrapping the original {@code IOException}.</li>
+     *     <li>If {@code update} is {@code null}, it means there are no key-value pairs to be written, the file remains empty.</li>
      * </ul>
      * The {@code updateFile} method effectively writes all the key-value pairs from the {@code update} map to the file,
-     * separated by the provided {@code delimiter}, if the {@code update} map is not {@code null}. If the {@code update}
-     * map is {@code null}, the method does nothing, and the file remains unchanged. As before, the actual writing of the
-     * data to the file occurs in the {@code BufferedWriter} when you flush or close it after calling this method.
+     * separated by the provided {@code delimiter}. The actual writing of the data to the file occurs in the
+     * {@code overwrite} method when it closes the {@link java.io.BufferedWriter BufferedWriter}.
      * @param       update the desired content that you would upload.
      * @param       <K> represents the type of keys in the map.
      * @param       <V> represents the type of values in the map.
      * @param       <M> this constraint ensures that must be a subtype of Map.
+     * @see         github.magyarzoli.FileHandler#overwrite(WriterFunctional) overwrite(WriterFunctional)
      * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Map, String) writing(BufferedWriter, Map, String)
      */
     @Override
     public <K, V, M extends Map<K, V>> void updateFile(M update) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+        observed(UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING, ((update != null) ? update.size() : 0), () -> overwrite((writer) -> {
             if (update != null) {
                 writing(writer, update, delimiter);
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        }));
     }
 
     /**
@@ -684,10 +1147,13 @@ implements CRUDFile {
      */
     @Override
     public void deleteAndCreateFile() {
-        if (file.exists()) {
-            file.delete();
-            createNewFile(() -> file.createNewFile());
-        }
+        observed(DeleteCommand.DELETE_THE_CONTENTS_OF_THE_FILE, () -> locked(true, () -> {
+            if (file.exists()) {
+                file.delete();
+                invalidate(file.toPath());
+                createNewFile(() -> file.createNewFile());
+            }
+        }));
     }
 
     /**
@@ -701,202 +1167,930 @@ implements CRUDFile {
      */
     @Override
     public void deleteFile() {
-        if (file.exists()) {
-            file.delete();
-        }
+        observed(DeleteCommand.DELETE_THE_FILE, () -> locked(true, () -> {
+            if (file.exists()) {
+                file.delete();
+                invalidate(file.toPath());
+            }
+        }));
     }
 
     /**
-     * {@code newFile} method that operates on the {@code fileName} property.
+     * {@code newFile} method that operates on the {@code fileName} property, and creates the file under the first free name.
      * <ul>
      *     <li>The {@code fileName} string is split using the dot (.) as the delimiter. The result is stored in the {@code split} array.</li>
-     *     <li>An {@code int} variable {@code count} is initialized to <i>1</i>.</li>
      *     <li>The {@code name} variable is created by joining the elements of the {@code split} array,
      *     except for the last element (the file extension), using the dot as the separator.</li>
-     *     <li>The method checks if a file with the given {@code fileName} already exists by invoking {@code file}.{@link java.io.File#exists() exists()}.
-     *     It's assumed that file is declared and initialized elsewhere in the class.</li>
-     *     <li>If a file with the same name already exists, a loop is entered.</li>
-     *     <li>Inside the loop, a new {@link java.io.File File} object is created with an updated name
-     *     that includes the incremented {@code count} value and the original file extension.</li>
-     *     <li>The loop continues until a file with the updated name does not exist {@code (!file.exists())}.</li>
-     *     <li>Finally, the {@code fileName} property is updated with the name of the file that was found not to exist.</li>
+     *     <li>The candidate names are {@code name(1).extension}, {@code name(2).extension} and so on.</li>
+     *     <li>The directory of the candidates is listed once, and the count of every existing candidate is collected in a
+     *     {@link java.util.BitSet BitSet}, instead of checking the candidates one by one with {@code file}.{@link java.io.File#exists() exists()}.</li>
+     *     <li>The smallest count not taken is chosen, the same name as the one by one check would find.</li>
+     *     <li>The file is created with {@link java.nio.file.StandardOpenOption#CREATE_NEW CREATE_NEW}, if another process
+     *     created a file with the same name since the listing, the count is marked as taken and the next free one is tried.</li>
+     *     <li>Finally, the {@code file} and {@code fileName} properties are updated with the created file.</li>
      * </ul>
-     * {@code newFile} method seems to be to generate a unique file name based on the original fileName if a file with the same name already exists. The method appends an incremented count within parentheses to the base file name until a non-existing file name is found.
+     * {@code newFile} generates a unique file name based on the original fileName when a file with the same name already exists.
+     * The cost is a single directory listing, no matter how many extended names are already taken.
+     * @throws      IOException if the directory cannot be listed or the file cannot be created.
      */
-    private void newFile() {
+    private void newFile()
+    throws IOException {
         String[] split = fileName.split("\\.");
-        int count = 1;
         String name = String.join(".", Arrays.copyOf(split, (split.length - 1)));
-        if (file.exists()) {
-            do {
-                file = new File(name + "(" + count++ + ")." + split[(split.length - 1)]);
-            } while (file.exists());
-            fileName = file.getName();
+        String extension = split[(split.length - 1)];
+        BitSet taken = takenCounts(Path.of(name + "(1)." + extension), extension);
+        int count = taken.nextClearBit(1);
+        while (true) {
+            File candidate = new File(name + "(" + count + ")." + extension);
+            try {
+                Files.createFile(candidate.toPath());
+                file = candidate;
+                fileName = file.getName();
+                return;
+            } catch (FileAlreadyExistsException e) {
+                taken.set(count);
+                count = taken.nextClearBit(count);
+            }
         }
     }
 
     /**
-     * {@code write} method that writes data to a file. It takes four parameters: two arrays of type {@code T}, {@code first}
-     * and {@code last}, and two strings {@code firstDelimiter} and {@code lastDelimiter}. The method writes the elements
-     * of the {@code first} array followed by the elements of the {@code last} array to the file specified by {@code fileName},
-     * separated by the corresponding delimiters.
+     * {@code takenCounts} method that lists the directory of the {@code first} candidate once, and collects the counts of the
+     * existing files named like the candidates.
      * <ul>
-     *     <li>This indicates that the method is a generic method with a type parameter {@code T}.</li>
-     *     <li>This means the method does not return any value; it simply writes data to the file.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter}
-     *     is properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by {@code fileName}.</li>
-     *     <li>The method checks if either {@code first} or {@code last} arrays are {@code null}.</li>
-     *     <li>If {@code first} is {@code null}, it means there are no elements to be written from the {@code first} array,
-     *     so it proceeds to write the elements from the {@code last} array using the {@code writing} method, passing
-     *     {@code last} and {@code lastDelimiter}.</li>
-     *     <li>If {@code last} is {@code null}, it means there are no elements to be written from the {@code last} array,
-     *     so it proceeds to write the elements from the {@code first} array using the {@code writing} method, passing
-     *     {@code first} and {@code firstDelimiter}.</li>
-     *     <li>If both {@code first} and {@code last} arrays are not {@code null}, it first writes the elements from the
-     *     {@code first} array using the {@code writing} method, passing first and {@code firstDelimiter}. Then, it
-     *     writes a newline character {@code "\n"} to the file using {@code writer.write("\n")} to separate the data from
-     *     the two arrays. Finally, it writes the elements from the {@code last} array using the writing method,
-     *     passing {@code last} and {@code lastDelimiter}.</li>
-     *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
-     *     is thrown, wrapping the original {@code IOException}.</li>
+     *     <li>The prefix of the candidates is the file name of {@code first} before its {@code (1).extension} ending.</li>
+     *     <li>An entry is taken, if it starts with the prefix, ends with {@code ).extension}, and the count between them is
+     *     written the same way {@code newFile()} writes it, without sign or leading zeros.</li>
+     *     <li>Only the counts not greater than the number of such entries are kept: with <i>n</i> entries, a count
+     *     up to <i>n + 1</i> is free, so larger counts never decide the choice, and a stray {@code name(999999999).extension}
+     *     does not allocate a huge {@code BitSet}. A larger count met by {@code newFile()} is skipped when it is created.</li>
+     *     <li>If the directory does not exist, no count is taken.</li>
      * </ul>
-     * {@code write} method writes data from the {@code first} and {@code last} arrays to the file, separated by the
-     * provided delimiters. The arrays can be of any type, and the delimiters can be any strings, allowing flexibility
-     * in writing different data types to the file.
-     * @param       first the desired content that you would upload the first.
-     * @param       firstDelimiter specified delimiter the first.
-     * @param       last the desired content that you would upload the last.
-     * @param       lastDelimiter specified delimiter the last.
-     * @param       <T> represents the type of elements in the first and last array.
-     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Object[], String) writing(BufferedWriter, Object[], String)
+     * @param       first the candidate with the count <i>1</i>.
+     * @param       extension the extension of the candidates.
+     * @return      the counts already taken, up to the number of entries named like the candidates.
+     * @throws      IOException if the directory cannot be listed.
      */
-    private <T> void write(T[] first, String firstDelimiter, T[] last, String lastDelimiter) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            if (first == null) {
-                writing(writer, last, lastDelimiter);
-            } else if (last == null) {
-                writing(writer, first, firstDelimiter);
-            } else {
-                writing(writer, first, firstDelimiter);
-                writer.write("\n");
-                writing(writer, last, lastDelimiter);
+    private BitSet takenCounts(Path first, String extension)
+    throws IOException {
+        String firstName = first.getFileName().toString();
+        String suffix = ")." + extension;
+        if (!firstName.endsWith("(1" + suffix)) {
+            return new BitSet();
+        }
+        int[] counts = new int[16];
+        int size = 0;
+        String prefix = firstName.substring(0, (firstName.length() - suffix.length() - 1));
+        Path directory = first.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String entryName = entry.getFileName().toString();
+                if (entryName.startsWith(prefix) && entryName.endsWith(suffix)) {
+                    int count = count(entryName, prefix.length(), (entryName.length() - suffix.length()));
+                    if (count > 0) {
+                        if (size == counts.length) {
+                            counts = Arrays.copyOf(counts, (size * 2));
+                        }
+                        counts[size++] = count;
+                    }
+                }
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        } catch (NoSuchFileException e) {
+            return new BitSet();
+        }
+        BitSet taken = new BitSet(size + 2);
+        for (int i = 0; i < size; i++) {
+            if (counts[i] <= size) {
+                taken.set(counts[i]);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * {@code count} parses the count written between {@code begin} and {@code end} of the {@code name}.
+     * @param       name the name of the entry.
+     * @param       begin the index of the first digit.
+     * @param       end the index after the last digit.
+     * @return      the count, or <i>-1</i> if it is not a positive number written without leading zeros, or it does not fit an {@code int}.
+     */
+    private static int count(String name, int begin, int end) {
+        int length = end - begin;
+        if ((length <= 0) || (length > 9) || (name.charAt(begin) == '0')) {
+            return -1;
         }
+        int count = 0;
+        for (int i = begin; i < end; i++) {
+            char c = name.charAt(i);
+            if ((c < '0') || (c > '9')) {
+                return -1;
+            }
+            count = (count * 10) + (c - '0');
+        }
+        return count;
     }
 
     /**
-     * {@code write} method that writes data to a file. It takes four parameters: two collections of type {@code C}
-     * containing elements of type {@code T}, {@code first} and {@code last}, and two strings {@code firstDelimiter} and
-     * {@code lastDelimiter}. The method writes the elements of the {@code first} collection followed by the elements of
-     * the last collection to the file specified by {@code fileName}, separated by the corresponding delimiters.
+     * {@code reader} method that opens the file specified by {@code fileName} for reading lines.
      * <ul>
-     *     <li>{@code <T, C extends Collection<T>>} This indicates that the method is a generic method with two type
-     *     parameters: {@code T} representing the type of elements in the collection, and {@code C}, which must be a
-     *     subtype of {@code Collection<T>}, representing the type of the collection itself.</li>
-     *     <li>This means the method does not return any value; it simply writes data to the file.</li>
-     *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter}
-     *     is properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by {@code fileName}.</li>
-     *     <li>The method checks if either {@code first} or {@code last} collections are {@code null}.</li>
-     *     <li>If {@code first} is {@code null}, it means there are no elements to be written from the {@code first} collection,
-     *     so it proceeds to write the elements from the {@code last} collection using the {@code writing} method, passing
-     *     {@code last} and {@code lastDelimiter}.</li>
-     *     <li>If {@code last} is {@code null}, it means there are no elements to be written from the {@code last} collection,
-     *     so it proceeds to write the elements from the {@code first} collection using the {@code writing} method, passing
-     *     {@code first} and {@code firstDelimiter}.</li>
-     *     <li>If both {@code first} and {@code last} collections are not {@code null}, it first writes the elements from the
-     *     {@code first} collection using the {@code writing} method, passing first and {@code firstDelimiter}. Then, it
-     *     writes a newline character {@code "\n"} to the file using {@code writer.write("\n")} to separate the data from
-     *     the two collections. Finally, it writes the elements from the {@code last} array using the writing method,
-     *     passing {@code last} and {@code lastDelimiter}.</li>
+     *     <li>The file is opened with a {@link java.nio.channels.FileChannel FileChannel}.</li>
+     *     <li>The bytes are decoded with the charset of the {@code options}, malformed input is replaced, the same way
+     *     as {@link java.io.FileReader FileReader} does.</li>
+     *     <li>Both the byte buffer of the decoder and the char buffer of the returned
+     *     {@link java.io.BufferedReader BufferedReader} are sized by the buffer size of the {@code options}.</li>
+     * </ul>
+     * @return      the reader of the file, closing it closes the file.
+     * @throws      IOException if the file does not exist or cannot be opened.
+     */
+    private BufferedReader reader()
+    throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+        CharsetDecoder decoder = options.getCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new BufferedReader(Channels.newReader(channel, decoder, options.getBufferSize()), options.getBufferSize());
+    }
+
+    /**
+     * {@code write} method that writes the file specified by {@code path}.
+     * <ul>
+     *     <li>The file is opened with a {@link java.nio.channels.FileChannel FileChannel} with the given {@code openOptions}.</li>
+     *     <li>The characters are encoded with the charset of the {@code options} by a {@code ChannelWriter} into a byte
+     *     buffer allocated by the {@code options}, direct or heap, so the buffer is written to the channel directly.</li>
+     *     <li>Both the byte buffer and the char buffer of the {@link java.io.BufferedWriter BufferedWriter} are
+     *     sized by the buffer size of the {@code options}.</li>
+     *     <li>The {@code functional} writes the data to the {@code BufferedWriter}, which is closed in a
+     *     try-with-resources block, closing the file.</li>
+     *     <li>Before the file is closed, every byte is written to the channel, and the channel is forced with the
+     *     {@code force} method, depending on the durability of the {@code options}.</li>
+     * </ul>
+     * @param       path the file to write.
+     * @param       functional writes the data.
+     * @param       openOptions the options of opening the file.
+     * @return      the number of bytes written to the file.
+     * @throws      IOException if the file cannot be opened or written.
+     * @see         github.magyarzoli.ChannelWriter ChannelWriter
+     */
+    private long write(Path path, WriterFunctional functional, OpenOption... openOptions)
+    throws IOException {
+        FileChannel channel = FileChannel.open(path, openOptions);
+        ChannelWriter channelWriter = new ChannelWriter(channel, options.getCharset(), options.allocate());
+        try (BufferedWriter writer = new BufferedWriter(channelWriter, options.getBufferSize())) {
+            functional.writerFunctional(writer);
+            writer.flush();
+            channelWriter.finish();
+            force(channel);
+        }
+        return channelWriter.getWritten();
+    }
+
+    /**
+     * {@code write} method that writes the remaining bytes of the {@code update} to the file specified by {@code path}.
+     * The bytes are written with a {@link java.nio.channels.FileChannel FileChannel} from a duplicate of the buffer, so
+     * the position of the {@code update} is not changed, and the channel is forced with the {@code force} method.
+     * @param       path the file to write.
+     * @param       update the bytes to write.
+     * @param       openOptions the options of opening the file.
+     * @return      the number of bytes written to the file.
+     * @throws      IOException if the file cannot be opened or written.
+     */
+    private long write(Path path, ByteBuffer update, OpenOption... openOptions)
+    throws IOException {
+        ByteBuffer data = update.duplicate();
+        try (FileChannel channel = FileChannel.open(path, openOptions)) {
+            long written = 0;
+            while (data.hasRemaining()) {
+                written += channel.write(data);
+            }
+            force(channel);
+            return written;
+        }
+    }
+
+    /**
+     * {@code overwrite} method that replaces the content of the file specified by {@code fileName}.
+     * <ul>
+     *     <li>If the {@code options} are not set to overwrite atomically, the file specified by {@code fileName} is
+     *     written with the {@code write} method, which truncates the file. A crash during the write leaves a
+     *     partially written file behind.</li>
+     *     <li>If the {@code options} are set to overwrite atomically, the new content is written to a temporary file
+     *     created by the {@code temporary} method, which replaces the file with the {@code commit} method. Readers and
+     *     crashes see either the old or the new content.</li>
+     *     <li>The {@code functional} writes the new content to the writer.</li>
      *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
      *     is thrown, wrapping the original {@code IOException}.</li>
      * </ul>
-     * {@code write} method writes data from the {@code first} and {@code last} collections to the file, separated by the
-     * provided delimiters. The collections can be of any type, and the delimiters can be any strings, allowing flexibility
-     * in writing different data types to the file. As before, the actual writing of the data to the file occurs in the
-     * {@code BufferedWriter} when you flush or close it after calling this method.
-     * @param       first the desired content that you would upload the first.
-     * @param       firstDelimiter specified delimiter the first.
-     * @param       last the desired content that you would upload the last.
-     * @param       lastDelimiter specified delimiter the last.
-     * @param       <T> allows this method to be used with different types.
-     * @param       <C> this constraint ensures that must be a subtype of Collection.
-     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Collection, String) writing(BufferedWriter, Collection, String)
+     * @param       functional writes the new content of the file.
+     * @return      the number of bytes written.
+     * @see         github.magyarzoli.FileHandlerOptions#isAtomicOverwrite() isAtomicOverwrite()
      */
-    private <T, C extends Collection<T>> void write(C first, String firstDelimiter, C last, String lastDelimiter) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            if (first == null) {
-                writing(writer, last, lastDelimiter);
-            } else if (last == null) {
-                writing(writer, first, firstDelimiter);
-            } else {
-                writing(writer, first, firstDelimiter);
-                writer.write("\n");
-                writing(writer, last, lastDelimiter);
+    private long overwrite(WriterFunctional functional) {
+        return locked(true, () -> {
+            Path path = Path.of(fileName).toAbsolutePath();
+            if (!options.isAtomicOverwrite()) {
+                try {
+                    long written = write(path, functional,
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    syncDirectory(path);
+                    writtenBytes = written;
+                    return written;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    invalidate(path);
+                }
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            Path temp = null;
+            try {
+                temp = temporary(path);
+                long written = write(temp, functional, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                commit(temp, path);
+                writtenBytes = written;
+                return written;
+            } catch (IOException e) {
+                throw discard(temp, e);
+            } finally {
+                invalidate(path);
+            }
+        });
+    }
+
+    /**
+     * {@code prepend} method that writes data to the beginning of the file specified by {@code fileName}, keeping the
+     * existing content after it.
+     * <ul>
+     *     <li>A temporary file is created next to the file by the {@code temporary} method.</li>
+     *     <li>The {@code functional} writes the new beginning into the temporary file through a
+     *     {@link java.io.BufferedWriter BufferedWriter}, followed by a newline character {@code "\n"} if the file
+     *     has existing content.</li>
+     *     <li>The existing content is copied after the new beginning with the {@code transfer} method, which uses
+     *     {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) transferTo()},
+     *     so the content is not decoded and not loaded into memory.</li>
+     *     <li>The temporary file replaces the file with the {@code commit} method.</li>
+     *     <li>If any {@code IOException} occurs, the temporary file is deleted, the file remains unchanged, and a
+     *     {@link java.lang.RuntimeException RuntimeException} is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @param       functional writes the new beginning of the file.
+     * @return      the number of bytes written, including the existing content copied.
+     * @see         github.magyarzoli.FileHandler#transfer(Path, Path) transfer(Path, Path)
+     * @see         github.magyarzoli.FileHandler#commit(Path, Path) commit(Path, Path)
+     */
+    private long prepend(WriterFunctional functional) {
+        return locked(true, () -> {
+            Path path = Path.of(fileName).toAbsolutePath();
+            Path temp = null;
+            try {
+                temp = temporary(path);
+                boolean content = Files.exists(path) && (Files.size(path) > 0);
+                long written = write(temp, (writer) -> {
+                    functional.writerFunctional(writer);
+                    if (content) {
+                        writer.write("\n");
+                    }
+                }, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                if (content) {
+                    written += transfer(path, temp);
+                }
+                commit(temp, path);
+                writtenBytes = written;
+                return written;
+            } catch (IOException e) {
+                throw discard(temp, e);
+            } finally {
+                invalidate(path);
+            }
+        });
+    }
+
+    /**
+     * {@code temporary} method that creates an empty temporary file next to the file specified by {@code path}, so
+     * that it is on the same file system and can replace the file with a rename.
+     * <ul>
+     *     <li>The temporary file is created with {@link java.nio.file.Files#createFile(Path, java.nio.file.attribute.FileAttribute[]) createFile()}
+     *     under a random name, retried if the name is taken, so it gets the default permissions of a new file, the same
+     *     as a file written without a temporary file. {@code Files.createTempFile} would make it readable by the owner only.</li>
+     *     <li>If the file exists, its permissions are copied to the temporary file where supported.</li>
+     * </ul>
+     * @param       path the absolute path of the file.
+     * @return      the temporary file.
+     * @throws      IOException if the temporary file cannot be created.
+     */
+    private Path temporary(Path path)
+    throws IOException {
+        Path temp;
+        while (true) {
+            temp = path.resolveSibling(path.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                Files.createFile(temp);
+                break;
+            } catch (FileAlreadyExistsException ignored) {}
+        }
+        if (Files.exists(path)) {
+            try {
+                Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(path));
+            } catch (UnsupportedOperationException ignored) {}
+        }
+        return temp;
+    }
+
+    /**
+     * {@code commit} method that replaces the file specified by {@code path} with the written {@code temp} file with the
+     * {@code replace} method, then syncs the directory with the {@code syncDirectory} method, so the new name
+     * survives a crash if the durability is {@code FULL}.
+     * @param       temp the written temporary file.
+     * @param       path the absolute path of the file.
+     * @throws      IOException if the file cannot be moved.
+     * @see         github.magyarzoli.FileHandler#replace(Path, Path) replace(Path, Path)
+     */
+    private void commit(Path temp, Path path)
+    throws IOException {
+        replace(temp, path);
+        syncDirectory(path);
+    }
+
+    /**
+     * {@code discard} method that deletes the {@code temp} file after a failed write, leaving the file unchanged.
+     * @param       temp the temporary file, or {@code null} if it was not created.
+     * @param       e the exception of the failed write, an exception of the deletion is added to it as suppressed.
+     * @return      the {@link java.lang.RuntimeException RuntimeException} to throw, wrapping the original {@code IOException}.
+     */
+    private RuntimeException discard(Path temp, IOException e) {
+        if (temp != null) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+        }
+        return new RuntimeException(e);
+    }
+
+    /**
+     * {@code invalidate} method that removes the file specified by {@code path} from the
+     * {@link github.magyarzoli.ReadCache ReadCache} of the {@code options}, if there is one, after the file was written
+     * or deleted. If the {@code options} are set to read lazily, the read values are dropped too, to be read again on
+     * their next request. The line index is dropped, and its sidecar file is deleted, so it is built again on the next
+     * random access.
+     * @param       path the file.
+     */
+    private void invalidate(Path path) {
+        if (options.isLazyRead()) {
+            lines = null;
+            readArray = null;
+            pagedLines = null;
+        }
+        lineIndex = null;
+        if (options.isPersistentIndex()) {
+            try {
+                Files.deleteIfExists(LineIndex.sidecar(path));
+            } catch (IOException ignored) {}
+        }
+        ReadCache cache = options.getReadCache();
+        if (cache != null) {
+            cache.invalidate(path);
         }
     }
 
     /**
-     * {@code write} method that writes data to a file. It takes four parameters: two maps of type {@code M} with keys of
-     * type {@code K} and values of type {@code V}, {@code first} and {@code last}, and two strings {@code firstDelimiter}
-     * and {@code lastDelimiter}. The method writes the key-value pairs from the first map followed by the key-value pairs
-     * from the last map to the file specified by {@code fileName}, separated by the corresponding delimiters.
+     * {@code observed} method that runs a create or delete {@code operation}, and reports it to the
+     * {@link github.magyarzoli.FileOperationListener FileOperationListener} of the {@code options} and to the
+     * Java Flight Recorder.
+     * @param       command the {@code CreateCommand} or {@code DeleteCommand} of the operation.
+     * @param       operation the operation on the file.
+     * @see         github.magyarzoli.FileHandler#observed(Enum, long, LongSupplier) observed(Enum, long, LongSupplier)
+     */
+    private void observed(Enum<?> command, Runnable operation) {
+        observed(command, 0, () -> {
+            operation.run();
+            return 0;
+        });
+    }
+
+    /**
+     * {@code observed} method that runs a create, update or delete {@code operation}, and reports it to the
+     * {@link github.magyarzoli.FileOperationListener FileOperationListener} of the {@code options} and to the
+     * Java Flight Recorder.
      * <ul>
-     *     <li>{@code <K, V, M extends Map<K, V>>} This indicates that the method is a generic method with three type
-     *     parameters: {@code K} representing the type of keys, {@code V} representing the type of {@code values}, and
-     *     {@code M}, which must be a subtype of {@code Map<K, V>}, representing the type of the map itself.</li>
-     *     <li>This means the method does not return any value; it simply writes data to the file.</li>
+     *     <li>If the {@code options} have no listener and no recording enables the {@code FileHandlerEvent} of the
+     *     operation, the operation runs without being measured. The event is created only if it is enabled.</li>
+     *     <li>Otherwise the duration of the operation is measured, and it is reported by the {@code report} method once
+     *     it finished, with the bytes written returned by the operation, or with its failure before it is thrown on.</li>
+     *     <li>The bytes are taken from the result of the operation, not from the {@code writtenBytes} of the handler,
+     *     which a concurrent update of the same handler may overwrite in the meantime.</li>
+     * </ul>
+     * @param       command the {@code CreateCommand}, {@code UpdateCommand} or {@code DeleteCommand} of the operation.
+     * @param       elements the number of elements written by an update, <i>0</i> otherwise.
+     * @param       operation the operation on the file, returning the number of bytes written.
+     * @return      the number of bytes written by the operation.
+     * @see         github.magyarzoli.FileHandler#report(FileOperationListener, FileHandlerEvent, Enum, long, long, long, Throwable) report(FileOperationListener, FileHandlerEvent, Enum, long, long, long, Throwable)
+     */
+    private long observed(Enum<?> command, long elements, LongSupplier operation) {
+        FileOperationListener listener = options.getListener();
+        FileHandlerEvent shared = sharedEvent(command);
+        if ((listener == null) && !shared.isEnabled()) {
+            return operation.getAsLong();
+        }
+        FileHandlerEvent event = newEvent(shared);
+        long start = System.nanoTime();
+        if (event != null) {
+            event.begin();
+        }
+        long written;
+        try {
+            written = operation.getAsLong();
+        } catch (RuntimeException | Error e) {
+            report(listener, event, command, start, 0, 0, e);
+            throw e;
+        }
+        report(listener, event, command, start, written, elements, null);
+        return written;
+    }
+
+    /**
+     * {@code observed} method that runs a read {@code operation}, and reports it to the
+     * {@link github.magyarzoli.FileOperationListener FileOperationListener} of the {@code options} and to the
+     * Java Flight Recorder.
+     * <ul>
+     *     <li>If the {@code options} have no listener and no recording enables the {@code FileHandlerEvent} of reads,
+     *     the operation runs without being measured. The event is created only if it is enabled.</li>
+     *     <li>Otherwise the duration of the operation is measured, and it is reported by the {@code report} method once
+     *     it finished, with the lines read, and the size of the file if the {@code whole} file was read, or with its
+     *     failure before it is thrown on.</li>
+     * </ul>
+     * @param       whole {@code true} if the operation reads the whole file.
+     * @param       lines returns the number of lines read from the result of the operation.
+     * @param       operation the read of the file.
+     * @param       <R> the type of the result.
+     * @return      the result of the operation.
+     * @see         github.magyarzoli.FileHandler#report(FileOperationListener, FileHandlerEvent, Enum, long, long, long, Throwable) report(FileOperationListener, FileHandlerEvent, Enum, long, long, long, Throwable)
+     */
+    private <R> R observed(boolean whole, ToLongFunction<? super R> lines, Supplier<R> operation) {
+        FileOperationListener listener = options.getListener();
+        if ((listener == null) && !READ_EVENT.isEnabled()) {
+            return operation.get();
+        }
+        FileHandlerEvent event = newEvent(READ_EVENT);
+        long start = System.nanoTime();
+        if (event != null) {
+            event.begin();
+        }
+        R result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException | Error e) {
+            report(listener, event, null, start, 0, 0, e);
+            throw e;
+        }
+        long bytes = 0;
+        if (whole) {
+            try {
+                bytes = Files.size(Path.of(fileName));
+            } catch (IOException ignored) {}
+        }
+        report(listener, event, null, start, bytes, lines.applyAsLong(result), null);
+        return result;
+    }
+
+    /**
+     * {@code sharedEvent} method that returns the shared event of the kind of the operation of the {@code command}.
+     * @param       command the {@code CreateCommand}, {@code UpdateCommand} or {@code DeleteCommand} of the operation.
+     * @return      the shared event, only to be asked whether its type is enabled.
+     */
+    private static FileHandlerEvent sharedEvent(Enum<?> command) {
+        if (command instanceof CreateCommand) {
+            return CREATE_EVENT;
+        } else if (command instanceof UpdateCommand) {
+            return UPDATE_EVENT;
+        } else if (command instanceof DeleteCommand) {
+            return DELETE_EVENT;
+        }
+        throw new IllegalArgumentException("Unknown command: " + command);
+    }
+
+    /**
+     * {@code newEvent} method that creates an event of the type of the {@code shared} event, if a recording enables it.
+     * @param       shared the shared event of the kind of the operation.
+     * @return      the new event, not begun, or {@code null} if no recording enables its type.
+     */
+    private static FileHandlerEvent newEvent(FileHandlerEvent shared) {
+        if (!shared.isEnabled()) {
+            return null;
+        } else if (shared == CREATE_EVENT) {
+            return new FileHandlerEvent.Create();
+        } else if (shared == READ_EVENT) {
+            return new FileHandlerEvent.Read();
+        } else if (shared == UPDATE_EVENT) {
+            return new FileHandlerEvent.Update();
+        }
+        return new FileHandlerEvent.Delete();
+    }
+
+    /**
+     * {@code report} method that reports a finished operation on the file specified by {@code fileName}.
+     * <ul>
+     *     <li>The {@code event} is ended, and committed with the details of the operation if a recording enables it
+     *     and its duration exceeds the threshold of the recording.</li>
+     *     <li>The {@code listener} is notified with a {@link github.magyarzoli.FileOperationEvent FileOperationEvent}
+     *     of the operation, if the {@code options} have one.</li>
+     * </ul>
+     * @param       listener the listener of the operations, or {@code null}.
+     * @param       event the begun event of the operation, or {@code null} if no recording enables it.
+     * @param       command the command of the operation, {@code null} for reads.
+     * @param       start the time the operation started.
+     * @param       bytes the number of bytes moved.
+     * @param       lines the number of lines moved.
+     * @param       failure the exception the operation failed with, {@code null} if it succeeded.
+     */
+    private void report(FileOperationListener listener, FileHandlerEvent event, Enum<?> command, long start, long bytes, long lines, Throwable failure) {
+        long duration = System.nanoTime() - start;
+        Path path = Path.of(fileName);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.command = (command != null) ? command.name() : null;
+                event.bytes = bytes;
+                event.lines = lines;
+                event.failure = (failure != null) ? failure.toString() : null;
+                event.commit();
+            }
+        }
+        if (listener != null) {
+            listener.onOperation(new FileOperationEvent(command, path, bytes, lines, duration, failure));
+        }
+    }
+
+    /**
+     * {@code locked} method that runs the {@code operation} holding the lock of the file specified by {@code fileName}.
+     * <ul>
+     *     <li>If the {@code options} have no {@link github.magyarzoli.PathLocks PathLocks}, the operation runs without locking.</li>
+     *     <li>Otherwise the write lock of the file is held by the writes, creations and deletions, which are
+     *     {@code exclusive}, and the read lock by the reads, so the reads of the file run in parallel, and its writes
+     *     run alone.</li>
+     *     <li>With {@link github.magyarzoli.ProcessLocks ProcessLocks} set, the lock of the file against other processes
+     *     is taken after the lock of the JVM, exclusive or shared the same way. A lock not acquired within the timeout
+     *     fails the operation.</li>
+     *     <li>A write from a thread holding the read lock of any file, for example from the callback of
+     *     {@code readRecords}, could wait forever, since a read lock cannot be upgraded to a write lock and the locks
+     *     are striped. It throws an {@link java.lang.IllegalStateException IllegalStateException} instead.</li>
+     * </ul>
+     * @param       exclusive {@code true} for the write lock, {@code false} for the read lock.
+     * @param       operation the operation on the file.
+     * @throws      IllegalStateException if a write is started by a thread holding a read lock.
+     * @see         github.magyarzoli.PathLocks#lock(Path, boolean) lock(Path, boolean)
+     */
+    private void locked(boolean exclusive, Runnable operation) {
+        locked(exclusive, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@code locked} method that runs the {@code operation} holding the lock of the file specified by {@code fileName},
+     * and returns its result.
+     * @param       exclusive {@code true} for the write lock, {@code false} for the read lock.
+     * @param       operation the operation on the file.
+     * @param       <R> the type of the result.
+     * @return      the result of the operation.
+     * @see         github.magyarzoli.FileHandler#locked(boolean, Runnable) locked(boolean, Runnable)
+     */
+    private <R> R locked(boolean exclusive, Supplier<R> operation) {
+        Runnable unlock = lock(exclusive);
+        try {
+            return operation.get();
+        } finally {
+            unlock.run();
+        }
+    }
+
+    /**
+     * {@code lock} method that takes the lock of the file specified by {@code fileName}, and returns the action
+     * releasing it, for the operations that hold the lock longer than a call, like the stream of {@code readLines()}.
+     * <ul>
+     *     <li>The lock of the {@link github.magyarzoli.PathLocks PathLocks} of the {@code options} is taken first, if
+     *     they have one.</li>
+     *     <li>Then the lock against other processes, if the {@code options} have {@link github.magyarzoli.ProcessLocks ProcessLocks}.
+     *     If it is not acquired, the lock of the {@code PathLocks} is released before the failure is thrown on.</li>
+     *     <li>The returned action releases the locks in the reverse order, it must be run by the same thread.</li>
+     * </ul>
+     * @param       exclusive {@code true} for the write lock, {@code false} for the read lock.
+     * @return      the action releasing the locks.
+     * @throws      IllegalStateException if a write is started by a thread holding a read lock.
+     * @throws      RuntimeException wrapping the {@link github.magyarzoli.ProcessLocks.LockTimeoutException LockTimeoutException}
+     *              if the lock of the {@code ProcessLocks} is not acquired within the timeout.
+     */
+    private Runnable lock(boolean exclusive) {
+        PathLocks pathLocks = options.getPathLocks();
+        ProcessLocks processLocks = options.getProcessLocks();
+        Path key = (pathLocks != null) ? pathLocks.lock(Path.of(fileName), exclusive) : null;
+        ProcessLocks.Handle handle = null;
+        if (processLocks != null) {
+            try {
+                handle = processLocks.acquire(Path.of(fileName), !exclusive);
+            } catch (IOException | RuntimeException e) {
+                if (key != null) {
+                    pathLocks.unlock(key, exclusive);
+                }
+                throw (e instanceof RuntimeException runtime) ? runtime : new RuntimeException(e);
+            }
+        }
+        ProcessLocks.Handle held = handle;
+        return () -> {
+            try {
+                if (held != null) {
+                    held.close();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                if (key != null) {
+                    pathLocks.unlock(key, exclusive);
+                }
+            }
+        };
+    }
+
+    /**
+     * {@code force} method that forces the written content of the {@code channel} to the storage device, depending
+     * on the durability of the {@code options}.
+     * <ul>
+     *     <li>{@code NONE}: nothing is forced.</li>
+     *     <li>{@code DATA}: the content is forced with {@link java.nio.channels.FileChannel#force(boolean) force(false)}.</li>
+     *     <li>{@code FULL}: the content and the metadata are forced with {@code force(true)}.</li>
+     * </ul>
+     * @param       channel the channel of the written file.
+     * @throws      IOException if the channel cannot be forced.
+     */
+    private void force(FileChannel channel)
+    throws IOException {
+        switch (options.getDurability()) {
+            case DATA -> channel.force(false);
+            case FULL -> channel.force(true);
+            default -> {}
+        }
+    }
+
+    /**
+     * {@code syncDirectory} method that forces the directory of the file specified by {@code path} to the storage device
+     * if the durability of the {@code options} is {@code FULL}, so a created or renamed file survives a crash.
+     * Directories cannot be opened on every platform, where it fails, the directory is left to the operating system.
+     * @param       path the absolute path of the file.
+     */
+    private void syncDirectory(Path path) {
+        if (options.getDurability() != FileHandlerOptions.Durability.FULL) {
+            return;
+        }
+        try (FileChannel directory = FileChannel.open(path.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * {@code transfer} method that copies the whole content of the {@code source} file to the end of the {@code target} file.
+     * The copy is done with {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) transferTo()},
+     * which lets the operating system move the bytes between the files without copying them through the heap.
+     * The {@code target} is forced with the {@code force} method after the copy.
+     * @param       source the file to copy from.
+     * @param       target the file to append to.
+     * @return      the number of bytes copied.
+     * @throws      IOException if any of the files cannot be opened, read or written.
+     */
+    private long transfer(Path source, Path target)
+    throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, (size - position), out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            force(out);
+            return position;
+        }
+    }
+
+    /**
+     * {@code replace} method that moves the {@code source} file onto the {@code target} file.
+     * The move is atomic where the file system supports it, readers see either the old or the new content, never a
+     * partially written file. If an atomic move is not supported, the {@code target} is replaced with a regular move.
+     * @param       source the file to move.
+     * @param       target the file to replace.
+     * @throws      IOException if the file cannot be moved.
+     */
+    private void replace(Path source, Path target)
+    throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * {@code append} method that appends data to the end of the file specified by {@code fileName}.
+     * <ul>
+     *     <li>The method checks with the {@code endsWithoutLineBreak} method whether the file has content that is not
+     *     terminated by a newline character.</li>
      *     <li>The method uses a try-with-resources block to ensure the {@link java.io.BufferedWriter BufferedWriter}
-     *     is properly closed after use. It creates a new {@code BufferedWriter} instance, wrapping it around a
-     *     {@link java.io.FileWriter FileWriter} that writes to the file specified by {@code fileName}.</li>
-     *     <li>The method checks if either {@code first} or {@code last} maps  are {@code null}.</li>
-     *     <li>If {@code first} is {@code null}, it means there are no elements to be written from the {@code first} map,
-     *     so it proceeds to write the elements from the {@code last} map using the {@code writing} method, passing
-     *     {@code last} and {@code lastDelimiter}.</li>
-     *     <li>If {@code last} is {@code null}, it means there are no elements to be written from the {@code last} map,
-     *     so it proceeds to write the elements from the {@code first} map using the {@code writing} method, passing
-     *     {@code first} and {@code firstDelimiter}.</li>
-     *     <li>If both {@code first} and {@code last} maps are not {@code null}, it first writes the elements from the
-     *     {@code first} map using the {@code writing} method, passing first and {@code firstDelimiter}. Then, it
-     *     writes a newline character {@code "\n"} to the file using {@code writer.write("\n")} to separate the data from
-     *     the two maps . Finally, it writes the elements from the {@code last} array using the writing method,
-     *     passing {@code last} and {@code lastDelimiter}.</li>
+     *     is properly closed after use. The writer is opened by the {@code write} method with
+     *     {@link java.nio.file.StandardOpenOption#APPEND APPEND},
+     *     so every byte is written after the existing content, which is neither read nor truncated.</li>
+     *     <li>If the file does not exist, it is created.</li>
+     *     <li>If the existing content is not terminated by a newline character, a newline character {@code "\n"} is
+     *     written first to separate the appended data from it.</li>
+     *     <li>The {@code functional} writes the appended data to the writer.</li>
      *     <li>If any {@code IOException} occurs during file writing, a {@link java.lang.RuntimeException RuntimeException}
      *     is thrown, wrapping the original {@code IOException}.</li>
      * </ul>
-     * {@code write} method writes all the key-value pairs from the {@code first} and {@code last} maps to the file,
-     * separated by the provided delimiters. The maps can be of any types for keys and values, and the delimiters can be
-     * any strings, allowing flexibility in writing different data types to the file. As before, the actual writing of
-     * the data to the file occurs in the {@code BufferedWriter} when you flush or close it after calling this method.
-     * @param       first the desired content that you would upload the first.
-     * @param       firstDelimiter specified delimiter the first.
-     * @param       last the desired content that you would upload the last.
-     * @param       lastDelimiter specified delimiter the last.
-     * @param       <K> represents the type of keys in the map.
-     * @param       <V> represents the type of values in the map.
-     * @param       <M> this constraint ensures that must be a subtype of Map.
-     * @see         github.magyarzoli.FileHandler#writing(BufferedWriter, Map, String) writing(BufferedWriter, Map, String)
+     * @param       functional writes the appended data.
+     * @return      the number of bytes written.
+     * @see         github.magyarzoli.FileHandler#endsWithoutLineBreak(Path) endsWithoutLineBreak(Path)
      */
-    private <K, V, M extends Map<K, V>> void write(M first, String firstDelimiter, M last, String lastDelimiter) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            if (first == null) {
-                writing(writer, last, lastDelimiter);
-            } else if (last == null) {
-                writing(writer, first, firstDelimiter);
-            } else {
-                writing(writer, first, firstDelimiter);
-                writer.write("\n");
-                writing(writer, last, lastDelimiter);
+    private long append(WriterFunctional functional) {
+        return locked(true, () -> {
+            Path path = Path.of(fileName);
+            try {
+                boolean separate = endsWithoutLineBreak(path);
+                long written = write(path, (writer) -> {
+                    if (separate) {
+                        writer.write("\n");
+                    }
+                    functional.writerFunctional(writer);
+                }, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                syncDirectory(path.toAbsolutePath());
+                writtenBytes = written;
+                return written;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                invalidate(path);
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        });
+    }
+
+    /**
+     * {@code appendTexts} method that appends several updates to the end of the file specified by {@code fileName}
+     * with a single write, used by the {@link github.magyarzoli.GroupCommitWriter GroupCommitWriter}.
+     * <ul>
+     *     <li>The texts are written by the {@code append} method, so the file is opened, written and forced once.</li>
+     *     <li>A newline character {@code "\n"} is written before a text if the content before it is not terminated by
+     *     one, so the file has the same content as after appending the texts one by one.</li>
+     * </ul>
+     * @param       texts the updates already joined with the {@code delimiter}, in the order of appending.
+     * @return      the number of bytes written.
+     */
+    long appendTexts(List<String> texts) {
+        return observed(UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS, texts.size(), () -> append((writer) -> {
+            boolean separate = false;
+            for (String text : texts) {
+                if (separate) {
+                    writer.write("\n");
+                    separate = false;
+                }
+                writer.write(text);
+                if (!text.isEmpty()) {
+                    separate = text.charAt(text.length() - 1) != '\n';
+                }
+            }
+        }));
+    }
+
+    /**
+     * {@code readBytes} method that reads the whole content of the file specified by {@code fileName} as raw bytes,
+     * used by the {@link github.magyarzoli.ByteFileHandler ByteFileHandler}.
+     * <ul>
+     *     <li>A buffer of the size of the file is allocated, direct or heap depending on the {@code options}.</li>
+     *     <li>The file is read into the buffer with positioned reads of a {@link java.nio.channels.FileChannel FileChannel},
+     *     the bytes are not decoded.</li>
+     *     <li>If any {@code IOException} occurs, a {@link java.lang.RuntimeException RuntimeException} is thrown,
+     *     wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @return      the content of the file, flipped to be read.
+     * @throws      IllegalStateException if the file is too large for a buffer.
+     */
+    ByteBuffer readBytes() {
+        return observed(true, (buffer) -> 0, () -> locked(false, () -> {
+            try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > (Integer.MAX_VALUE - 8)) {
+                    throw new IllegalStateException("File is too large to read into a buffer: " + size + " bytes!");
+                }
+                ByteBuffer buffer = options.isDirectBuffers() ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && (channel.read(buffer, buffer.position()) != -1)) {}
+                return buffer.flip();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    /**
+     * {@code readBytes} method that reads the bytes of the file specified by {@code fileName} from the {@code position}
+     * into the {@code buffer}, used by the {@link github.magyarzoli.ByteFileHandler ByteFileHandler}.
+     * The remaining space of the buffer is filled with positioned reads, until it is full or the end of the file is reached.
+     * @param       buffer the buffer to read into.
+     * @param       position the position of the file to read from.
+     * @return      the number of bytes read, or <i>-1</i> if the {@code position} is at or after the end of the file.
+     * @throws      IllegalArgumentException if the {@code position} is negative.
+     */
+    int readBytes(ByteBuffer buffer, long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative!");
+        }
+        return observed(false, (read) -> 0, () -> locked(false, () -> {
+            try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+                int total = 0, read = 0;
+                while (buffer.hasRemaining() && ((read = channel.read(buffer, (position + total))) != -1)) {
+                    total += read;
+                }
+                return ((total == 0) && (read == -1)) ? -1 : total;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    /**
+     * {@code updateBytes} method that updates the file specified by {@code fileName} with the remaining bytes of the
+     * {@code update}, as the {@code command} specifies, used by the {@link github.magyarzoli.ByteFileHandler ByteFileHandler}.
+     * <ul>
+     *     <li>{@code UPDATE_FILE_TO_ENDING_CONTENTS}: the file is opened in append mode, and the bytes are written after
+     *     the existing content, which is neither read nor rewritten.</li>
+     *     <li>{@code UPDATE_FILE_WITH_CONTENTS_OVERWRITING}: the file is truncated and written, or written to a
+     *     temporary file replacing the file, if the {@code options} are set to overwrite atomically.</li>
+     *     <li>{@code UPDATE_FILE_TO_STARTING_CONTENTS}: the bytes are written to a temporary file, the existing content
+     *     is copied after them with the {@code transfer} method, and the temporary file replaces the file.</li>
+     *     <li>The bytes are written as they are, no newline character is inserted, and the channel is forced with the
+     *     durability of the {@code options}.</li>
+     *     <li>If any {@code IOException} occurs, the temporary file is deleted, and a
+     *     {@link java.lang.RuntimeException RuntimeException} is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * If the {@code update} is {@code null}, the file is left unchanged, and no bytes are reported as written, like
+     * the text updates of a {@code null} array.
+     * @param       update the bytes to write, its position is not changed, or {@code null} to skip the update.
+     * @param       command the way the file is updated.
+     * @return      the number of bytes written.
+     * @see         github.magyarzoli.FileHandler#transfer(Path, Path) transfer(Path, Path)
+     * @see         github.magyarzoli.FileHandler#commit(Path, Path) commit(Path, Path)
+     */
+    long updateBytes(ByteBuffer update, UpdateCommand command) {
+        if (update == null) {
+            writtenBytes = 0;
+            return 0;
+        }
+        return observed(command, 0, () -> locked(true, () -> {
+            Path path = Path.of(fileName).toAbsolutePath();
+            Path temp = null;
+            try {
+                if ((command == UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS)
+                        || ((command == UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING) && !options.isAtomicOverwrite())) {
+                    OpenOption mode = (command == UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS)
+                            ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+                    long written = write(path, update, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+                    syncDirectory(path);
+                    writtenBytes = written;
+                    return written;
+                }
+                temp = temporary(path);
+                long written = write(temp, update, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                if ((command == UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS) && Files.exists(path)) {
+                    written += transfer(path, temp);
+                }
+                commit(temp, path);
+                writtenBytes = written;
+                return written;
+            } catch (IOException e) {
+                throw discard(temp, e);
+            } finally {
+                invalidate(path);
+            }
+        }));
+    }
+
+    /**
+     * {@code endsWithoutLineBreak} method checks the last byte of the file.
+     * Only the last byte is read with a positioned read of a {@link java.nio.channels.FileChannel FileChannel}.
+     * @param       path the file to check.
+     * @return      {@code true} if the file exists, not empty and its last byte is not a newline character.
+     * @throws      IOException if the file cannot be opened for any other reason than not existing.
+     */
+    private boolean endsWithoutLineBreak(Path path)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, (size - 1));
+            return last.get(0) != '\n';
+        } catch (NoSuchFileException e) {
+            return false;
         }
     }
 
@@ -909,17 +2103,12 @@ implements CRUDFile {
      *     <li>This indicates that the method is a generic method with a type parameter {@code T}. The type {@code T}
      *     represents the type of elements in the {@code update} array.</li>
      *     <li>This means the method does not return any value; it simply writes the elements to the {@code BufferedWriter}.</li>
-     *     <li>The method uses a for-each loop to iterate over the elements of the {@code update} array.</li>
-     *     <li> For each element value in the {@code update} array, the method writes the value to the {@code BufferedWriter}
-     *     using the {@link java.io.Writer write} method. It also appends the {@code delimiter} to separate each value,
-     *     except for the last value in the array.</li>
-     *     <li>This checks if the current {@code value} is the last element in the {@code update} array. The
-     *     {@link java.lang.Object#equals(Object) equals} method is used to compare the current value with the last
-     *     element in the array.</li>
-     *     <li>This is a ternary operator. If the current {@code value} is the last element, an empty string "" is added
-     *     to the {@code BufferedWriter}, meaning there will be no delimiter after the last {@code value}. If the
-     *     current value is not the last element, the specified {@code delimiter} is added after the value to separate
-     *     it from the next value.</li>
+     *     <li>The method iterates over the indexes of the {@code update} array.</li>
+     *     <li>The {@code delimiter} is written before every element except the first one, so the decision depends only
+     *     on the position of the element, not on its value. Repeated values and {@code null} elements are written
+     *     like any other element, and {@link java.lang.Object#equals(Object) equals} is never called.</li>
+     *     <li>Every element is converted with {@link java.lang.String#valueOf(Object) String.valueOf()} and written
+     *     directly, no intermediate concatenated {@code String} is created.</li>
      * </ul>
      * {@code writing} method writes all the elements of the {@code update} array to the {@code BufferedWriter}, with
      * the specified {@code delimiter} used to separate them. The last element is not followed by the delimiter to
@@ -934,8 +2123,11 @@ implements CRUDFile {
      */
     private <T> void writing(BufferedWriter writer, T[] update, String delimiter)
     throws IOException {
-        for (T value : update) {
-            writer.write(value + (value.equals(update[(update.length - 1)]) ? "" : delimiter));
+        for (int i = 0; i < update.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writer.write(String.valueOf(update[i]));
         }
     }
 
@@ -946,32 +2138,18 @@ implements CRUDFile {
      * This method is used to write the elements of the {@code update} collection to the {@code BufferedWriter},
      * separated by the specified {@code delimiter}.
      * <ul>
-     *     <li>{@link java.lang.SuppressWarnings @SuppressWarnings}{@code ("unchecked")}: This annotation is used to
-     *     suppress unchecked warnings from the Java compiler. The warning appears because of the type casting from a generic </li>
-     *     <li>{@code Collection<T>} to a {@code List<T>} on this line: {@code List<T> listUpdate = (List<T>) update;}.
-     *     The warning indicates that the compiler cannot guarantee type safety due to the unchecked cast. In this case,
-     *     the developer assumes that the {@code update} collection is actually a {@code List<T>}, and the warning is suppressed.</li>
      *     <li>{@code <T, C extends Collection<T>>} This indicates that the method is a generic method with two type
      *     parameters: {@code T} representing the type of elements in the collection and {@code C}, which must be a
      *     subtype of {@code Collection<T>}, representing the type of the collection itself.</li>
      *     <li>This means the method does not return any value; it simply writes the elements to the {@code BufferedWriter}.</li>
-     *     <li>The method casts the {@code update} collection to a {@code List<T>}. This line assumes that the {@code update}
-     *     collection is actually a {@code List<T>}, and the developer is confident about this type casting. As mentioned
-     *     earlier, this type casting can potentially cause runtime exceptions if the actual type of {@code update} is not
-     *     a {@code List<T>}, which is why the {@code @SuppressWarnings("unchecked")} annotation is used to suppress
-     *     the compiler warning.</li>
-     *     <li>The method uses a for-each loop to iterate over the elements of the {@code listUpdate} list (which is a
-     *     type-casted version of the {@code update} collection).</li>
-     *     <li>For each element {@code value} in the {@code listUpdate} list, the method writes the value to the
-     *     {@code BufferedWriter} using the {@link java.io.Writer write} method. It also appends the {@code delimiter}
-     *     to separate each value, except for the last value in the list.</li>
-     *     <li>This checks if the current {@code value} is the last element in the {@code listUpdate} list. The
-     *     {@link java.lang.Object#equals(Object) equals} method is used to compare the current value with the last
-     *     element in the list.</li>
-     *     <li>This is a ternary operator. If the current {@code value} is the last element, an empty string "" is added
-     *     to the {@code BufferedWriter}, meaning there will be no delimiter after the last value. If the current
-     *     {@code value} is not the last element, the specified {@code delimiter} is added after the value to separate
-     *     it from the next value.</li>
+     *     <li>The method walks the {@code update} collection with a single {@link java.util.Iterator Iterator}, so any
+     *     {@code Collection} can be written, a {@link java.util.Set Set} as well as a {@link java.util.List List}, and
+     *     a {@code List} without random access is not indexed.</li>
+     *     <li>The {@code delimiter} is written before every element except the first one, so the decision depends only
+     *     on the position of the element, not on its value. Repeated values and {@code null} elements are written
+     *     like any other element, and {@link java.lang.Object#equals(Object) equals} is never called.</li>
+     *     <li>Every element is converted with {@link java.lang.String#valueOf(Object) String.valueOf()} and written
+     *     directly, no intermediate concatenated {@code String} is created.</li>
      * </ul>
      * {@code writing} method writes all the elements of the {@code update} collection to the {@code BufferedWriter},
      * with the specified {@code delimiter} used to separate them. The last element is not followed by the delimiter
@@ -985,12 +2163,15 @@ implements CRUDFile {
      * @throws      IOException if the named file exists but is a directory rather than a regular file, does not exist
      *              but cannot be created, or cannot be opened for any other reason
      */
-    @SuppressWarnings("unchecked")
     private <T, C extends Collection<T>> void writing(BufferedWriter writer, C update, String delimiter)
     throws IOException {
-        List<T> listUpdate = (List<T>) update;
-        for (T value : listUpdate) {
-            writer.write(value + (value.equals(listUpdate.get(listUpdate.size() - 1)) ? "" : delimiter));
+        Iterator<T> iterator = update.iterator();
+        if (iterator.hasNext()) {
+            writer.write(String.valueOf(iterator.next()));
+            while (iterator.hasNext()) {
+                writer.write(delimiter);
+                writer.write(String.valueOf(iterator.next()));
+            }
         }
     }
 
@@ -1012,11 +2193,10 @@ implements CRUDFile {
      *     <li>For each key-value pair {@code entry} in the {@code update} map, the method {@code writes} the key and
      *     value to the {@code BufferedWriter} using the {@link java.io.Writer write} method. It uses the {@code delimiter}
      *     to separate the key and value.</li>
-     *     <li>This is a ternary operator. If it's the first entry being written ({@code first} is {@code true}), an
-     *     empty string is added to the {@code BufferedWriter}, indicating no newline before the key-value pair. If it's
-     *     not the first entry ({@code first} is {@code false}), a newline character {@code \n} is added before the
-     *     key-value pair, separating it from the previous entry.</li>
-     *     <li>This concatenates the key and value with the specified {@code delimiter} in between them. The
+     *     <li>If it's not the first entry ({@code first} is {@code false}), a newline character {@code \n} is
+     *     written before the key-value pair, separating it from the previous entry.</li>
+     *     <li>This writes the key and value with the specified {@code delimiter} in between them, one after the other
+     *     without concatenating them into an intermediate {@code String}. The
      *     {@link java.util.Map.Entry#getKey() getKey()} method retrieves the key, and the {@link java.util.Map.Entry#getValue() getValue()}
      *     method retrieves the value from the current {@code entry}.</li>
      *     <li>After writing the first entry, the {@code first} variable is set to {@code false}, so that subsequent
@@ -1039,8 +2219,44 @@ implements CRUDFile {
     throws IOException {
         boolean first = true;
         for (Map.Entry<K, V> entry : update.entrySet()) {
-            writer.write((first ? "" : "\n") + entry.getKey() + delimiter + entry.getValue());
+            if (!first) {
+                writer.write('\n');
+            }
+            writer.write(String.valueOf(entry.getKey()));
+            writer.write(delimiter);
+            writer.write(String.valueOf(entry.getValue()));
             first = false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Functional interface of the handling of a single line of entries, the shared file handling of the map reads
+     * invokes it with every line and the index of its first delimiter.
+     */
+    @FunctionalInterface
+    private interface EntryFunctional {
+
+        /**
+         * {@code accept} handles a line.
+         * @param       line the line, without its line terminator.
+         * @param       split the index of the first delimiter of the line.
+         */
+        void accept(String line, int split);
+    }
+
+    /**
+     * Functional interface of a single writing step, the shared file handling of the update methods invokes it
+     * with the opened {@link java.io.BufferedWriter BufferedWriter}.
+     */
+    @FunctionalInterface
+    private interface WriterFunctional {
+
+        /**
+         * {@code writerFunctional}, which writes data to the {@code writer}.
+         * @param       writer the opened writer of the file.
+         * @throws      IOException indicating that it can potentially encounter input/output errors.
+         */
+        void writerFunctional(BufferedWriter writer)
+        throws IOException;
+    }
+}
@@ -0,0 +1,529 @@
+package github.magyarzoli;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Class for running the same operation on many files at once.
+ * A {@link github.magyarzoli.FileHandler FileHandler} is created for every file name, and the operation is run on it
+ * in a task of its own, at most {@code parallelism} tasks run at the same time.
+ * <ul>
+ *     <li>On Java 21 or later the tasks run on virtual threads, one per task, so blocking file I/O does not hold
+ *     a platform thread.</li>
+ *     <li>On earlier versions the tasks run on a fixed pool of {@code parallelism} platform threads.</li>
+ *     <li>The result of every file is collected in a {@link github.magyarzoli.FileHandlerBatch.Result Result}, a failed
+ *     file does not stop the others.</li>
+ *     <li>The results are returned in a {@link github.magyarzoli.FileHandlerBatch.Report Report} in the order of the
+ *     file names, together with the aggregate timings of the batch.</li>
+ * </ul>
+ * The batch owns its executor, it must be closed when no longer used.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileHandlerBatch
+implements AutoCloseable {
+
+    /**
+     * Store the maximum number of operations running at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Store the executor the operations run on.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Store the permits of the running operations.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Store the options of the created handlers.
+     */
+    private FileHandlerOptions options = FileHandlerOptions.DEFAULT;
+
+    /**
+     * The constructor takes the maximum number of operations running at the same time, and runs the operations on
+     * virtual threads if the runtime supports them.
+     * @param       parallelism the maximum number of operations running at the same time, must be positive.
+     */
+    public FileHandlerBatch(int parallelism) {
+        this(parallelism, executor(parallelism));
+    }
+
+    /**
+     * The constructor takes the maximum number of operations running at the same time and the {@code executor} the
+     * operations run on. The executor is shut down when the batch is closed.
+     * @param       parallelism the maximum number of operations running at the same time, must be positive.
+     * @param       executor the executor the operations run on.
+     */
+    public FileHandlerBatch(int parallelism, ExecutorService executor) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive!");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor takes a null value!");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * {@code getParallelism} returns the maximum number of operations running at the same time.
+     * @return      the parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * {@code getOptions} returns the options of the handlers created by the batch.
+     * @return      the options.
+     */
+    public FileHandlerOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * {@code setOptions} sets the options of the handlers created by the batch, {@code null} is ignored.
+     * @param       options the options.
+     */
+    public void setOptions(FileHandlerOptions options) {
+        if (options != null) {
+            this.options = options;
+        }
+    }
+
+    /**
+     * {@code create} creates every file in the way specified by the {@code command}.
+     * @param       fileNames the names of the files.
+     * @param       command by entering it, the files can be created in different ways.
+     * @return      the report, the result of every file is its final name.
+     * @see         github.magyarzoli.CreateFile#create(CreateCommand) create(CreateCommand)
+     */
+    public Report<String> create(Collection<String> fileNames, CreateCommand command) {
+        return execute(fileNames, (handler) -> {
+            handler.create(command);
+            return handler.getFileName();
+        });
+    }
+
+    /**
+     * {@code read} reads the lines of every file.
+     * @param       fileNames the names of the files.
+     * @return      the report, the result of every file is its lines.
+     * @see         github.magyarzoli.ReadFile#read() read()
+     */
+    public Report<String[]> read(Collection<String> fileNames) {
+        return execute(fileNames, (handler) -> {
+            handler.read();
+            return handler.getReadArray();
+        });
+    }
+
+    /**
+     * {@code update} updates every file with the elements of the {@code update} array.
+     * @param       fileNames the names of the files.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <T> allows this method to be used with different types of arrays.
+     * @return      the report, the result of every file is the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Object[], UpdateCommand) update(Object[], UpdateCommand)
+     */
+    public <T> Report<Long> update(Collection<String> fileNames, T[] update, UpdateCommand command) {
+        return execute(fileNames, (handler) -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    /**
+     * {@code update} updates every file with the elements of the {@code update} collection.
+     * @param       fileNames the names of the files.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <T> allows this method to be used with different types.
+     * @param       <C> this constraint ensures that must be a subtype of Collection.
+     * @return      the report, the result of every file is the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Collection, UpdateCommand) update(Collection, UpdateCommand)
+     */
+    public <T, C extends Collection<T>> Report<Long> update(Collection<String> fileNames, C update, UpdateCommand command) {
+        return execute(fileNames, (handler) -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    /**
+     * {@code update} updates every file with the key-value pairs of the {@code update} map.
+     * @param       fileNames the names of the files.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @param       <K> represents the type of keys in the map.
+     * @param       <V> represents the type of values in the map.
+     * @param       <M> this constraint ensures that must be a subtype of Map.
+     * @return      the report, the result of every file is the number of bytes written.
+     * @see         github.magyarzoli.UpdateFile#update(Map, UpdateCommand) update(Map, UpdateCommand)
+     */
+    public <K, V, M extends Map<K, V>> Report<Long> update(Collection<String> fileNames, M update, UpdateCommand command) {
+        return execute(fileNames, (handler) -> {
+            handler.update(update, command);
+            return handler.getWrittenBytes();
+        });
+    }
+
+    /**
+     * {@code delete} deletes every file in the way specified by the {@code command}.
+     * @param       fileNames the names of the files.
+     * @param       command by specifying the files can be deleted in several ways.
+     * @return      the report, the result of every file is whether it existed before the deletion.
+     * @see         github.magyarzoli.DeleteFile#delete(DeleteCommand) delete(DeleteCommand)
+     */
+    public Report<Boolean> delete(Collection<String> fileNames, DeleteCommand command) {
+        return execute(fileNames, (handler) -> {
+            boolean existed = handler.getFile().exists();
+            handler.delete(command);
+            return existed;
+        });
+    }
+
+    /**
+     * {@code execute} runs the {@code operation} on the handler of every file and waits for all of them.
+     * <ul>
+     *     <li>Before a task is submitted a permit is acquired, so at most {@code parallelism} tasks exist at the same
+     *     time, and the memory used does not grow with the number of files.</li>
+     *     <li>Every task creates a {@code FileHandler} with the options of the batch, runs the {@code operation} on it
+     *     and measures its duration.</li>
+     *     <li>An exception or error thrown by the {@code operation} is stored in the result of the file.</li>
+     *     <li>If the calling thread is interrupted, the tasks not yet submitted are skipped, and a
+     *     {@link java.lang.RuntimeException RuntimeException} is thrown after the submitted ones have finished.</li>
+     * </ul>
+     * @param       fileNames the names of the files.
+     * @param       operation the operation to run on the handler of every file.
+     * @param       <R> the type of the result of the operation.
+     * @return      the report of the results in the order of the {@code fileNames}.
+     */
+    public <R> Report<R> execute(Collection<String> fileNames, Operation<R> operation) {
+        List<Result<R>> results = new ArrayList<>(Collections.nCopies(fileNames.size(), null));
+        CountDownLatch done = new CountDownLatch(fileNames.size());
+        long start = System.nanoTime();
+        int submitted = 0;
+        try {
+            for (String fileName : fileNames) {
+                permits.acquire();
+                int index = submitted++;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            results.set(index, run(fileName, operation));
+                        } finally {
+                            permits.release();
+                            done.countDown();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    done.countDown();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            awaitSubmitted(done, (fileNames.size() - submitted));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        awaitSubmitted(done, 0);
+        return new Report<>(results, (System.nanoTime() - start));
+    }
+
+    /**
+     * {@code close} shuts down the executor and waits for the running operations to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@code run} runs the {@code operation} on a new handler of the file and measures it.
+     * @param       fileName the name of the file.
+     * @param       operation the operation to run.
+     * @param       <R> the type of the result of the operation.
+     * @return      the result of the file.
+     */
+    private <R> Result<R> run(String fileName, Operation<R> operation) {
+        long start = System.nanoTime();
+        try {
+            FileHandler handler = new FileHandler(fileName);
+            handler.setOptions(options);
+            R value = operation.apply(handler);
+            return new Result<>(fileName, value, null, (System.nanoTime() - start));
+        } catch (Throwable e) {
+            return new Result<>(fileName, null, e, (System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * {@code awaitSubmitted} waits until every submitted task has finished, ignoring interrupts until then.
+     * @param       done the latch counted down by every task.
+     * @param       skipped the number of tasks that were never submitted.
+     */
+    private static void awaitSubmitted(CountDownLatch done, int skipped) {
+        for (int i = 0; i < skipped; i++) {
+            done.countDown();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@code executor} returns an executor that starts a virtual thread for every task if the runtime supports
+     * virtual threads, otherwise a fixed pool of {@code parallelism} platform threads.
+     * The virtual thread executor is looked up reflectively, so the class still compiles for Java 17.
+     * @param       parallelism the size of the fallback pool, must be positive.
+     * @return      the executor.
+     */
+    private static ExecutorService executor(int parallelism) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(parallelism, 1));
+        }
+    }
+
+    /**
+     * Functional interface of an operation run on the handler of every file of a batch.
+     * @param       <R> the type of the result.
+     */
+    @FunctionalInterface
+    public interface Operation<R> {
+
+        /**
+         * {@code apply} runs the operation on the {@code handler}.
+         * @param       handler the handler of the file.
+         * @return      the result of the operation.
+         * @throws      IOException indicating that it can potentially encounter input/output errors.
+         */
+        R apply(FileHandler handler)
+        throws IOException;
+    }
+
+    /**
+     * The outcome of the operation on a single file.
+     * @param       <R> the type of the result.
+     */
+    public static final class Result<R> {
+
+        /**
+         * Store the name of the file.
+         */
+        private final String fileName;
+
+        /**
+         * Store the result of the operation.
+         */
+        private final R value;
+
+        /**
+         * Store the exception or error thrown by the operation.
+         */
+        private final Throwable failure;
+
+        /**
+         * Store the duration of the operation in nanoseconds.
+         */
+        private final long nanos;
+
+        /**
+         * Constructor used by the {@code FileHandlerBatch}.
+         * @param       fileName the name of the file.
+         * @param       value the result of the operation.
+         * @param       failure the exception or error thrown by the operation, or {@code null}.
+         * @param       nanos the duration of the operation in nanoseconds.
+         */
+        private Result(String fileName, R value, Throwable failure, long nanos) {
+            this.fileName = fileName;
+            this.value = value;
+            this.failure = failure;
+            this.nanos = nanos;
+        }
+
+        /**
+         * {@code getFileName} returns the name of the file the operation was run on.
+         * @return      the name of the file.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * {@code getValue} returns the result of the operation, {@code null} if it failed.
+         * @return      the result of the operation.
+         */
+        public R getValue() {
+            return value;
+        }
+
+        /**
+         * {@code getFailure} returns the exception or error thrown by the operation, {@code null} if it succeeded.
+         * @return      the exception or error.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * {@code isSuccess} returns whether the operation succeeded.
+         * @return      {@code true} if nothing was thrown.
+         */
+        public boolean isSuccess() {
+            return (failure == null);
+        }
+
+        /**
+         * {@code getNanos} returns the duration of the operation.
+         * @return      the duration in nanoseconds.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    /**
+     * The results of a batch and its aggregate timings.
+     * @param       <R> the type of the results.
+     */
+    public static final class Report<R> {
+
+        /**
+         * Store the results in the order of the file names.
+         */
+        private final List<Result<R>> results;
+
+        /**
+         * Store the wall clock duration of the batch in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * Store the number of failed operations.
+         */
+        private final int failures;
+
+        /**
+         * Store the sum of the durations of the operations in nanoseconds.
+         */
+        private final long totalNanos;
+
+        /**
+         * Store the longest duration of an operation in nanoseconds.
+         */
+        private final long maxNanos;
+
+        /**
+         * Constructor used by the {@code FileHandlerBatch}.
+         * @param       results the results in the order of the file names.
+         * @param       elapsedNanos the wall clock duration of the batch in nanoseconds.
+         */
+        private Report(List<Result<R>> results, long elapsedNanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.elapsedNanos = elapsedNanos;
+            int failures = 0;
+            long totalNanos = 0, maxNanos = 0;
+            for (Result<R> result : results) {
+                if (!result.isSuccess()) {
+                    failures++;
+                }
+                totalNanos += result.getNanos();
+                maxNanos = Math.max(maxNanos, result.getNanos());
+            }
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * {@code getResults} returns the results in the order of the file names.
+         * @return      the unmodifiable list of the results.
+         */
+        public List<Result<R>> getResults() {
+            return results;
+        }
+
+        /**
+         * {@code getSuccesses} returns the number of succeeded operations.
+         * @return      the number of successes.
+         */
+        public int getSuccesses() {
+            return (results.size() - failures);
+        }
+
+        /**
+         * {@code getFailures} returns the number of failed operations.
+         * @return      the number of failures.
+         */
+        public int getFailures() {
+            return failures;
+        }
+
+        /**
+         * {@code getElapsedNanos} returns the wall clock duration of the batch.
+         * @return      the duration in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * {@code getTotalNanos} returns the sum of the durations of the operations, which is larger than the wall clock
+         * duration, when the operations overlap.
+         * @return      the sum of the durations in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * {@code getAverageNanos} returns the average duration of an operation.
+         * @return      the average duration in nanoseconds, {@code 0} for an empty batch.
+         */
+        public long getAverageNanos() {
+            return results.isEmpty() ? 0 : (totalNanos / results.size());
+        }
+
+        /**
+         * {@code getMaxNanos} returns the longest duration of an operation.
+         * @return      the longest duration in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
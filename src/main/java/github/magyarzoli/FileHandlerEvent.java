@@ -0,0 +1,99 @@
+package github.magyarzoli;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of the operations of a {@link github.magyarzoli.FileHandler FileHandler}, so file handling
+ * shows up in recordings next to the garbage collections and the thread stalls, without an agent.
+ * <ul>
+ *     <li>Every kind of operation has its own event type: {@code github.magyarzoli.FileCreate},
+ *     {@code github.magyarzoli.FileRead}, {@code github.magyarzoli.FileUpdate} and {@code github.magyarzoli.FileDelete},
+ *     in the {@code File Handler} category.</li>
+ *     <li>An event spans the operation, including the time waiting for locks, and carries the path, the command, the
+ *     bytes, the lines and the failure of the operation, the same values as the
+ *     {@link github.magyarzoli.FileOperationEvent FileOperationEvent} of the listener.</li>
+ *     <li>The events are emitted from the same hook as the listener is notified from. While no recording enables them,
+ *     the operations are not measured, and no event is created, whether they are enabled is checked on a shared
+ *     instance of every event type.</li>
+ *     <li>The event classes declare no static methods, which the instrumentation of the Java Flight Recorder does not
+ *     handle in event classes loaded while a recording runs.</li>
+ * </ul>
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@Category("File Handler")
+abstract class FileHandlerEvent
+extends Event {
+
+    /**
+     * The file of the operation.
+     */
+    @Label("Path")
+    String path;
+
+    /**
+     * The command of the operation, {@code null} for reads.
+     */
+    @Label("Command")
+    String command;
+
+    /**
+     * The bytes written by an update, or the size of the file read by a read of the whole file.
+     */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * The lines read, or the elements written by an update.
+     */
+    @Label("Lines")
+    long lines;
+
+    /**
+     * The exception the operation failed with, {@code null} if it succeeded.
+     */
+    @Label("Failure")
+    String failure;
+
+    /**
+     * Event of a creation of a file, including the choice of a new name.
+     */
+    @Name("github.magyarzoli.FileCreate")
+    @Label("File Create")
+    @Description("A file created by a FileHandler")
+    static final class Create
+    extends FileHandlerEvent {}
+
+    /**
+     * Event of a read of a file.
+     */
+    @Name("github.magyarzoli.FileRead")
+    @Label("File Read")
+    @Description("A file read by a FileHandler")
+    static final class Read
+    extends FileHandlerEvent {}
+
+    /**
+     * Event of an update of a file.
+     */
+    @Name("github.magyarzoli.FileUpdate")
+    @Label("File Update")
+    @Description("A file updated by a FileHandler")
+    static final class Update
+    extends FileHandlerEvent {}
+
+    /**
+     * Event of a deletion of a file.
+     */
+    @Name("github.magyarzoli.FileDelete")
+    @Label("File Delete")
+    @Description("A file deleted by a FileHandler")
+    static final class Delete
+    extends FileHandlerEvent {}
+}
@@ -0,0 +1,508 @@
+package github.magyarzoli;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Immutable I/O options of a {@link github.magyarzoli.FileHandler FileHandler}.
+ * The options are created with the {@link github.magyarzoli.FileHandlerOptions.Builder Builder} returned by
+ * {@link github.magyarzoli.FileHandlerOptions#builder() builder()}, every option not set keeps its default value.
+ * <ul>
+ *     <li>{@code bufferSize}: the size of the read and write buffers, <i>8192</i> by default.</li>
+ *     <li>{@code charset}: the charset used to decode and encode the content, the platform charset by default.</li>
+ *     <li>{@code directBuffers}: whether the byte buffers of the channels are allocated outside the heap,
+ *     {@code false} by default.</li>
+ *     <li>{@code atomicOverwrite}: whether overwriting writes a temporary file and moves it onto the file, so readers
+ *     and crashes never see a partially written file, {@code false} by default.</li>
+ *     <li>{@code durability}: how far the written content is forced to the storage device before a write returns,
+ *     {@link github.magyarzoli.FileHandlerOptions.Durability#NONE NONE} by default.</li>
+ *     <li>{@code readCache}: the {@link github.magyarzoli.ReadCache ReadCache} reads are served from, {@code null}
+ *     by default, reading the file every time.</li>
+ *     <li>{@code lazyRead}: whether the read values are loaded on their first request instead of by an explicit read,
+ *     and dropped by every write, {@code false} by default.</li>
+ *     <li>{@code persistentIndex}: whether the line index used for random access is saved to a sidecar file next to the
+ *     file, to be reused by later handlers and processes, {@code false} by default.</li>
+ *     <li>{@code parallelRead}: whether a read splits the file into ranges of lines, decoded in parallel by the
+ *     common {@link java.util.concurrent.ForkJoinPool ForkJoinPool}, {@code false} by default.</li>
+ *     <li>{@code pathLocks}: the {@link github.magyarzoli.PathLocks PathLocks} the operations lock the file with,
+ *     {@code null} by default, without locking.</li>
+ *     <li>{@code processLocks}: the {@link github.magyarzoli.ProcessLocks ProcessLocks} the operations lock the file
+ *     with against other processes, {@code null} by default, without locking.</li>
+ *     <li>{@code listener}: the {@link github.magyarzoli.FileOperationListener FileOperationListener} notified of
+ *     every operation, {@code null} by default, without measuring the operations.</li>
+ * </ul>
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class FileHandlerOptions {
+
+    /**
+     * The buffer size used when no other is set.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The options used by a {@code FileHandler} when no other is set.
+     */
+    public static final FileHandlerOptions DEFAULT = builder().build();
+
+    /**
+     * Store the size of the read and write buffers.
+     */
+    private final int bufferSize;
+
+    /**
+     * Store the charset of the content.
+     */
+    private final Charset charset;
+
+    /**
+     * Store whether the byte buffers are direct.
+     */
+    private final boolean directBuffers;
+
+    /**
+     * Store whether overwriting is atomic.
+     */
+    private final boolean atomicOverwrite;
+
+    /**
+     * Store the durability of the writes.
+     */
+    private final Durability durability;
+
+    /**
+     * Store the cache of the read lines.
+     */
+    private final ReadCache readCache;
+
+    /**
+     * Store whether reading is lazy.
+     */
+    private final boolean lazyRead;
+
+    /**
+     * Store whether the line index is saved to a sidecar file.
+     */
+    private final boolean persistentIndex;
+
+    /**
+     * Store whether reading is parallel.
+     */
+    private final boolean parallelRead;
+
+    /**
+     * Store the locks of the files.
+     */
+    private final PathLocks pathLocks;
+
+    /**
+     * Store the locks of the files against other processes.
+     */
+    private final ProcessLocks processLocks;
+
+    /**
+     * Store the listener of the operations.
+     */
+    private final FileOperationListener listener;
+
+    /**
+     * Constructor used by the {@code Builder}.
+     * @param       builder the builder holding the options.
+     */
+    private FileHandlerOptions(Builder builder) {
+        bufferSize = builder.bufferSize;
+        charset = builder.charset;
+        directBuffers = builder.directBuffers;
+        atomicOverwrite = builder.atomicOverwrite;
+        durability = builder.durability;
+        readCache = builder.readCache;
+        lazyRead = builder.lazyRead;
+        persistentIndex = builder.persistentIndex;
+        parallelRead = builder.parallelRead;
+        pathLocks = builder.pathLocks;
+        processLocks = builder.processLocks;
+        listener = builder.listener;
+    }
+
+    /**
+     * {@code builder} returns a new {@code Builder} with the default options.
+     * @return      a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * {@code toBuilder} returns a new {@code Builder} initialized with these options, to derive modified options.
+     * @return      a new builder holding these options.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .bufferSize(bufferSize)
+                .charset(charset)
+                .directBuffers(directBuffers)
+                .atomicOverwrite(atomicOverwrite)
+                .durability(durability)
+                .readCache(readCache)
+                .lazyRead(lazyRead)
+                .persistentIndex(persistentIndex)
+                .parallelRead(parallelRead)
+                .pathLocks(pathLocks)
+                .processLocks(processLocks)
+                .listener(listener);
+    }
+
+    /**
+     * {@code getBufferSize} returns the size of the read and write buffers.
+     * @return      the buffer size in chars for readers and writers, in bytes for channels.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * {@code getCharset} returns the charset used to decode and encode the content.
+     * @return      the charset.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * {@code isDirectBuffers} returns whether the byte buffers of the channels are allocated outside the heap.
+     * @return      {@code true} if direct buffers are used.
+     */
+    public boolean isDirectBuffers() {
+        return directBuffers;
+    }
+
+    /**
+     * {@code isAtomicOverwrite} returns whether overwriting writes a temporary file and moves it onto the file.
+     * @return      {@code true} if overwriting is atomic.
+     */
+    public boolean isAtomicOverwrite() {
+        return atomicOverwrite;
+    }
+
+    /**
+     * {@code getDurability} returns how far the written content is forced to the storage device.
+     * @return      the durability.
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * {@code getReadCache} returns the cache reads are served from.
+     * @return      the cache, or {@code null} if the file is read every time.
+     */
+    public ReadCache getReadCache() {
+        return readCache;
+    }
+
+    /**
+     * {@code isLazyRead} returns whether the read values are loaded on their first request.
+     * @return      {@code true} if reading is lazy.
+     */
+    public boolean isLazyRead() {
+        return lazyRead;
+    }
+
+    /**
+     * {@code isPersistentIndex} returns whether the line index is saved to a sidecar file.
+     * @return      {@code true} if the line index is persistent.
+     */
+    public boolean isPersistentIndex() {
+        return persistentIndex;
+    }
+
+    /**
+     * {@code isParallelRead} returns whether the ranges of the file are read in parallel.
+     * @return      {@code true} if reading is parallel.
+     */
+    public boolean isParallelRead() {
+        return parallelRead;
+    }
+
+    /**
+     * {@code getPathLocks} returns the locks the operations lock the file with.
+     * @return      the locks, or {@code null} if the operations do not lock.
+     */
+    public PathLocks getPathLocks() {
+        return pathLocks;
+    }
+
+    /**
+     * {@code getProcessLocks} returns the locks the operations lock the file with against other processes.
+     * @return      the locks, or {@code null} if the operations do not lock against other processes.
+     */
+    public ProcessLocks getProcessLocks() {
+        return processLocks;
+    }
+
+    /**
+     * {@code getListener} returns the listener notified of every operation.
+     * @return      the listener, or {@code null} if the operations are not measured.
+     */
+    public FileOperationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * {@code allocate} allocates a byte buffer of {@code bufferSize} bytes, direct or heap depending on {@code directBuffers}.
+     * @return      a new byte buffer.
+     */
+    ByteBuffer allocate() {
+        return directBuffers ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Builder of the {@code FileHandlerOptions}.
+     */
+    public static final class Builder {
+
+        /**
+         * Store the size of the read and write buffers.
+         */
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        /**
+         * Store the charset of the content.
+         */
+        private Charset charset = Charset.defaultCharset();
+
+        /**
+         * Store whether the byte buffers are direct.
+         */
+        private boolean directBuffers;
+
+        /**
+         * Store whether overwriting is atomic.
+         */
+        private boolean atomicOverwrite;
+
+        /**
+         * Store the durability of the writes.
+         */
+        private Durability durability = Durability.NONE;
+
+        /**
+         * Store the cache of the read lines.
+         */
+        private ReadCache readCache;
+
+        /**
+         * Store whether reading is lazy.
+         */
+        private boolean lazyRead;
+
+        /**
+         * Store whether the line index is saved to a sidecar file.
+         */
+        private boolean persistentIndex;
+
+        /**
+         * Store whether reading is parallel.
+         */
+        private boolean parallelRead;
+
+        /**
+         * Store the locks of the files.
+         */
+        private PathLocks pathLocks;
+
+        /**
+         * Store the locks of the files against other processes.
+         */
+        private ProcessLocks processLocks;
+
+        /**
+         * Store the listener of the operations.
+         */
+        private FileOperationListener listener;
+
+        /**
+         * Constructor used by {@code FileHandlerOptions}.
+         */
+        private Builder() {}
+
+        /**
+         * {@code bufferSize} sets the size of the read and write buffers.
+         * @param       bufferSize the buffer size, must be positive.
+         * @return      this builder.
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize > 0) {
+                this.bufferSize = bufferSize;
+            } else {
+                throw new IllegalArgumentException("Buffer size must be positive!");
+            }
+            return this;
+        }
+
+        /**
+         * {@code charset} sets the charset used to decode and encode the content.
+         * @param       charset the charset, must not be {@code null}.
+         * @return      this builder.
+         */
+        public Builder charset(Charset charset) {
+            if (charset != null) {
+                this.charset = charset;
+            } else {
+                throw new IllegalArgumentException("Charset takes a null value!");
+            }
+            return this;
+        }
+
+        /**
+         * {@code directBuffers} sets whether the byte buffers of the channels are allocated outside the heap.
+         * @param       directBuffers {@code true} to use direct buffers.
+         * @return      this builder.
+         */
+        public Builder directBuffers(boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
+        /**
+         * {@code atomicOverwrite} sets whether overwriting writes a temporary file next to the file, and moves it onto
+         * the file with an atomic rename, instead of truncating the file and writing it in place.
+         * @param       atomicOverwrite {@code true} to overwrite atomically.
+         * @return      this builder.
+         */
+        public Builder atomicOverwrite(boolean atomicOverwrite) {
+            this.atomicOverwrite = atomicOverwrite;
+            return this;
+        }
+
+        /**
+         * {@code durability} sets how far the written content is forced to the storage device before a write returns.
+         * @param       durability the durability, must not be {@code null}.
+         * @return      this builder.
+         */
+        public Builder durability(Durability durability) {
+            if (durability != null) {
+                this.durability = durability;
+            } else {
+                throw new IllegalArgumentException("Durability takes a null value!");
+            }
+            return this;
+        }
+
+        /**
+         * {@code readCache} sets the cache reads are served from, for example the process-wide
+         * {@link github.magyarzoli.ReadCache#shared() shared()} cache.
+         * @param       readCache the cache, or {@code null} to read the file every time.
+         * @return      this builder.
+         */
+        public Builder readCache(ReadCache readCache) {
+            this.readCache = readCache;
+            return this;
+        }
+
+        /**
+         * {@code lazyRead} sets whether the read values are loaded on their first request instead of by an explicit
+         * read, and dropped by every write, so they are never stale.
+         * @param       lazyRead {@code true} to read lazily.
+         * @return      this builder.
+         */
+        public Builder lazyRead(boolean lazyRead) {
+            this.lazyRead = lazyRead;
+            return this;
+        }
+
+        /**
+         * {@code persistentIndex} sets whether the line index used for random access is saved to a sidecar file, named
+         * after the file with an {@code .idx} suffix, and loaded from it while the size and the modification time of the
+         * file do not change.
+         * @param       persistentIndex {@code true} to save the line index.
+         * @return      this builder.
+         */
+        public Builder persistentIndex(boolean persistentIndex) {
+            this.persistentIndex = persistentIndex;
+            return this;
+        }
+
+        /**
+         * {@code parallelRead} sets whether a read splits the file into ranges aligned to the starts of lines, which
+         * are decoded and split into lines in parallel, and joined in the order of the file.
+         * Only charsets encoding the line terminators as the single bytes of ASCII, like UTF-8, are read in parallel,
+         * files of other charsets are read sequentially.
+         * @param       parallelRead {@code true} to read in parallel.
+         * @return      this builder.
+         */
+        public Builder parallelRead(boolean parallelRead) {
+            this.parallelRead = parallelRead;
+            return this;
+        }
+
+        /**
+         * {@code pathLocks} sets the locks the operations lock the file with, for example the process-wide
+         * {@link github.magyarzoli.PathLocks#shared() shared()} locks. The reads of a file run in parallel, its writes,
+         * creations and deletions run alone, among the handlers using the same locks.
+         * @param       pathLocks the locks, or {@code null} not to lock.
+         * @return      this builder.
+         */
+        public Builder pathLocks(PathLocks pathLocks) {
+            this.pathLocks = pathLocks;
+            return this;
+        }
+
+        /**
+         * {@code processLocks} sets the locks the operations lock the file with against other processes, for example
+         * the process-wide {@link github.magyarzoli.ProcessLocks#shared() shared()} locks. The reads of a file take a
+         * shared lock, its writes, creations and deletions an exclusive lock, which fail if not acquired within the
+         * timeout of the locks.
+         * @param       processLocks the locks, or {@code null} not to lock against other processes.
+         * @return      this builder.
+         */
+        public Builder processLocks(ProcessLocks processLocks) {
+            this.processLocks = processLocks;
+            return this;
+        }
+
+        /**
+         * {@code listener} sets the listener notified of every create, read, update and delete operation, for example
+         * a {@link github.magyarzoli.FileOperationStats FileOperationStats}. Without a listener, the operations are not
+         * measured at all.
+         * @param       listener the listener, or {@code null} not to measure the operations.
+         * @return      this builder.
+         */
+        public Builder listener(FileOperationListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * {@code build} creates the immutable options.
+         * @return      the options set on this builder.
+         */
+        public FileHandlerOptions build() {
+            return new FileHandlerOptions(this);
+        }
+    }
+
+    /**
+     * 3 named levels of durability, the higher the level, the longer a write takes.
+     */
+    public enum Durability {
+
+        /**
+         * The content is left to the operating system, a crash of the machine may lose the last writes.
+         */
+        NONE,
+
+        /**
+         * The content of the file is forced to the storage device before the write returns,
+         * the metadata of the file, like its modification time, is not.
+         */
+        DATA,
+
+        /**
+         * The content and the metadata of the file are forced to the storage device, and so is the directory after
+         * the file was created or replaced, so the new name survives a crash too.
+         */
+        FULL
+    }
+}
@@ -0,0 +1,198 @@
+package github.magyarzoli;
+
+import java.nio.file.Path;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+/**
+ * Immutable event of a finished operation of a {@link github.magyarzoli.FileHandler FileHandler}, passed to the
+ * {@link github.magyarzoli.FileOperationListener FileOperationListener} of its options.
+ * <ul>
+ *     <li>{@code operation}: the kind of the operation, create, read, update or delete.</li>
+ *     <li>{@code command}: the {@link github.magyarzoli.CreateFile.CreateCommand CreateCommand},
+ *     {@link github.magyarzoli.UpdateFile.UpdateCommand UpdateCommand} or
+ *     {@link github.magyarzoli.DeleteFile.DeleteCommand DeleteCommand} of the operation, {@code null} for reads.</li>
+ *     <li>{@code path}: the file of the operation, the created file if a new name was chosen.</li>
+ *     <li>{@code bytes}: the bytes written by an update, the size of the file for a read of the whole file, <i>0</i>
+ *     otherwise.</li>
+ *     <li>{@code lines}: the lines read, or the elements written by an update, <i>0</i> otherwise.</li>
+ *     <li>{@code durationNanos}: the time the operation took, including the time waiting for locks.</li>
+ *     <li>{@code failure}: the exception the operation failed with, {@code null} if it succeeded.</li>
+ * </ul>
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class FileOperationEvent {
+
+    /**
+     * Store the kind of the operation.
+     */
+    private final Operation operation;
+
+    /**
+     * Store the command of the operation.
+     */
+    private final Enum<?> command;
+
+    /**
+     * Store the file of the operation.
+     */
+    private final Path path;
+
+    /**
+     * Store the number of bytes moved.
+     */
+    private final long bytes;
+
+    /**
+     * Store the number of lines moved.
+     */
+    private final long lines;
+
+    /**
+     * Store the duration of the operation in nanoseconds.
+     */
+    private final long durationNanos;
+
+    /**
+     * Store the exception the operation failed with.
+     */
+    private final Throwable failure;
+
+    /**
+     * The constructor takes the details of the operation, the kind of the operation is derived from the {@code command}.
+     * @param       command the command of the operation, {@code null} for reads.
+     * @param       path the file of the operation.
+     * @param       bytes the number of bytes moved.
+     * @param       lines the number of lines moved.
+     * @param       durationNanos the duration of the operation in nanoseconds.
+     * @param       failure the exception the operation failed with, {@code null} if it succeeded.
+     */
+    FileOperationEvent(Enum<?> command, Path path, long bytes, long lines, long durationNanos, Throwable failure) {
+        this.operation = Operation.of(command);
+        this.command = command;
+        this.path = path;
+        this.bytes = bytes;
+        this.lines = lines;
+        this.durationNanos = durationNanos;
+        this.failure = failure;
+    }
+
+    /**
+     * {@code getOperation} returns the kind of the operation.
+     * @return      the operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * {@code getCommand} returns the command of the operation.
+     * @return      the {@code CreateCommand}, {@code UpdateCommand} or {@code DeleteCommand}, {@code null} for reads.
+     */
+    public Enum<?> getCommand() {
+        return command;
+    }
+
+    /**
+     * {@code getPath} returns the file of the operation.
+     * @return      the path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * {@code getBytes} returns the number of bytes moved by the operation.
+     * @return      the bytes written by an update, the size of the file for a read of the whole file, <i>0</i> otherwise.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * {@code getLines} returns the number of lines moved by the operation.
+     * @return      the lines read, or the elements written by an update, <i>0</i> otherwise.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * {@code getDurationNanos} returns the time the operation took.
+     * @return      the duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * {@code getFailure} returns the exception the operation failed with.
+     * @return      the exception, or {@code null} if the operation succeeded.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * {@code isSuccess} checks whether the operation succeeded.
+     * @return      {@code true} if the operation did not throw.
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ((command != null) ? ("(" + command + ")") : "") + " " + path
+                + ": " + bytes + " bytes, " + lines + " lines, " + durationNanos + " ns"
+                + ((failure != null) ? (", failed: " + failure) : "");
+    }
+
+    /**
+     * The kinds of the operations.
+     */
+    public enum Operation {
+
+        /**
+         * Creation of the file, with a {@code CreateCommand}.
+         */
+        CREATE,
+
+        /**
+         * Read of the file.
+         */
+        READ,
+
+        /**
+         * Update of the file, with an {@code UpdateCommand}.
+         */
+        UPDATE,
+
+        /**
+         * Deletion of the file, with a {@code DeleteCommand}.
+         */
+        DELETE;
+
+        /**
+         * {@code of} returns the kind of the operation of the {@code command}.
+         * @param       command the command of the operation, {@code null} for reads.
+         * @return      the kind of the operation.
+         * @throws      IllegalArgumentException if the command is of an unknown type.
+         */
+        static Operation of(Enum<?> command) {
+            if (command == null) {
+                return READ;
+            } else if (command instanceof CreateCommand) {
+                return CREATE;
+            } else if (command instanceof UpdateCommand) {
+                return UPDATE;
+            } else if (command instanceof DeleteCommand) {
+                return DELETE;
+            }
+            throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package github.magyarzoli;
+
+/**
+ * Listener of the operations of a {@link github.magyarzoli.FileHandler FileHandler}, set in the
+ * {@link github.magyarzoli.FileHandlerOptions options} to measure how long the operations take and how much data they move.
+ * <ul>
+ *     <li>{@code onOperation} is invoked on the thread of the operation once it finished, successfully or not, before
+ *     the operation returns or throws.</li>
+ *     <li>The stream of {@code readLines()} is reported when it is closed, with the lines consumed from it. The
+ *     mapped readers and the tailers of a handler are not reported.</li>
+ *     <li>Without a listener, the operations are not measured at all.</li>
+ * </ul>
+ * The listener is called by every handler sharing the options, concurrently, so it must be thread-safe, fast, and it
+ * must not throw. {@link github.magyarzoli.FileOperationStats FileOperationStats} is a built-in listener aggregating
+ * the events.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+@FunctionalInterface
+public interface FileOperationListener {
+
+    /**
+     * {@code onOperation} receives the event of a finished operation.
+     * @param       event the operation, its file, the bytes and lines it moved, its duration and its outcome.
+     */
+    void onOperation(FileOperationEvent event);
+}
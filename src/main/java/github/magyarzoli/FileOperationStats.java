@@ -0,0 +1,263 @@
+package github.magyarzoli;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import github.magyarzoli.FileOperationEvent.Operation;
+
+/**
+ * Built-in {@link github.magyarzoli.FileOperationListener FileOperationListener} aggregating the events of the
+ * operations by their kind, with low overhead.
+ * <ul>
+ *     <li>The operations, the failures, the bytes, the lines and the total duration are counted with
+ *     {@link java.util.concurrent.atomic.LongAdder LongAdder}, so concurrent operations do not contend on a counter.</li>
+ *     <li>The durations are recorded in a log-linear histogram, like an HDR histogram: every power of two is split into
+ *     {@code SUB_BUCKETS} equal buckets, so a percentile is exact within <i>12.5%</i> from a nanosecond to hundreds of
+ *     years, in a fixed array of counters.</li>
+ *     <li>The maximum duration is kept exactly.</li>
+ * </ul>
+ * The statistics are read while they are updated, so a read during operations is consistent only per counter.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class FileOperationStats
+implements FileOperationListener {
+
+    /**
+     * The number of bits of the buckets within a power of two.
+     */
+    private static final int SUB_BITS = 3;
+
+    /**
+     * The number of buckets within a power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * The number of buckets covering every non-negative {@code long}.
+     */
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+    /**
+     * Store the statistics of every kind of operation.
+     */
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * The constructor creates empty statistics.
+     */
+    public FileOperationStats() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    @Override
+    public void onOperation(FileOperationEvent event) {
+        Stats stat = stats.get(event.getOperation());
+        long duration = Math.max(0, event.getDurationNanos());
+        stat.count.increment();
+        if (!event.isSuccess()) {
+            stat.failures.increment();
+        }
+        stat.bytes.add(event.getBytes());
+        stat.lines.add(event.getLines());
+        stat.totalNanos.add(duration);
+        stat.maxNanos.accumulate(duration);
+        stat.histogram.incrementAndGet(bucket(duration));
+    }
+
+    /**
+     * {@code getCount} returns the number of operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the number of operations, including the failed ones.
+     */
+    public long getCount(Operation operation) {
+        return stats.get(operation).count.sum();
+    }
+
+    /**
+     * {@code getFailureCount} returns the number of failed operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the number of failed operations.
+     */
+    public long getFailureCount(Operation operation) {
+        return stats.get(operation).failures.sum();
+    }
+
+    /**
+     * {@code getBytes} returns the number of bytes moved by the operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the number of bytes.
+     */
+    public long getBytes(Operation operation) {
+        return stats.get(operation).bytes.sum();
+    }
+
+    /**
+     * {@code getLines} returns the number of lines moved by the operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the number of lines.
+     */
+    public long getLines(Operation operation) {
+        return stats.get(operation).lines.sum();
+    }
+
+    /**
+     * {@code getTotalNanos} returns the total duration of the operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the total duration in nanoseconds.
+     */
+    public long getTotalNanos(Operation operation) {
+        return stats.get(operation).totalNanos.sum();
+    }
+
+    /**
+     * {@code getAverageNanos} returns the average duration of the operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the average duration in nanoseconds, <i>0</i> without operations.
+     */
+    public long getAverageNanos(Operation operation) {
+        long count = getCount(operation);
+        return (count == 0) ? 0 : (getTotalNanos(operation) / count);
+    }
+
+    /**
+     * {@code getMaxNanos} returns the longest duration of the operations of the kind.
+     * @param       operation the kind of the operations.
+     * @return      the maximum duration in nanoseconds, <i>0</i> without operations.
+     */
+    public long getMaxNanos(Operation operation) {
+        return stats.get(operation).maxNanos.get();
+    }
+
+    /**
+     * {@code getPercentileNanos} returns the duration, which the {@code percentile} of the operations of the kind did
+     * not exceed.
+     * <ul>
+     *     <li>The bucket of the percentile is found by summing the counts of the buckets from the shortest durations.</li>
+     *     <li>The upper bound of the bucket is returned, at most the maximum duration, so the result is at most
+     *     <i>12.5%</i> more than the exact percentile.</li>
+     * </ul>
+     * @param       operation the kind of the operations.
+     * @param       percentile the percentile, between <i>0</i> and <i>100</i>.
+     * @return      the duration in nanoseconds, <i>0</i> without operations.
+     * @throws      IllegalArgumentException if the percentile is not between <i>0</i> and <i>100</i>.
+     */
+    public long getPercentileNanos(Operation operation, double percentile) {
+        if (!((percentile >= 0) && (percentile <= 100))) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+        }
+        Stats stat = stats.get(operation);
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = stat.histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total)), seen = 0;
+        long max = stat.maxNanos.get();
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            if (builder.length() > 0) {
+                builder.append('\n');
+            }
+            builder.append(operation).append(": count=").append(getCount(operation))
+                    .append(", failures=").append(getFailureCount(operation))
+                    .append(", bytes=").append(getBytes(operation))
+                    .append(", lines=").append(getLines(operation))
+                    .append(", avg=").append(getAverageNanos(operation))
+                    .append(" ns, p50=").append(getPercentileNanos(operation, 50))
+                    .append(" ns, p99=").append(getPercentileNanos(operation, 99))
+                    .append(" ns, max=").append(getMaxNanos(operation)).append(" ns");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * {@code bucket} returns the bucket of the {@code value}: values below {@code SUB_BUCKETS} have a bucket each,
+     * larger values share a bucket within the {@code SUB_BUCKETS} equal parts of their power of two.
+     * @param       value the non-negative value.
+     * @return      the index of the bucket.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+    }
+
+    /**
+     * {@code upperBound} returns the largest value of the {@code bucket}.
+     * @param       bucket the index of the bucket.
+     * @return      the largest value falling into the bucket.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long lowest = ((long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The statistics of a kind of operation.
+     */
+    private static final class Stats {
+
+        /**
+         * Store the number of operations.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Store the number of failed operations.
+         */
+        private final LongAdder failures = new LongAdder();
+
+        /**
+         * Store the number of bytes moved.
+         */
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * Store the number of lines moved.
+         */
+        private final LongAdder lines = new LongAdder();
+
+        /**
+         * Store the total duration in nanoseconds.
+         */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /**
+         * Store the longest duration in nanoseconds.
+         */
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Store the number of durations falling into every bucket.
+         */
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    }
+}
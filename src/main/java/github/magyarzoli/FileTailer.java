@@ -0,0 +1,467 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Class following a file that other processes append to, delivering only the new lines to a callback.
+ * <ul>
+ *     <li>The offset of the bytes already read is remembered, every check reads only the bytes appended since, with
+ *     an open {@link java.nio.channels.FileChannel FileChannel}.</li>
+ *     <li>The lines are terminated the same way as by {@link java.io.BufferedReader#readLine() readLine()}:
+ *     by {@code "\n"}, {@code "\r"} or {@code "\r\n"}. A line is delivered only when its terminator was written,
+ *     the bytes of an unfinished line are kept until the rest of it arrives.</li>
+ *     <li>A file shorter than the offset was truncated, it is read again from its start.</li>
+ *     <li>A file with a different file key than the open one was rotated: the rest of the old file is read, its
+ *     unfinished line is delivered, and the new file is read from its start.</li>
+ *     <li>The directory of the file is watched with a {@link java.nio.file.WatchService WatchService}, so new lines
+ *     are delivered as soon as they are written. The file is also checked every {@code pollInterval}, which is the
+ *     only way of detecting changes where the file system does not support watching.</li>
+ * </ul>
+ * The lines are delivered on a daemon thread of the tailer, in the order of the file, once {@link #start() start()}
+ * is called. Alternatively {@link #poll() poll()} can be called to check the file on the calling thread.
+ * The offset to resume from later is returned by {@link #getOffset() getOffset()}. The charset must encode the line
+ * terminators as the single bytes of ASCII, like UTF-8.
+ * The tailer holds an open file and a thread, it must be closed when no longer used.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileTailer
+implements AutoCloseable {
+
+    /**
+     * The default interval of the checks of the file in milliseconds.
+     */
+    public static final long DEFAULT_POLL_INTERVAL = 250;
+
+    /**
+     * Counts the created threads, to give them unique names.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Store the followed file.
+     */
+    private final Path path;
+
+    /**
+     * Store the charset of the file.
+     */
+    private final Charset charset;
+
+    /**
+     * Store the callback the lines are delivered to.
+     */
+    private final Consumer<? super String> action;
+
+    /**
+     * Store the buffer the appended bytes are read into.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Store the interval of the checks of the file in milliseconds.
+     */
+    private volatile long pollInterval = DEFAULT_POLL_INTERVAL;
+
+    /**
+     * Store the open file, {@code null} before the first check and while the file does not exist.
+     */
+    private FileChannel channel;
+
+    /**
+     * Store the file key of the open file, {@code null} if the platform has none.
+     */
+    private Object fileKey;
+
+    /**
+     * Store the offset of the bytes read from the open file.
+     */
+    private long offset;
+
+    /**
+     * Store the bytes of the unfinished line.
+     */
+    private byte[] pending = new byte[128];
+
+    /**
+     * Store the number of bytes of the unfinished line.
+     */
+    private int pendingLength;
+
+    /**
+     * Store whether the last byte read was a {@code "\r"}, so a following {@code "\n"} does not end another line.
+     */
+    private boolean afterReturn;
+
+    /**
+     * Store the number of delivered lines.
+     */
+    private long lineCount;
+
+    /**
+     * Store the thread following the file, {@code null} if not started.
+     */
+    private Thread thread;
+
+    /**
+     * Store the service watching the directory of the file, {@code null} if not supported.
+     */
+    private WatchService watchService;
+
+    /**
+     * Store whether the tailer was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Store the exception that stopped the thread, {@code null} while it runs.
+     */
+    private volatile RuntimeException failure;
+
+    /**
+     * The constructor takes the file, its charset, the offset to start from, and the callback of the lines.
+     * @param       path the followed file.
+     * @param       charset the charset of the file, it must encode the line terminators as the single bytes of ASCII.
+     * @param       offset the offset of the first byte to read, <i>0</i> for the start of the file, a previous
+     *              {@link #getOffset() getOffset()} to resume. An offset beyond the end of the file starts from its start.
+     * @param       action the callback the lines are delivered to, without their line terminators.
+     */
+    public FileTailer(Path path, Charset charset, long offset, Consumer<? super String> action) {
+        if ((path == null) || (charset == null) || (action == null)) {
+            throw new IllegalArgumentException("Tailer takes a null value!");
+        }
+        if (!LineIndex.supports(charset)) {
+            throw new IllegalArgumentException("Charset is not supported by the tailer: " + charset);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative!");
+        }
+        this.path = path;
+        this.charset = charset;
+        this.offset = offset;
+        this.action = action;
+        this.buffer = ByteBuffer.allocate(FileHandlerOptions.DEFAULT.getBufferSize());
+    }
+
+    /**
+     * {@code getPath} returns the followed file.
+     * @return      the path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * {@code getPollInterval} returns the interval of the checks of the file.
+     * @return      the interval in milliseconds.
+     */
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * {@code setPollInterval} sets the interval of the checks of the file, used when no change is watched.
+     * @param       pollInterval the interval in milliseconds, must be positive.
+     */
+    public void setPollInterval(long pollInterval) {
+        if (pollInterval <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive!");
+        }
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * {@code getOffset} returns the offset of the first byte not delivered yet, the start of the unfinished line.
+     * A new tailer created with this offset continues after the last delivered line. If the last delivered line ended
+     * with a {@code "\r"}, the new tailer finds it before the offset when it opens the file, so a {@code "\n"}
+     * following it does not end another line.
+     * @return      the offset in bytes.
+     */
+    public synchronized long getOffset() {
+        return offset - pendingLength;
+    }
+
+    /**
+     * {@code getLineCount} returns the number of delivered lines.
+     * @return      the number of lines.
+     */
+    public synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * {@code getFailure} returns the exception that stopped the thread of the tailer, thrown by the file or the callback.
+     * @return      the exception, or {@code null} if the thread did not fail.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * {@code isRunning} checks whether the thread of the tailer follows the file.
+     * @return      {@code true} if started, not closed and not failed.
+     */
+    public synchronized boolean isRunning() {
+        return (thread != null) && thread.isAlive() && !closed;
+    }
+
+    /**
+     * {@code start} starts the daemon thread delivering the lines.
+     * <ul>
+     *     <li>The directory of the file is registered with a {@code WatchService}, if the file system supports it.</li>
+     *     <li>The thread checks the file, then waits for a change of the directory, at most {@code pollInterval}.</li>
+     *     <li>If the file or the callback throws an exception, the thread stops, and the exception is returned by
+     *     {@code getFailure()}.</li>
+     * </ul>
+     * @return      this tailer.
+     * @throws      IllegalStateException if the tailer was already started or closed.
+     */
+    public synchronized FileTailer start() {
+        if ((thread != null) || closed) {
+            throw new IllegalStateException("Tailer already started or closed!");
+        }
+        watchService = watch(path.toAbsolutePath().getParent());
+        thread = new Thread(this::follow, ("file-handler-tail-" + THREAD_COUNT.incrementAndGet()));
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * {@code poll} checks the file once, and delivers the lines appended since the previous check on the calling thread.
+     * <ul>
+     *     <li>If the file does not exist, the open file, if any, is read to its end.</li>
+     *     <li>If the file is shorter than the offset, it is read again from its start.</li>
+     *     <li>If the file was replaced by another one, the open file is read to its end and closed, and the new one is
+     *     read from its start.</li>
+     *     <li>If any {@code IOException} occurs during file reading, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @return      the number of lines delivered.
+     */
+    public synchronized int poll() {
+        try {
+            int delivered = 0;
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return (channel == null) ? 0 : read();
+            }
+            if ((channel != null) && !Objects.equals(fileKey, attributes.fileKey())) {
+                delivered += read() + flushPending();
+                closeChannel();
+                offset = 0;
+            }
+            if (channel == null) {
+                try {
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                } catch (NoSuchFileException e) {
+                    return delivered;
+                }
+                fileKey = attributes.fileKey();
+                if (offset > channel.size()) {
+                    offset = 0;
+                }
+                afterReturn = endsWithReturn();
+            } else if (channel.size() < offset) {
+                offset = 0;
+                pendingLength = 0;
+                afterReturn = false;
+            }
+            return delivered + read();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@code close} stops the thread of the tailer, waits for it to finish, and closes the file.
+     * The unfinished line is not delivered.
+     */
+    @Override
+    public void close() {
+        Thread running;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = thread;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
+        if (running != null) {
+            running.interrupt();
+            boolean interrupted = false;
+            while (running.isAlive()) {
+                try {
+                    running.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                closeChannel();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * {@code follow} is the loop of the thread of the tailer, it checks the file, then waits for a change of the
+     * directory or the {@code pollInterval}, until the tailer is closed.
+     */
+    private void follow() {
+        try {
+            while (!closed) {
+                poll();
+                if (watchService != null) {
+                    WatchKey key = watchService.poll(pollInterval, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                } else {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        } catch (RuntimeException e) {
+            if (!closed) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * {@code endsWithReturn} checks whether the byte before the offset of the open file is a {@code "\r"}, the end of
+     * a line delivered before the tailer resumed from the offset.
+     * @return      {@code true} if the byte before the offset is a {@code "\r"}.
+     * @throws      IOException if the file cannot be read.
+     */
+    private boolean endsWithReturn()
+    throws IOException {
+        if (offset == 0) {
+            return false;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        return (channel.read(last, (offset - 1)) == 1) && (last.get(0) == '\r');
+    }
+
+    /**
+     * {@code read} reads the bytes of the open file from the offset to its end, and delivers the finished lines.
+     * @return      the number of lines delivered.
+     * @throws      IOException if the file cannot be read.
+     */
+    private int read()
+    throws IOException {
+        int delivered = 0;
+        buffer.clear();
+        int read;
+        while ((read = channel.read(buffer, offset)) > 0) {
+            offset += read;
+            buffer.flip();
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (afterReturn) {
+                    afterReturn = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if ((b == '\n') || (b == '\r')) {
+                    afterReturn = (b == '\r');
+                    deliver();
+                    delivered++;
+                } else {
+                    if (pendingLength == pending.length) {
+                        pending = Arrays.copyOf(pending, (pendingLength * 2));
+                    }
+                    pending[pendingLength++] = b;
+                }
+            }
+            buffer.clear();
+        }
+        return delivered;
+    }
+
+    /**
+     * {@code flushPending} delivers the unfinished line of a file that will not grow anymore, if it has any byte.
+     * @return      the number of lines delivered.
+     */
+    private int flushPending() {
+        afterReturn = false;
+        if (pendingLength == 0) {
+            return 0;
+        }
+        deliver();
+        return 1;
+    }
+
+    /**
+     * {@code deliver} decodes the bytes of the finished line, and passes the line to the callback.
+     */
+    private void deliver() {
+        String line = new String(pending, 0, pendingLength, charset);
+        pendingLength = 0;
+        lineCount++;
+        action.accept(line);
+    }
+
+    /**
+     * {@code closeChannel} closes the open file, if any, and drops the unfinished line.
+     * @throws      IOException if the file cannot be closed.
+     */
+    private void closeChannel()
+    throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            fileKey = null;
+        }
+        pendingLength = 0;
+        afterReturn = false;
+    }
+
+    /**
+     * {@code watch} registers the {@code directory} with a new {@code WatchService} of its file system.
+     * @param       directory the directory of the file.
+     * @return      the service, or {@code null} if the file system does not support watching.
+     */
+    private static WatchService watch(Path directory) {
+        try {
+            WatchService service = directory.getFileSystem().newWatchService();
+            try {
+                directory.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                return service;
+            } catch (IOException | UnsupportedOperationException e) {
+                service.close();
+                return null;
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package github.magyarzoli;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class batching frequent small appends to a file into group commits.
+ * The appends of concurrent callers are queued, and a single thread of the writer appends every queued update to the
+ * file of a {@link github.magyarzoli.FileHandler FileHandler} with one write, so the file is opened, written and forced
+ * once per batch instead of once per call.
+ * <ul>
+ *     <li>An update is joined with the delimiter of the handler on the calling thread, when it is queued, so later
+ *     changes of the array or the collection do not affect it.</li>
+ *     <li>A batch is committed when {@code maxBatchSize} updates are queued, or {@code maxDelay} milliseconds after
+ *     its first update was queued, whichever comes first. Updates queued while a batch is being written wait for the
+ *     next batch.</li>
+ *     <li>The file has the same content as after appending the updates one by one with
+ *     {@link github.magyarzoli.UpdateFile.UpdateCommand#UPDATE_FILE_TO_ENDING_CONTENTS UPDATE_FILE_TO_ENDING_CONTENTS},
+ *     in the order they were queued.</li>
+ *     <li>Every call returns a {@link java.util.concurrent.CompletableFuture CompletableFuture}, completed when the
+ *     batch of the update is written, with the {@code durability} of the options of the handler, or completed
+ *     exceptionally with the exception or error of the write. A failed batch does not stop the writer.</li>
+ * </ul>
+ * The handler must not be used by others while the writer is open. The writer holds a thread, it must be closed when
+ * no longer used, closing it commits the queued updates.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class GroupCommitWriter
+implements AutoCloseable {
+
+    /**
+     * The default time a batch waits for more updates, in milliseconds.
+     */
+    public static final long DEFAULT_MAX_DELAY = 2;
+
+    /**
+     * The default maximum number of updates of a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    /**
+     * Counts the created threads, to give them unique names.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Store the handler writing the file.
+     */
+    private final FileHandler handler;
+
+    /**
+     * Store the time a batch waits for more updates, in nanoseconds.
+     */
+    private final long maxDelayNanos;
+
+    /**
+     * Store the maximum number of updates of a batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Store the queued updates, guarded by the writer.
+     */
+    private List<Request> queue = new ArrayList<>();
+
+    /**
+     * Store the time the first queued update was queued.
+     */
+    private long firstQueued;
+
+    /**
+     * Store whether the writer was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Store the thread committing the batches.
+     */
+    private final Thread thread;
+
+    /**
+     * Store the number of committed batches.
+     */
+    private final LongAdder commits = new LongAdder();
+
+    /**
+     * Store the number of committed updates.
+     */
+    private final LongAdder updates = new LongAdder();
+
+    /**
+     * The constructor takes the handler of the file, and commits with the default window.
+     * @param       handler the handler writing the file.
+     * @see         github.magyarzoli.GroupCommitWriter#GroupCommitWriter(FileHandler, long, int) GroupCommitWriter(FileHandler, long, int)
+     */
+    public GroupCommitWriter(FileHandler handler) {
+        this(handler, DEFAULT_MAX_DELAY, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * The constructor takes the handler of the file, and the time and size window of a batch.
+     * @param       handler the handler writing the file.
+     * @param       maxDelay the time a batch waits for more updates in milliseconds, <i>0</i> commits as soon as the
+     *              previous batch is written.
+     * @param       maxBatchSize the maximum number of updates of a batch, must be positive.
+     */
+    public GroupCommitWriter(FileHandler handler, long maxDelay, int maxBatchSize) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler takes a null value!");
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Max delay must not be negative!");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive!");
+        }
+        this.handler = handler;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.maxBatchSize = maxBatchSize;
+        this.thread = new Thread(this::commitLoop, ("file-handler-commit-" + THREAD_COUNT.incrementAndGet()));
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * {@code getMaxDelay} returns the time a batch waits for more updates.
+     * @return      the delay in milliseconds.
+     */
+    public long getMaxDelay() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDelayNanos);
+    }
+
+    /**
+     * {@code getMaxBatchSize} returns the maximum number of updates of a batch.
+     * @return      the number of updates.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * {@code getCommitCount} returns the number of committed batches, every batch is a single write of the file.
+     * @return      the number of batches.
+     */
+    public long getCommitCount() {
+        return commits.sum();
+    }
+
+    /**
+     * {@code getUpdateCount} returns the number of committed updates.
+     * @return      the number of updates.
+     */
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    /**
+     * {@code append} queues the elements of the {@code update} array to be appended to the end of the file,
+     * separated by the delimiter of the handler.
+     * @param       update the elements to append.
+     * @param       <T> represents the type of elements in the {@code update} array.
+     * @return      a future completed when the update is written.
+     * @throws      IllegalStateException if the writer is closed.
+     */
+    public <T> CompletableFuture<Void> append(T[] update) {
+        if (update == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        StringBuilder text = new StringBuilder();
+        String delimiter = handler.getDelimiter();
+        for (int i = 0; i < update.length; i++) {
+            if (i > 0) {
+                text.append(delimiter);
+            }
+            text.append(update[i]);
+        }
+        return enqueue(text.toString());
+    }
+
+    /**
+     * {@code append} queues the elements of the {@code update} collection to be appended to the end of the file,
+     * separated by the delimiter of the handler.
+     * @param       update the elements to append.
+     * @param       <T> represents the type of elements in the {@code update} collection.
+     * @return      a future completed when the update is written.
+     * @throws      IllegalStateException if the writer is closed.
+     */
+    public <T> CompletableFuture<Void> append(Collection<T> update) {
+        if (update == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        StringBuilder text = new StringBuilder();
+        String delimiter = handler.getDelimiter();
+        boolean first = true;
+        for (T element : update) {
+            if (!first) {
+                text.append(delimiter);
+            }
+            text.append(element);
+            first = false;
+        }
+        return enqueue(text.toString());
+    }
+
+    /**
+     * {@code close} stops accepting updates, commits the queued ones, and waits for the thread of the writer to finish.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@code enqueue} queues the joined update, and wakes the thread of the writer.
+     * @param       text the update joined with the delimiter.
+     * @return      a future completed when the update is written.
+     * @throws      IllegalStateException if the writer is closed.
+     */
+    private synchronized CompletableFuture<Void> enqueue(String text) {
+        if (closed) {
+            throw new IllegalStateException("Writer closed!");
+        }
+        Request request = new Request(text);
+        if (queue.isEmpty()) {
+            firstQueued = System.nanoTime();
+        }
+        queue.add(request);
+        if ((queue.size() == 1) || (queue.size() >= maxBatchSize)) {
+            notifyAll();
+        }
+        return request.future;
+    }
+
+    /**
+     * {@code commitLoop} is the loop of the thread of the writer, it takes the next batch and commits it, until the
+     * writer is closed and the queue is empty.
+     * If the thread ends otherwise, by an error thrown outside of a write, the writer is closed, so no update is queued
+     * that would never be written, and the futures of the queued updates are completed exceptionally.
+     */
+    private void commitLoop() {
+        Throwable failure = null;
+        try {
+            List<Request> batch;
+            while ((batch = nextBatch()) != null) {
+                commit(batch);
+            }
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure != null) {
+                List<Request> pending;
+                synchronized (this) {
+                    closed = true;
+                    pending = queue;
+                    queue = new ArrayList<>();
+                }
+                for (Request request : pending) {
+                    request.future.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code nextBatch} waits until a batch is due, and takes it from the queue.
+     * A batch is due if the queue holds {@code maxBatchSize} updates, its first update waited {@code maxDelay}, or the
+     * writer is closed.
+     * @return      the batch, or {@code null} if the writer is closed and the queue is empty.
+     */
+    private synchronized List<Request> nextBatch() {
+        while (true) {
+            if (queue.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                waitQuietly(0);
+                continue;
+            }
+            long remaining = maxDelayNanos - (System.nanoTime() - firstQueued);
+            if ((queue.size() >= maxBatchSize) || (remaining <= 0) || closed) {
+                break;
+            }
+            waitQuietly(remaining);
+        }
+        List<Request> batch;
+        if (queue.size() <= maxBatchSize) {
+            batch = queue;
+            queue = new ArrayList<>();
+        } else {
+            batch = new ArrayList<>(queue.subList(0, maxBatchSize));
+            queue.subList(0, maxBatchSize).clear();
+            firstQueued = System.nanoTime();
+        }
+        return batch;
+    }
+
+    /**
+     * {@code waitQuietly} waits for a notification of the writer, the caller holds the lock.
+     * The thread of the writer is not interrupted by others, an interrupt only ends the wait early.
+     * @param       nanos the maximum time to wait, <i>0</i> to wait without a limit.
+     */
+    private void waitQuietly(long nanos) {
+        try {
+            if (nanos == 0) {
+                wait();
+            } else {
+                TimeUnit.NANOSECONDS.timedWait(this, nanos);
+            }
+        } catch (InterruptedException ignored) {}
+    }
+
+    /**
+     * {@code commit} appends the updates of the {@code batch} with a single write of the handler, and completes their futures.
+     * Anything thrown by the write, an error too, completes the futures of the batch exceptionally, and the thread of
+     * the writer goes on with the next batch.
+     * @param       batch the updates in the order they were queued.
+     */
+    private void commit(List<Request> batch) {
+        List<String> texts = new ArrayList<>(batch.size());
+        for (Request request : batch) {
+            texts.add(request.text);
+        }
+        try {
+            handler.appendTexts(texts);
+        } catch (Throwable e) {
+            for (Request request : batch) {
+                request.future.completeExceptionally(e);
+            }
+            return;
+        }
+        commits.increment();
+        updates.add(batch.size());
+        for (Request request : batch) {
+            request.future.complete(null);
+        }
+    }
+
+    /**
+     * A queued update and the future of its caller.
+     */
+    private static final class Request {
+
+        /**
+         * Store the update joined with the delimiter.
+         */
+        private final String text;
+
+        /**
+         * Store the future completed when the update is written.
+         */
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * The constructor takes the joined update.
+         * @param       text the update joined with the delimiter.
+         */
+        private Request(String text) {
+            this.text = text;
+        }
+    }
+}
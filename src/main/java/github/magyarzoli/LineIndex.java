@@ -0,0 +1,394 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index of the byte offsets of the lines of a file, built in one sequential pass over the bytes, without decoding them.
+ * <ul>
+ *     <li>The offset of every {@code stride}-th line is kept, so the index of a file of <i>n</i> lines takes
+ *     <i>8n / stride</i> bytes.</li>
+ *     <li>The lines are terminated the same way as by {@link java.io.BufferedReader#readLine() readLine()}:
+ *     by {@code "\n"}, {@code "\r"} or {@code "\r\n"}, and a terminator at the end of the file does not start a new line.</li>
+ *     <li>The modification time and the size of the file are kept, to check that the file did not change since.</li>
+ *     <li>The index can be saved to a sidecar file next to the file, and loaded by a later process, as long as the
+ *     modification time and the size of the file did not change.</li>
+ * </ul>
+ * The line terminators can be found in the bytes only for charsets encoding them as the single bytes of ASCII,
+ * which is checked by {@link #supports(Charset) supports(Charset)}.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+final class LineIndex {
+
+    /**
+     * The suffix of the sidecar file of an index.
+     */
+    static final String SIDECAR_SUFFIX = ".idx";
+
+    /**
+     * The first four bytes of a sidecar file.
+     */
+    private static final int MAGIC = 0x46484958;
+
+    /**
+     * The version of the format of a sidecar file.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the header of a sidecar file: the magic, the version, the stride, the size and the modification time
+     * of the file, the number of lines and the number of offsets.
+     */
+    private static final int HEADER_SIZE = 40;
+
+    /**
+     * Store the number of lines between two offsets.
+     */
+    private final int stride;
+
+    /**
+     * Store the offset of every {@code stride}-th line.
+     */
+    private final long[] offsets;
+
+    /**
+     * Store the number of lines.
+     */
+    private final long lineCount;
+
+    /**
+     * Store the size of the file.
+     */
+    private final long size;
+
+    /**
+     * Store the modification time of the file.
+     */
+    private final FileTime lastModified;
+
+    /**
+     * Constructor used by {@code build}.
+     * @param       stride the number of lines between two offsets.
+     * @param       offsets the offset of every {@code stride}-th line.
+     * @param       lineCount the number of lines.
+     * @param       size the size of the file.
+     * @param       lastModified the modification time of the file.
+     */
+    private LineIndex(int stride, long[] offsets, long lineCount, long size, FileTime lastModified) {
+        this.stride = stride;
+        this.offsets = offsets;
+        this.lineCount = lineCount;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * {@code supports} checks whether the line terminators of the {@code charset} can be found in the bytes, that is
+     * the charset encodes {@code "\n"} and {@code "\r"} as the single bytes of ASCII, and those bytes are never part of
+     * the encoding of another character, like in UTF-8 and the single byte charsets.
+     * @param       charset the charset of the file.
+     * @return      {@code true} if the lines of the file can be indexed without decoding.
+     */
+    static boolean supports(Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        return Arrays.equals(new byte[] {'\n', '\r', 'a'}, "\n\ra".getBytes(charset));
+    }
+
+    /**
+     * {@code build} scans the file specified by {@code path} and indexes its lines.
+     * The bytes are read into the {@code buffer}, which is cleared before use, and a byte at the start of a line
+     * records its offset if the number of the line is a multiple of the {@code stride}.
+     * @param       path the file.
+     * @param       stride the number of lines between two offsets, must be positive.
+     * @param       buffer the buffer the bytes are read into.
+     * @return      the index of the lines.
+     * @throws      IOException if the file does not exist or cannot be read.
+     */
+    static LineIndex build(Path path, int stride, ByteBuffer buffer)
+    throws IOException {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("Stride must be positive!");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long[] offsets = new long[16];
+            int count = 0;
+            long lines = 0, position = 0;
+            boolean lineStart = true, afterReturn = false;
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (afterReturn) {
+                        afterReturn = false;
+                        if (b == '\n') {
+                            position++;
+                            continue;
+                        }
+                    }
+                    if (lineStart) {
+                        if ((lines % stride) == 0) {
+                            if (count == offsets.length) {
+                                offsets = Arrays.copyOf(offsets, (count * 2));
+                            }
+                            offsets[count++] = position;
+                        }
+                        lines++;
+                        lineStart = false;
+                    }
+                    if (b == '\n') {
+                        lineStart = true;
+                    } else if (b == '\r') {
+                        lineStart = true;
+                        afterReturn = true;
+                    }
+                    position++;
+                }
+                buffer.clear();
+            }
+            return new LineIndex(stride, Arrays.copyOf(offsets, count), lines, position, attributes.lastModifiedTime());
+        }
+    }
+
+    /**
+     * {@code estimate} estimates the number of lines of the file specified by {@code path}, from the lines of a sample
+     * read from the start of the file.
+     * The bytes of the sample are read into the {@code buffer}, which is cleared before use, the number of lines in the
+     * sample is scaled to the size of the file. If the sample covers the whole file, the number of lines is exact.
+     * @param       path the file.
+     * @param       buffer the buffer the sample is read into, its capacity is the size of the sample.
+     * @return      the estimated number of lines.
+     * @throws      IOException if the file does not exist or cannot be read.
+     */
+    static long estimate(Path path, ByteBuffer buffer)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            buffer.clear();
+            while (buffer.hasRemaining() && (channel.read(buffer) != -1)) {}
+            buffer.flip();
+            int sampled = buffer.remaining();
+            if (sampled == 0) {
+                return 0;
+            }
+            long lines = 0;
+            boolean afterReturn = false;
+            for (int i = 0; i < sampled; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    if (!afterReturn) {
+                        lines++;
+                    }
+                    afterReturn = false;
+                } else {
+                    afterReturn = (b == '\r');
+                    if (afterReturn) {
+                        lines++;
+                    }
+                }
+            }
+            byte last = buffer.get(sampled - 1);
+            if ((sampled == size) && (last != '\n') && (last != '\r')) {
+                lines++;
+            }
+            return (sampled == size) ? lines : Math.max(1, (long) (((double) lines * size) / sampled));
+        }
+    }
+
+    /**
+     * {@code sidecar} returns the sidecar file of the index of the file specified by {@code path}, the file name with
+     * the {@code SIDECAR_SUFFIX} appended, in the same directory.
+     * @param       path the file.
+     * @return      the sidecar file.
+     */
+    static Path sidecar(Path path) {
+        return path.resolveSibling(path.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * {@code load} loads the index saved in the {@code sidecar} file, if it still describes the file specified by {@code path}.
+     * <ul>
+     *     <li>The header is checked to be of the same format and {@code stride}.</li>
+     *     <li>The size and the modification time in the header are checked to be the current ones of the file.</li>
+     *     <li>The size of the sidecar file is checked to match the number of offsets in the header.</li>
+     * </ul>
+     * @param       sidecar the sidecar file.
+     * @param       path the indexed file.
+     * @param       stride the stride of the index required.
+     * @return      the index, or {@code null} if the sidecar file does not exist, is not valid, or the file changed since.
+     * @throws      IOException if the sidecar file or the attributes of the file cannot be read.
+     */
+    static LineIndex load(Path sidecar, Path path, int stride)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && (channel.read(header) != -1)) {}
+            if (header.hasRemaining()) {
+                return null;
+            }
+            header.flip();
+            if ((header.getInt() != MAGIC) || (header.getInt() != VERSION) || (header.getInt() != stride)) {
+                return null;
+            }
+            long size = header.getLong();
+            FileTime lastModified = FileTime.from(header.getLong(), TimeUnit.NANOSECONDS);
+            long lineCount = header.getLong();
+            int count = header.getInt();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if ((size != attributes.size()) || !lastModified.equals(attributes.lastModifiedTime())
+                    || (count < 0) || (count > ((Integer.MAX_VALUE - 8) / 8)) || (channel.size() != (HEADER_SIZE + (8L * count)))) {
+                return null;
+            }
+            long[] offsets = new long[count];
+            ByteBuffer body = ByteBuffer.allocate(8 * 1024);
+            int loaded = 0;
+            while ((loaded < count) && (channel.read(body) != -1)) {
+                body.flip();
+                while ((body.remaining() >= 8) && (loaded < count)) {
+                    offsets[loaded++] = body.getLong();
+                }
+                body.compact();
+            }
+            if (loaded < count) {
+                return null;
+            }
+            return new LineIndex(stride, offsets, lineCount, size, lastModified);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * {@code save} saves the index to the {@code sidecar} file.
+     * The index is written to a temporary file next to the sidecar file, which replaces the sidecar file with an atomic
+     * move where supported, so a concurrent {@code load} never sees a partially written index.
+     * @param       sidecar the sidecar file.
+     * @throws      IOException if the sidecar file cannot be written.
+     */
+    void save(Path sidecar)
+    throws IOException {
+        Path absolute = sidecar.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), (absolute.getFileName() + "."), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (8 * 1024));
+                buffer.putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(stride)
+                        .putLong(size)
+                        .putLong(lastModified.to(TimeUnit.NANOSECONDS))
+                        .putLong(lineCount)
+                        .putInt(offsets.length);
+                for (long offset : offsets) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(offset);
+                }
+                drain(channel, buffer);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@code drain} writes the content of the {@code buffer} to the {@code channel}, and clears the buffer.
+     * @param       channel the channel to write to.
+     * @param       buffer the buffer to write.
+     * @throws      IOException if the channel cannot be written.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer)
+    throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * {@code getStride} returns the number of lines between two offsets.
+     * @return      the stride.
+     */
+    int getStride() {
+        return stride;
+    }
+
+    /**
+     * {@code getLineCount} returns the number of lines.
+     * @return      the number of lines.
+     */
+    long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * {@code getSize} returns the size of the indexed file.
+     * @return      the size in bytes.
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * {@code getOffset} returns the offset of the {@code block}-th indexed line, the line {@code block * stride}.
+     * @param       block the index of the offset.
+     * @return      the offset of the line in bytes.
+     */
+    long getOffset(int block) {
+        return offsets[block];
+    }
+
+    /**
+     * {@code getEnd} returns the offset after the last byte of the {@code block}, the offset of the next block, or the
+     * size of the file for the last block.
+     * @param       block the index of the offset.
+     * @return      the end of the block in bytes.
+     */
+    long getEnd(int block) {
+        return ((block + 1) < offsets.length) ? offsets[block + 1] : size;
+    }
+
+    /**
+     * {@code getBlockCount} returns the number of offsets.
+     * @return      the number of blocks of {@code stride} lines.
+     */
+    int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * {@code isValid} checks whether the file specified by {@code path} has the same size and modification time as
+     * when it was indexed.
+     * @param       path the file.
+     * @return      {@code true} if the index still describes the file.
+     * @throws      IOException if the attributes of the file cannot be read.
+     */
+    boolean isValid(Path path)
+    throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return (size == attributes.size()) && lastModified.equals(attributes.lastModifiedTime());
+    }
+}
@@ -0,0 +1,276 @@
+package github.magyarzoli;
+
+import java.util.Arrays;
+
+/**
+ * A line of a file split into fields by a delimiter, passed to the action of
+ * {@link github.magyarzoli.FileHandler#readRecords(java.util.function.Consumer) readRecords()}.
+ * <ul>
+ *     <li>The line is split with {@link java.lang.String#indexOf(String, int) indexOf()}, the delimiter is a plain
+ *     text, not a regular expression, and no {@link java.util.regex.Pattern Pattern} or array of {@code String} is
+ *     created per line.</li>
+ *     <li>Only the ends of the fields are recorded, in an {@code int} array reused for every line.</li>
+ *     <li>A field is returned as a {@link java.lang.CharSequence CharSequence} view of the line, one view object per
+ *     field index is created once and reused for every line, so the {@code String} of a field is created only when
+ *     {@link #getString(int) getString()} or {@code toString()} is called.</li>
+ *     <li>Numeric fields are parsed directly from the line by {@link #getInt(int) getInt()} and
+ *     {@link #getLong(int) getLong()}, without creating a {@code String}.</li>
+ *     <li>Unlike {@link java.lang.String#split(String) split()}, trailing empty fields are kept, a line of <i>n</i>
+ *     delimiters always has <i>n + 1</i> fields, and an empty delimiter leaves the whole line in a single field.</li>
+ * </ul>
+ * The record is a flyweight: the same instance and the same field views are reused for every line, they are valid only
+ * during the call of the action. Values that have to outlive the call must be copied, for example with {@code getString()}.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class LineRecord {
+
+    /**
+     * Store the delimiter separating the fields.
+     */
+    private final String delimiter;
+
+    /**
+     * Store the current line.
+     */
+    private String line = "";
+
+    /**
+     * Store the index of the current line in the file.
+     */
+    private long lineNumber = -1;
+
+    /**
+     * Store the end of every field of the current line, the field {@code i} starts after the end of the field
+     * {@code i - 1} and the delimiter.
+     */
+    private int[] ends = new int[16];
+
+    /**
+     * Store the number of fields of the current line.
+     */
+    private int fieldCount;
+
+    /**
+     * Store the views of the fields, created on first use and reused for every line.
+     */
+    private Field[] fields = new Field[16];
+
+    /**
+     * The constructor takes the delimiter separating the fields.
+     * @param       delimiter the delimiter, an empty delimiter does not split the lines.
+     */
+    LineRecord(String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * {@code reset} moves the record to the next {@code line}, and finds the ends of its fields.
+     * @param       line the line, without its line terminator.
+     * @param       lineNumber the index of the line in the file.
+     * @return      this record.
+     */
+    LineRecord reset(String line, long lineNumber) {
+        this.line = line;
+        this.lineNumber = lineNumber;
+        fieldCount = 0;
+        int length = delimiter.length();
+        if (length > 0) {
+            int from = 0, found;
+            while ((found = line.indexOf(delimiter, from)) >= 0) {
+                addEnd(found);
+                from = found + length;
+            }
+        }
+        addEnd(line.length());
+        return this;
+    }
+
+    /**
+     * {@code addEnd} records the end of the next field.
+     * @param       end the index after the last character of the field.
+     */
+    private void addEnd(int end) {
+        if (fieldCount == ends.length) {
+            ends = Arrays.copyOf(ends, (fieldCount * 2));
+        }
+        ends[fieldCount++] = end;
+    }
+
+    /**
+     * {@code getLine} returns the current line.
+     * @return      the line, without its line terminator.
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * {@code getLineNumber} returns the index of the current line in the file.
+     * @return      the index of the line, starting from <i>0</i>.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * {@code getFieldCount} returns the number of fields of the current line.
+     * @return      the number of fields, at least <i>1</i>.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * {@code get} returns the view of the field at {@code index} of the current line.
+     * The view is reused for the same index of every line, it is valid only until the record moves to the next line.
+     * @param       index the index of the field, starting from <i>0</i>.
+     * @return      the view of the field.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     */
+    public CharSequence get(int index) {
+        checkIndex(index);
+        if (index >= fields.length) {
+            fields = Arrays.copyOf(fields, Math.max((index + 1), (fields.length * 2)));
+        }
+        Field field = fields[index];
+        if (field == null) {
+            field = new Field(index);
+            fields[index] = field;
+        }
+        return field;
+    }
+
+    /**
+     * {@code getString} creates the {@code String} of the field at {@code index} of the current line.
+     * @param       index the index of the field, starting from <i>0</i>.
+     * @return      the field as a new {@code String}, which can be kept after the record moved to the next line.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     */
+    public String getString(int index) {
+        checkIndex(index);
+        return line.substring(start(index), ends[index]);
+    }
+
+    /**
+     * {@code getInt} parses the field at {@code index} of the current line as a decimal {@code int}, without creating
+     * a {@code String}.
+     * @param       index the index of the field, starting from <i>0</i>.
+     * @return      the value of the field.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     * @throws      NumberFormatException if the field is not a decimal {@code int}.
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return Integer.parseInt(line, start(index), ends[index], 10);
+    }
+
+    /**
+     * {@code getLong} parses the field at {@code index} of the current line as a decimal {@code long}, without creating
+     * a {@code String}.
+     * @param       index the index of the field, starting from <i>0</i>.
+     * @return      the value of the field.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     * @throws      NumberFormatException if the field is not a decimal {@code long}.
+     */
+    public long getLong(int index) {
+        checkIndex(index);
+        return Long.parseLong(line, start(index), ends[index], 10);
+    }
+
+    /**
+     * {@code getDouble} parses the field at {@code index} of the current line as a {@code double}.
+     * @param       index the index of the field, starting from <i>0</i>.
+     * @return      the value of the field.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     * @throws      NumberFormatException if the field is not a {@code double}.
+     */
+    public double getDouble(int index) {
+        return Double.parseDouble(getString(index));
+    }
+
+    /**
+     * {@code toArray} creates the {@code String} of every field of the current line, the same fields as
+     * {@code split()} with a quoted delimiter and a negative limit.
+     * @return      the fields in a new array.
+     */
+    public String[] toArray() {
+        String[] array = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            array[i] = getString(i);
+        }
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+
+    /**
+     * {@code start} returns the start of the field at {@code index} of the current line.
+     * @param       index the index of the field.
+     * @return      the index of the first character of the field.
+     */
+    private int start(int index) {
+        return (index == 0) ? 0 : (ends[index - 1] + delimiter.length());
+    }
+
+    /**
+     * {@code checkIndex} checks that the current line has a field at {@code index}.
+     * @param       index the index of the field.
+     * @throws      IndexOutOfBoundsException if the line has no field at the {@code index}.
+     */
+    private void checkIndex(int index) {
+        if ((index < 0) || (index >= fieldCount)) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of " + fieldCount + "!");
+        }
+    }
+
+    /**
+     * View of a field of the current line, reading the characters of the line directly.
+     */
+    private final class Field
+    implements CharSequence {
+
+        /**
+         * Store the index of the field.
+         */
+        private final int index;
+
+        /**
+         * The constructor takes the index of the field.
+         * @param       index the index of the field.
+         */
+        private Field(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int length() {
+            return ends[index] - start(index);
+        }
+
+        @Override
+        public char charAt(int position) {
+            if ((position < 0) || (position >= length())) {
+                throw new IndexOutOfBoundsException("Position " + position + " out of " + length() + "!");
+            }
+            return line.charAt(start(index) + position);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if ((start < 0) || (end > length()) || (start > end)) {
+                throw new IndexOutOfBoundsException("Range " + start + ", " + end + " out of " + length() + "!");
+            }
+            int offset = start(index);
+            return line.subSequence((offset + start), (offset + end));
+        }
+
+        @Override
+        public String toString() {
+            return getString(index);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package github.magyarzoli;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, compact store of the lines read from a file.
+ * Instead of a {@code String} per line, the lines are concatenated into a few large {@code String} chunks, and only
+ * the start of every line is kept in an {@code int} array.
+ * <ul>
+ *     <li>A line costs its characters, one byte each for Latin-1 content thanks to compact strings, and four bytes for
+ *     its start, instead of the about 50 bytes of header and reference overhead of a {@code String} per line.</li>
+ *     <li>The lines are never split between chunks, a line longer than the chunk size gets a chunk of its own.</li>
+ *     <li>The {@code String} of a line is created only when it is requested, by {@link #get(int) get(int)}, or by the
+ *     array or list views.</li>
+ * </ul>
+ * Being immutable, a store can be shared by several handlers and threads, as the {@link github.magyarzoli.ReadCache ReadCache} does.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+final class LineStore {
+
+    /**
+     * The number of characters after which a new chunk is started.
+     */
+    static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The store without lines.
+     */
+    static final LineStore EMPTY = builder().build();
+
+    /**
+     * Store the concatenated lines.
+     */
+    private final String[] chunks;
+
+    /**
+     * Store the index of the first line of every chunk.
+     */
+    private final int[] firstLines;
+
+    /**
+     * Store the start of every line within its chunk.
+     */
+    private final int[] starts;
+
+    /**
+     * Store the number of lines.
+     */
+    private final int size;
+
+    /**
+     * Constructor used by the {@code Builder}.
+     * @param       chunks the concatenated lines.
+     * @param       firstLines the index of the first line of every chunk.
+     * @param       starts the start of every line within its chunk.
+     * @param       size the number of lines.
+     */
+    private LineStore(String[] chunks, int[] firstLines, int[] starts, int size) {
+        this.chunks = chunks;
+        this.firstLines = firstLines;
+        this.starts = starts;
+        this.size = size;
+    }
+
+    /**
+     * {@code builder} returns a new {@code Builder} of a store.
+     * @return      a new builder.
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * {@code concat} joins the {@code stores} into a single store, the lines of a store following the lines of the
+     * previous one. The chunks are shared, not copied, only the starts of the lines are.
+     * @param       stores the stores in the order of their lines.
+     * @return      the joined store.
+     */
+    static LineStore concat(List<LineStore> stores) {
+        int chunkCount = 0;
+        long size = 0;
+        for (LineStore store : stores) {
+            chunkCount += store.chunks.length;
+            size += store.size;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many lines for a store: " + size + "!");
+        }
+        String[] chunks = new String[chunkCount];
+        int[] firstLines = new int[chunkCount];
+        int[] starts = new int[(int) size];
+        int chunk = 0, line = 0;
+        for (LineStore store : stores) {
+            for (int i = 0; i < store.chunks.length; i++, chunk++) {
+                chunks[chunk] = store.chunks[i];
+                firstLines[chunk] = line + store.firstLines[i];
+            }
+            System.arraycopy(store.starts, 0, starts, line, store.size);
+            line += store.size;
+        }
+        return new LineStore(chunks, firstLines, starts, (int) size);
+    }
+
+    /**
+     * {@code size} returns the number of lines.
+     * @return      the number of lines.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * {@code get} creates the {@code String} of the line at {@code index}.
+     * The chunk of the line is found with a binary search over the first lines of the chunks.
+     * @param       index the index of the line.
+     * @return      the line.
+     * @throws      IndexOutOfBoundsException if the index is negative or not less than the number of lines.
+     */
+    String get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + size + "!");
+        }
+        int chunk = Arrays.binarySearch(firstLines, index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        int end = (((chunk + 1) < firstLines.length) && ((index + 1) == firstLines[chunk + 1])) || ((index + 1) == size)
+                ? chunks[chunk].length()
+                : starts[index + 1];
+        return chunks[chunk].substring(starts[index], end);
+    }
+
+    /**
+     * {@code toArray} creates a new array of the lines.
+     * @return      the lines in a new array, which can be modified.
+     */
+    String[] toArray() {
+        String[] array = new String[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * {@code asList} returns an unmodifiable list view of the lines, the {@code String} of a line is created only when
+     * the line is requested.
+     * @return      the list view of the lines.
+     */
+    List<String> asList() {
+        return new Lines();
+    }
+
+    /**
+     * {@code weight} returns an estimate of the bytes retained by the store, counting two bytes per character.
+     * @return      the estimated bytes retained.
+     */
+    long weight() {
+        long weight = 64 + (4L * starts.length) + (24L * chunks.length);
+        for (String chunk : chunks) {
+            weight += 2L * chunk.length();
+        }
+        return weight;
+    }
+
+    /**
+     * Unmodifiable list view of the lines of the store.
+     */
+    private final class Lines
+    extends AbstractList<String>
+    implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            return LineStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Builder of a {@code LineStore}, the lines are added one after the other.
+     */
+    static final class Builder {
+
+        /**
+         * Store the sealed chunks.
+         */
+        private String[] chunks = new String[4];
+
+        /**
+         * Store the index of the first line of every chunk.
+         */
+        private int[] firstLines = new int[4];
+
+        /**
+         * Store the number of sealed chunks.
+         */
+        private int chunkCount;
+
+        /**
+         * Store the start of every line within its chunk.
+         */
+        private int[] starts = new int[64];
+
+        /**
+         * Store the number of lines.
+         */
+        private int size;
+
+        /**
+         * Store the characters of the current chunk.
+         */
+        private final StringBuilder chunk = new StringBuilder();
+
+        /**
+         * Store the index of the first line of the current chunk.
+         */
+        private int firstLine;
+
+        /**
+         * Constructor used by the {@code LineStore}.
+         */
+        private Builder() {}
+
+        /**
+         * {@code add} appends a line after the lines added so far.
+         * If the current chunk has reached the chunk size, it is sealed first, and the line starts a new chunk.
+         * @param       line the line, without its line terminator.
+         * @return      this builder.
+         */
+        Builder add(CharSequence line) {
+            return add(line, 0, line.length());
+        }
+
+        /**
+         * {@code add} appends the characters of {@code text} from {@code start} to {@code end} as a line, without
+         * creating a {@code String} of the line.
+         * @param       text the text containing the line.
+         * @param       start the index of the first character of the line.
+         * @param       end the index after the last character of the line, without its line terminator.
+         * @return      this builder.
+         */
+        Builder add(CharSequence text, int start, int end) {
+            if (chunk.length() >= CHUNK_SIZE) {
+                seal();
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, (size + (size >> 1)));
+            }
+            starts[size++] = chunk.length();
+            chunk.append(text, start, end);
+            return this;
+        }
+
+        /**
+         * {@code build} creates the immutable store of the added lines.
+         * @return      the store.
+         */
+        LineStore build() {
+            if (size > firstLine) {
+                seal();
+            }
+            return new LineStore(
+                    Arrays.copyOf(chunks, chunkCount), Arrays.copyOf(firstLines, chunkCount), Arrays.copyOf(starts, size), size);
+        }
+
+        /**
+         * {@code seal} turns the current chunk into a {@code String}, and starts a new chunk.
+         */
+        private void seal() {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, (chunkCount * 2));
+                firstLines = Arrays.copyOf(firstLines, (chunkCount * 2));
+            }
+            chunks[chunkCount] = chunk.toString();
+            firstLines[chunkCount++] = firstLine;
+            chunk.setLength(0);
+            firstLine = size;
+        }
+    }
+}
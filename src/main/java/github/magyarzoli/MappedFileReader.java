@@ -0,0 +1,269 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read engine backed by memory mapped windows of a file.
+ * The file is mapped with {@link java.nio.channels.FileChannel#map(FileChannel.MapMode, long, long) map()} once,
+ * the lines are only indexed as offsets into the mapped region, and decoded to {@code String} only on demand.
+ * Files larger than 2 GB are covered by several mapped windows, every window starts at a line boundary so that
+ * no line is split between two windows.
+ * The engine is meant for large, mostly static files: the mapped content follows later changes of the file,
+ * but truncating the file while it is mapped makes the access of the missing region fail.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class MappedFileReader {
+
+    /**
+     * The largest region a single {@link java.nio.MappedByteBuffer MappedByteBuffer} can map.
+     */
+    static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Store the charset used to decode the lines.
+     */
+    private final Charset charset;
+
+    /**
+     * Store the mapped windows of the file, in the order of the file.
+     */
+    private final List<MappedByteBuffer> windows = new ArrayList<>();
+
+    /**
+     * Store the position of every window in the file.
+     */
+    private long[] windowPositions = new long[1];
+
+    /**
+     * Store the window index of every line.
+     */
+    private int[] lineWindows = new int[16];
+
+    /**
+     * Store the start of every line, relative to its window.
+     */
+    private int[] lineStarts = new int[16];
+
+    /**
+     * Store the length of every line in bytes, without the line terminator.
+     */
+    private int[] lineLengths = new int[16];
+
+    /**
+     * Store the number of indexed lines.
+     */
+    private int lineCount;
+
+    /**
+     * Store the size of the file at the time of mapping.
+     */
+    private final long size;
+
+    /**
+     * The constructor takes a {@code path} parameter and maps the file decoded with the platform charset.
+     * @param       path the file to map.
+     * @see         github.magyarzoli.MappedFileReader#MappedFileReader(Path, Charset) MappedFileReader(Path, Charset)
+     */
+    public MappedFileReader(Path path) {
+        this(path, Charset.defaultCharset());
+    }
+
+    /**
+     * The constructor takes a {@code path} and a {@code charset} parameter and maps the file.
+     * @param       path the file to map.
+     * @param       charset the charset used to decode the lines on demand, it must be supported by
+     *              {@link github.magyarzoli.LineIndex#supports(Charset) LineIndex}.
+     * @throws      IllegalArgumentException if the lines of the {@code charset} cannot be split without decoding.
+     * @see         github.magyarzoli.MappedFileReader#MappedFileReader(Path, Charset, long) MappedFileReader(Path, Charset, long)
+     */
+    public MappedFileReader(Path path, Charset charset) {
+        this(path, charset, MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * The constructor maps the file specified by {@code path} in windows of at most {@code windowSize} bytes.
+     * <ul>
+     *     <li>The file is opened with a {@link java.nio.channels.FileChannel FileChannel} in a try-with-resources block,
+     *     the mapped windows remain valid after the channel is closed.</li>
+     *     <li>The {@code charset} must encode the line terminators as the single bytes of ASCII, which is checked by
+     *     {@link github.magyarzoli.LineIndex#supports(Charset) LineIndex}, otherwise an
+     *     {@link java.lang.IllegalArgumentException IllegalArgumentException} is thrown.</li>
+     *     <li>A window is mapped from the current position, and the bytes of the window are scanned for the line
+     *     terminators, every line found is recorded as a window index, a start and a length.</li>
+     *     <li>The lines are terminated by {@code "\n"}, {@code "\r"} or {@code "\r\n"}, the same way as by
+     *     {@link java.io.BufferedReader#readLine() readLine()}.</li>
+     *     <li>The line that is not terminated inside the window is not recorded, the next window is mapped from the
+     *     start of this line. A {@code '\r'} ending the window is not taken as a terminator either, so that a
+     *     {@code "\r\n"} is never split between two windows.</li>
+     *     <li>If a single line is longer than a window, an {@link java.lang.IllegalStateException IllegalStateException} is thrown.</li>
+     *     <li>If any {@code IOException} occurs during the mapping, a {@link java.lang.RuntimeException RuntimeException}
+     *     is thrown, wrapping the original {@code IOException}.</li>
+     * </ul>
+     * @param       path the file to map.
+     * @param       charset the charset used to decode the lines on demand.
+     * @param       windowSize the largest size of a mapped window in bytes.
+     * @throws      IllegalArgumentException if the lines of the {@code charset} cannot be split without decoding.
+     */
+    MappedFileReader(Path path, Charset charset, long windowSize) {
+        if (!LineIndex.supports(charset)) {
+            throw new IllegalArgumentException("Charset is not supported by the mapped reader: " + charset);
+        }
+        this.charset = charset;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowSize, (size - position));
+                int lineStart = map(channel, position, (int) length);
+                if ((position + length) == size) {
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IllegalStateException("Line at position " + position + " is longer than the window size!");
+                }
+                position += lineStart;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@code getLineCount} returns the number of lines of the mapped file.
+     * @return      the number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * {@code getSize} returns the size of the file at the time of mapping.
+     * @return      the size of the file in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * {@code getLineOffset} returns the position of the first byte of the line in the file.
+     * @param       line the index of the line, starting from <i>0</i>.
+     * @return      the offset of the line in bytes.
+     */
+    public long getLineOffset(int line) {
+        checkLine(line);
+        return windowPositions[lineWindows[line]] + lineStarts[line];
+    }
+
+    /**
+     * {@code getLineLength} returns the length of the line without the line terminator.
+     * @param       line the index of the line, starting from <i>0</i>.
+     * @return      the length of the line in bytes.
+     */
+    public int getLineLength(int line) {
+        checkLine(line);
+        return lineLengths[line];
+    }
+
+    /**
+     * {@code getLineBuffer} returns the bytes of the line as a read-only slice of the mapped region.
+     * Nothing is copied or decoded, the returned {@link java.nio.ByteBuffer ByteBuffer} shares the content of the mapping.
+     * @param       line the index of the line, starting from <i>0</i>.
+     * @return      the bytes of the line without the line terminator.
+     */
+    public ByteBuffer getLineBuffer(int line) {
+        checkLine(line);
+        return windows.get(lineWindows[line]).slice(lineStarts[line], lineLengths[line]);
+    }
+
+    /**
+     * {@code getLine} decodes the line with the charset of the reader.
+     * The bytes of the line are copied out of the mapped region with a single bulk get, then decoded to a new {@code String}.
+     * @param       line the index of the line, starting from <i>0</i>.
+     * @return      the decoded line without the line terminator.
+     */
+    public String getLine(int line) {
+        checkLine(line);
+        byte[] bytes = new byte[lineLengths[line]];
+        windows.get(lineWindows[line]).get(lineStarts[line], bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * {@code map} maps a single window and records the lines terminated inside it.
+     * @param       channel the channel of the file.
+     * @param       position the position of the window in the file.
+     * @param       length the length of the window.
+     * @return      the start of the first line that is not terminated inside the window, relative to the window.
+     * @throws      IOException if the region cannot be mapped.
+     */
+    private int map(FileChannel channel, long position, int length)
+    throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        int windowIndex = windows.size();
+        windows.add(window);
+        if (windowIndex == windowPositions.length) {
+            windowPositions = Arrays.copyOf(windowPositions, (windowIndex * 2));
+        }
+        windowPositions[windowIndex] = position;
+        boolean last = (position + length) == size;
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = window.get(i);
+            if (b == '\n') {
+                if ((i == 0) || (window.get(i - 1) != '\r')) {
+                    addLine(windowIndex, lineStart, i);
+                }
+                lineStart = i + 1;
+            } else if (b == '\r') {
+                if (!last && (i == (length - 1))) {
+                    break;
+                }
+                addLine(windowIndex, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (last && (lineStart < length)) {
+            addLine(windowIndex, lineStart, length);
+        }
+        return lineStart;
+    }
+
+    /**
+     * {@code addLine} records a line.
+     * @param       windowIndex the index of the window.
+     * @param       start the start of the line, relative to the window.
+     * @param       end the end of the line exclusive, relative to the window.
+     */
+    private void addLine(int windowIndex, int start, int end) {
+        if (lineCount == lineStarts.length) {
+            int capacity = lineCount * 2;
+            lineWindows = Arrays.copyOf(lineWindows, capacity);
+            lineStarts = Arrays.copyOf(lineStarts, capacity);
+            lineLengths = Arrays.copyOf(lineLengths, capacity);
+        }
+        lineWindows[lineCount] = windowIndex;
+        lineStarts[lineCount] = start;
+        lineLengths[lineCount] = end - start;
+        lineCount++;
+    }
+
+    /**
+     * {@code checkLine} validates the index of a line.
+     * @param       line the index of the line.
+     */
+    private void checkLine(int line) {
+        if ((line < 0) || (line >= lineCount)) {
+            throw new IndexOutOfBoundsException("Line " + line + " out of bounds for line count " + lineCount);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package github.magyarzoli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list view of the lines of a file, which reads only the pages of lines requested.
+ * <ul>
+ *     <li>A page is a block of {@code stride} lines of a sparse {@link github.magyarzoli.LineIndex LineIndex}.</li>
+ *     <li>A page is read with a positioned read of its bytes, decoded, and split into lines the same way as by
+ *     {@link java.io.BufferedReader#readLine() readLine()}.</li>
+ *     <li>The {@code MAX_PAGES} most recently used pages are kept, the memory used does not depend on the size of the file.
+ *     The pages are accessed while synchronized on them, so the list can be read by several threads.</li>
+ *     <li>Before a page is read, the file is checked to be unchanged since it was indexed, otherwise a
+ *     {@link java.util.ConcurrentModificationException ConcurrentModificationException} is thrown.</li>
+ * </ul>
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+final class PagedLines
+extends AbstractList<String>
+implements RandomAccess {
+
+    /**
+     * The number of lines of a page.
+     */
+    static final int PAGE_LINES = 1024;
+
+    /**
+     * The number of pages kept in memory.
+     */
+    static final int MAX_PAGES = 8;
+
+    /**
+     * Store the file.
+     */
+    private final Path path;
+
+    /**
+     * Store the charset of the file.
+     */
+    private final Charset charset;
+
+    /**
+     * Store the index of the pages.
+     */
+    private final LineIndex index;
+
+    /**
+     * Store the number of lines.
+     */
+    private final int size;
+
+    /**
+     * Store the most recently used pages by their number, accessed only while synchronized on it, since a
+     * {@code get} reorders it.
+     */
+    private final Map<Integer, String[]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+
+    /**
+     * The constructor takes the file, its charset, and its index.
+     * @param       path the file.
+     * @param       charset the charset of the file.
+     * @param       index the index of the file, built with a stride of {@code PAGE_LINES}.
+     */
+    PagedLines(Path path, Charset charset, LineIndex index) {
+        if (index.getLineCount() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many lines for a list: " + index.getLineCount() + "!");
+        }
+        this.path = path;
+        this.charset = charset;
+        this.index = index;
+        this.size = (int) index.getLineCount();
+    }
+
+    /**
+     * {@code of} indexes the file specified by {@code path} and creates its view.
+     * @param       path the file.
+     * @param       charset the charset of the file, it must be supported by {@link github.magyarzoli.LineIndex#supports(Charset) LineIndex}.
+     * @param       buffer the buffer used to index the file.
+     * @return      the view of the lines of the file.
+     * @throws      IOException if the file does not exist or cannot be read.
+     */
+    static PagedLines of(Path path, Charset charset, ByteBuffer buffer)
+    throws IOException {
+        return new PagedLines(path, charset, LineIndex.build(path, PAGE_LINES, buffer));
+    }
+
+    @Override
+    public String get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + size + "!");
+        }
+        int page = index / PAGE_LINES;
+        String[] lines;
+        synchronized (pages) {
+            lines = pages.get(page);
+        }
+        if (lines == null) {
+            lines = page(page);
+            synchronized (pages) {
+                pages.put(page, lines);
+            }
+        }
+        return lines[index % PAGE_LINES];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@code page} reads and decodes the lines of the {@code page}.
+     * @param       page the number of the page.
+     * @return      the lines of the page.
+     * @throws      ConcurrentModificationException if the file changed since it was indexed.
+     */
+    private String[] page(int page) {
+        long start = this.index.getOffset(page), end = this.index.getEnd(page);
+        if ((end - start) > (Integer.MAX_VALUE - 8)) {
+            throw new IllegalStateException("Page " + page + " is too large to read!");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (!this.index.isValid(path)) {
+                throw new ConcurrentModificationException("File changed since it was indexed: " + path);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, (start + buffer.position())) < 0) {
+                    throw new ConcurrentModificationException("File changed since it was indexed: " + path);
+                }
+            }
+            buffer.flip();
+            String text = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer)
+                    .toString();
+            String[] lines = new String[(int) Math.min(PAGE_LINES, (size - ((long) page * PAGE_LINES)))];
+            BufferedReader reader = new BufferedReader(new StringReader(text));
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = reader.readLine();
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reader of the lines of a file, which splits the file into ranges of bytes and reads the ranges in parallel.
+ * <ul>
+ *     <li>The ranges are aligned to the starts of lines, found by scanning the bytes after the tentative end of a range
+ *     for the next line terminator, so no line is split between two ranges.</li>
+ *     <li>Every range is read with a positioned read of the shared {@link java.nio.channels.FileChannel FileChannel},
+ *     decoded, and split into lines by a task of a {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.</li>
+ *     <li>The lines are split the same way as by {@link java.io.BufferedReader#readLine() readLine()}:
+ *     by {@code "\n"}, {@code "\r"} or {@code "\r\n"}, and a terminator at the end of the file does not start a new line.</li>
+ *     <li>The {@code LineStore} of every range is joined in the order of the file, the chunks of the ranges are shared,
+ *     not copied.</li>
+ *     <li>Files not larger than {@code MIN_RANGE} are read as a single range by the calling thread.</li>
+ * </ul>
+ * The ranges can be aligned without decoding only for charsets supported by
+ * {@link github.magyarzoli.LineIndex#supports(Charset) LineIndex}.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+final class ParallelReader {
+
+    /**
+     * The minimum size of a range, <i>1</i> MiB.
+     */
+    static final int MIN_RANGE = 1 << 20;
+
+    /**
+     * The maximum size of a range, <i>64</i> MiB.
+     */
+    static final int MAX_RANGE = 1 << 26;
+
+    /**
+     * The number of ranges per thread of the pool, so a slow range does not leave the other threads idle.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * The size of the buffer used to find the starts of lines.
+     */
+    private static final int SCAN_SIZE = 8 * 1024;
+
+    /**
+     * Private constructor, the class has only static methods.
+     */
+    private ParallelReader() {}
+
+    /**
+     * {@code read} reads every line of the file specified by {@code path}.
+     * @param       path the file.
+     * @param       charset the charset of the file, it must be supported by {@link github.magyarzoli.LineIndex LineIndex}.
+     * @param       pool the pool the ranges are read by.
+     * @return      the lines of the file.
+     * @throws      IOException if the file does not exist or cannot be read.
+     */
+    static LineStore read(Path path, Charset charset, ForkJoinPool pool)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= MIN_RANGE) {
+                return lines(channel, charset, 0, size);
+            }
+            long range = Math.min(MAX_RANGE, Math.max(MIN_RANGE, (size / ((long) pool.getParallelism() * RANGES_PER_THREAD))));
+            List<Range> ranges = new ArrayList<>();
+            long start = 0;
+            while (start < size) {
+                long end = (size - start) <= range ? size : lineStart(channel, (start + range), size);
+                ranges.add(new Range(channel, charset, start, end));
+                start = end;
+            }
+            try {
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(ranges)));
+                List<LineStore> stores = new ArrayList<>(ranges.size());
+                for (Range task : ranges) {
+                    stores.add(task.join());
+                }
+                return LineStore.concat(stores);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * {@code lineStart} finds the start of the first line starting at or after the {@code position}.
+     * The bytes are scanned from the byte before the {@code position}, so a terminator right before it is found, and
+     * a {@code "\r\n"} terminator is never split.
+     * @param       channel the file.
+     * @param       position the tentative start, greater than <i>0</i>.
+     * @param       size the size of the file.
+     * @return      the start of the line, or the {@code size} if no line starts after the {@code position}.
+     * @throws      IOException if the file cannot be read.
+     */
+    private static long lineStart(FileChannel channel, long position, long size)
+    throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long offset = position - 1;
+        boolean afterReturn = false;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (afterReturn) {
+                    return (b == '\n') ? (offset + i + 1) : (offset + i);
+                }
+                if (b == '\n') {
+                    return offset + i + 1;
+                } else if (b == '\r') {
+                    afterReturn = true;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * {@code lines} reads, decodes and splits into lines the bytes of the file from {@code start} to {@code end}.
+     * @param       channel the file.
+     * @param       charset the charset of the file.
+     * @param       start the offset of the first byte, the start of a line.
+     * @param       end the offset after the last byte, the start of a line or the end of the file.
+     * @return      the lines of the range.
+     * @throws      IOException if the file cannot be read.
+     */
+    private static LineStore lines(FileChannel channel, Charset charset, long start, long end)
+    throws IOException {
+        if ((end - start) > (Integer.MAX_VALUE - 8)) {
+            throw new IllegalStateException("Line at " + start + " is too large to read!");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, (start + buffer.position())) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        String text = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(buffer)
+                .toString();
+        LineStore.Builder builder = LineStore.builder();
+        int lineStart = 0, length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if ((c == '\n') || (c == '\r')) {
+                builder.add(text, lineStart, i);
+                if ((c == '\r') && ((i + 1) < length) && (text.charAt(i + 1) == '\n')) {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < length) {
+            builder.add(text, lineStart, length);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Task reading the lines of a range of the file.
+     */
+    private static final class Range
+    extends RecursiveTask<LineStore> {
+
+        /**
+         * The serial version of the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Store the file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Store the charset of the file.
+         */
+        private final Charset charset;
+
+        /**
+         * Store the offset of the first byte.
+         */
+        private final long start;
+
+        /**
+         * Store the offset after the last byte.
+         */
+        private final long end;
+
+        /**
+         * The constructor takes the file and the range of its bytes.
+         * @param       channel the file.
+         * @param       charset the charset of the file.
+         * @param       start the offset of the first byte.
+         * @param       end the offset after the last byte.
+         */
+        private Range(FileChannel channel, Charset charset, long start, long end) {
+            this.channel = channel;
+            this.charset = charset;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected LineStore compute() {
+            try {
+                return lines(channel, charset, start, end);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Registry of the read-write locks of files, shared by every {@link github.magyarzoli.FileHandler FileHandler} whose
+ * {@link github.magyarzoli.FileHandlerOptions options} refer to it.
+ * <ul>
+ *     <li>The reads of a file take its read lock, so they run in parallel, the writes, creations and deletions take its
+ *     write lock, so they run alone, within the JVM.</li>
+ *     <li>The lock of a file is chosen by its canonical path: the real path of the file, or the real path of its
+ *     directory and its name if it does not exist yet. Different names of the same file share a lock.</li>
+ *     <li>The locks are striped: a fixed number of {@link java.util.concurrent.locks.ReentrantReadWriteLock ReentrantReadWriteLock}
+ *     is created up front, and every path is mapped to one of them by its hash. The memory used does not depend on the
+ *     number of files, at the cost of unrelated files sharing a lock now and then.</li>
+ *     <li>The files a thread holds the read lock of are tracked by their canonical path. While a thread holds a read
+ *     lock, for example in the callback of {@code readRecords}, a write of any file through the same registry throws an
+ *     {@link java.lang.IllegalStateException IllegalStateException}: a read lock cannot be upgraded to a write lock,
+ *     a write of a file on the same stripe would wait forever, and a write of a file on another stripe could wait
+ *     for a thread doing the same the other way round.</li>
+ *     <li>A read of another file while holding a read lock is allowed, it does not wait for the queued writers of
+ *     its stripe, only for an active one, which holds no other lock.</li>
+ *     <li>The stream of {@code readLines()} holds the read lock of its file until it is closed, so it must be closed
+ *     by the thread that opened it. The mapped readers and the tailers of a handler take no lock.</li>
+ * </ul>
+ * With these rules the locks of a registry never deadlock. The locks are not held by other processes, the content of
+ * the files is only protected from writes of the same JVM.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class PathLocks {
+
+    /**
+     * The number of stripes of the shared registry.
+     */
+    public static final int DEFAULT_STRIPES = 64;
+
+    /**
+     * The process-wide registry.
+     */
+    private static final PathLocks SHARED = new PathLocks(DEFAULT_STRIPES);
+
+    /**
+     * Store the locks of the stripes.
+     */
+    private final ReadWriteLock[] stripes;
+
+    /**
+     * Store the canonical paths of the files the current thread holds the read lock of, with the number of holds,
+     * {@code null} while it holds none.
+     */
+    private final ThreadLocal<Map<Path, Integer>> reading = new ThreadLocal<>();
+
+    /**
+     * The constructor takes the number of stripes.
+     * @param       stripes the number of locks, rounded up to a power of two, must be positive.
+     */
+    public PathLocks(int stripes) {
+        if ((stripes <= 0) || (stripes > (1 << 16))) {
+            throw new IllegalArgumentException("Stripes must be between 1 and 65536!");
+        }
+        int count = (stripes == 1) ? 1 : (Integer.highestOneBit(stripes - 1) << 1);
+        this.stripes = new ReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * {@code shared} returns the process-wide registry with {@code DEFAULT_STRIPES} stripes.
+     * @return      the shared registry.
+     */
+    public static PathLocks shared() {
+        return SHARED;
+    }
+
+    /**
+     * {@code getStripes} returns the number of locks.
+     * @return      the number of stripes.
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * {@code getLock} returns the read-write lock of the file specified by {@code path}.
+     * @param       path the file.
+     * @return      the lock of the stripe of the canonical path of the file.
+     */
+    public ReadWriteLock getLock(Path path) {
+        return stripe(key(path));
+    }
+
+    /**
+     * {@code lock} takes the lock of the file specified by {@code path} for the current thread.
+     * <ul>
+     *     <li>A write throws if the thread holds the read lock of any file of the registry.</li>
+     *     <li>The first read lock of the thread is taken as usual. A further read lock is taken with
+     *     {@link java.util.concurrent.locks.Lock#tryLock() tryLock()}, which does not wait for the queued writers,
+     *     retried while a writer holds the lock.</li>
+     * </ul>
+     * @param       path the file.
+     * @param       exclusive {@code true} for the write lock, {@code false} for the read lock.
+     * @return      the canonical path of the file, to be passed to {@code unlock}.
+     * @throws      IllegalStateException if a write is started by a thread holding a read lock.
+     */
+    Path lock(Path path, boolean exclusive) {
+        Path key = key(path);
+        Map<Path, Integer> held = reading.get();
+        ReadWriteLock readWriteLock = stripe(key);
+        if (exclusive) {
+            if (held != null) {
+                throw new IllegalStateException("Cannot write " + path + " while this thread holds the read lock of "
+                        + held.keySet().iterator().next() + "!");
+            }
+            readWriteLock.writeLock().lock();
+            return key;
+        }
+        Lock lock = readWriteLock.readLock();
+        if (held == null) {
+            lock.lock();
+            held = new HashMap<>();
+            reading.set(held);
+        } else {
+            while (!lock.tryLock()) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+        held.merge(key, 1, Integer::sum);
+        return key;
+    }
+
+    /**
+     * {@code unlock} releases the lock taken by {@code lock}.
+     * @param       key the canonical path returned by {@code lock}.
+     * @param       exclusive {@code true} for the write lock, {@code false} for the read lock.
+     */
+    void unlock(Path key, boolean exclusive) {
+        ReadWriteLock readWriteLock = stripe(key);
+        if (exclusive) {
+            readWriteLock.writeLock().unlock();
+            return;
+        }
+        readWriteLock.readLock().unlock();
+        Map<Path, Integer> held = reading.get();
+        held.computeIfPresent(key, (path, count) -> (count == 1) ? null : (count - 1));
+        if (held.isEmpty()) {
+            reading.remove();
+        }
+    }
+
+    /**
+     * {@code stripe} returns the lock of the stripe of the canonical path.
+     * @param       key the canonical path of the file.
+     * @return      the lock of the stripe.
+     */
+    private ReadWriteLock stripe(Path key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * {@code key} returns the canonical path of the file: its real path, or the real path of its directory and its name
+     * if it does not exist, or its normalized absolute path if neither exists.
+     * @param       path the file.
+     * @return      the canonical path.
+     */
+    static Path key(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            Path absolute = path.toAbsolutePath().normalize();
+            Path parent = absolute.getParent();
+            if ((parent == null) || (absolute.getFileName() == null)) {
+                return absolute;
+            }
+            try {
+                return parent.toRealPath().resolve(absolute.getFileName());
+            } catch (IOException suppressed) {
+                return absolute;
+            }
+        }
+    }
+}
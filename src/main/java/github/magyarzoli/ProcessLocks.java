@@ -0,0 +1,510 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of advisory locks of files held against other processes, used by every
+ * {@link github.magyarzoli.FileHandler FileHandler} whose {@link github.magyarzoli.FileHandlerOptions options} refer to it.
+ * <ul>
+ *     <li>A file is locked by locking its lock file with {@link java.nio.channels.FileChannel#tryLock(long, long, boolean) tryLock()},
+ *     a sidecar file named after the file with the {@code LOCK_SUFFIX}, which is never replaced nor deleted, unlike the
+ *     file itself by an atomic overwrite or a deletion.</li>
+ *     <li>The reads of a file take a shared lock, so the reads of several processes run in parallel, the writes,
+ *     creations and deletions take an exclusive lock.</li>
+ *     <li>An operating system lock is held by the JVM, not by a thread. Within the JVM, the threads locking the same file
+ *     share a single lock: the shared lock is counted by its holders and released by the last one, and an exclusive
+ *     lock waits until no other thread holds the lock of the file. A thread holding the lock of a file cannot take its
+ *     exclusive lock, nor take a lock of it while holding the exclusive one, it would wait for itself, so it fails at once.</li>
+ *     <li>A lock not acquired within the {@code timeout} fails with a
+ *     {@link github.magyarzoli.ProcessLocks.LockTimeoutException LockTimeoutException}.</li>
+ *     <li>The time waited for the locks is measured, the total, the average and the maximum wait, and the number of
+ *     timeouts are exposed for monitoring.</li>
+ * </ul>
+ * The locks are advisory: they only exclude the processes locking the same lock files, other writers of the file are
+ * not stopped.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class ProcessLocks {
+
+    /**
+     * The suffix of the lock file of a file.
+     */
+    public static final String LOCK_SUFFIX = ".lock";
+
+    /**
+     * The default time to wait for a lock, <i>30</i> seconds.
+     */
+    public static final long DEFAULT_TIMEOUT = 30_000;
+
+    /**
+     * The longest pause between two attempts to lock a lock file held by another process, in milliseconds.
+     */
+    private static final long MAX_BACKOFF = 50;
+
+    /**
+     * The process-wide registry with the {@code DEFAULT_TIMEOUT}.
+     */
+    private static final ProcessLocks SHARED = new ProcessLocks(DEFAULT_TIMEOUT);
+
+    /**
+     * Store the time to wait for a lock in nanoseconds.
+     */
+    private final long timeoutNanos;
+
+    /**
+     * Store the entries of the locked files by their canonical path, guarded by the map.
+     */
+    private final Map<Path, Entry> entries = new HashMap<>();
+
+    /**
+     * Store the number of acquired locks.
+     */
+    private final LongAdder acquisitions = new LongAdder();
+
+    /**
+     * Store the number of locks not acquired within the timeout.
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Store the total time waited for the acquired locks in nanoseconds.
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Store the longest time waited for a lock in nanoseconds.
+     */
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * The constructor takes the time to wait for a lock.
+     * @param       timeout the time to wait for a lock in milliseconds, must not be negative, <i>0</i> fails at once
+     *              if the lock is held.
+     */
+    public ProcessLocks(long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative!");
+        }
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+    }
+
+    /**
+     * {@code shared} returns the process-wide registry with the {@code DEFAULT_TIMEOUT}.
+     * @return      the shared registry.
+     */
+    public static ProcessLocks shared() {
+        return SHARED;
+    }
+
+    /**
+     * {@code lockFile} returns the lock file of the file specified by {@code path}, the file name with the
+     * {@code LOCK_SUFFIX} appended, in the same directory.
+     * @param       path the file.
+     * @return      the lock file.
+     */
+    public static Path lockFile(Path path) {
+        return path.resolveSibling(path.getFileName() + LOCK_SUFFIX);
+    }
+
+    /**
+     * {@code getTimeout} returns the time to wait for a lock.
+     * @return      the timeout in milliseconds.
+     */
+    public long getTimeout() {
+        return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    /**
+     * {@code getAcquireCount} returns the number of acquired locks.
+     * @return      the number of acquisitions.
+     */
+    public long getAcquireCount() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * {@code getTimeoutCount} returns the number of locks not acquired within the timeout.
+     * @return      the number of timeouts.
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * {@code getWaitNanos} returns the total time waited for the acquired locks.
+     * @return      the wait time in nanoseconds.
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * {@code getAverageWaitNanos} returns the average time waited for an acquired lock.
+     * @return      the average wait time in nanoseconds, <i>0</i> if no lock was acquired.
+     */
+    public long getAverageWaitNanos() {
+        long count = acquisitions.sum();
+        return (count == 0) ? 0 : (waitNanos.sum() / count);
+    }
+
+    /**
+     * {@code getMaxWaitNanos} returns the longest time waited for a lock, including the timed out ones.
+     * @return      the maximum wait time in nanoseconds.
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * {@code acquire} locks the file specified by {@code path} against other processes and the other threads of the JVM.
+     * <ul>
+     *     <li>The thread waits until no other thread of the JVM holds an exclusive lock of the file, or for an exclusive
+     *     lock, any lock of the file.</li>
+     *     <li>If no other thread holds the shared lock of the file, the lock file is opened, created if it does not
+     *     exist, and locked with {@code tryLock()}, which is retried with a growing pause while another process holds it.</li>
+     *     <li>A shared lock already held by other threads of the JVM is joined without locking the lock file again.</li>
+     * </ul>
+     * @param       path the file.
+     * @param       shared {@code true} for a shared lock, {@code false} for an exclusive lock.
+     * @return      the handle releasing the lock when closed.
+     * @throws      LockTimeoutException if the lock is not acquired within the timeout.
+     * @throws      IllegalStateException if the thread holds the lock of the file, and either lock is exclusive.
+     * @throws      InterruptedIOException if the thread is interrupted while waiting.
+     * @throws      IOException if the lock file cannot be opened or locked.
+     */
+    public Handle acquire(Path path, boolean shared)
+    throws IOException {
+        long start = System.nanoTime(), deadline = start + timeoutNanos;
+        Path key = PathLocks.key(path);
+        Entry entry = enter(key);
+        boolean acquired = false;
+        try {
+            synchronized (entry) {
+                if (entry.owners.containsKey(Thread.currentThread()) && (!shared || entry.exclusive)) {
+                    throw new IllegalStateException("Lock of " + path + " is already held by this thread!");
+                }
+                while (entry.acquiring || entry.exclusive || (!shared && (entry.holders > 0))) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw timeout(path, start);
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(entry, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the lock of " + path);
+                    }
+                }
+                if (shared && (entry.holders > 0)) {
+                    entry.holders++;
+                    acquired = true;
+                    return acquired(entry, shared, start);
+                }
+                entry.acquiring = true;
+            }
+            FileLock lock = null;
+            try {
+                lock = lockFile(lockFile(key), path, shared, start, deadline);
+            } finally {
+                synchronized (entry) {
+                    entry.acquiring = false;
+                    if (lock != null) {
+                        entry.lock = lock;
+                        entry.exclusive = !shared;
+                        entry.holders = 1;
+                    }
+                    entry.notifyAll();
+                }
+            }
+            acquired = true;
+            return acquired(entry, shared, start);
+        } finally {
+            if (!acquired) {
+                leave(entry);
+            }
+        }
+    }
+
+    /**
+     * {@code lockFile} opens the {@code lockFile}, and locks it with {@code tryLock()} until the {@code deadline}.
+     * A lock held by another registry of the same JVM is treated like a lock of another process.
+     * @param       lockFile the lock file.
+     * @param       path the locked file, for the messages.
+     * @param       shared {@code true} for a shared lock.
+     * @param       start the time the wait started.
+     * @param       deadline the time the wait ends.
+     * @return      the lock of the lock file, holding its open channel.
+     * @throws      IOException if the lock file cannot be opened or locked, or the lock is not acquired in time.
+     */
+    private FileLock lockFile(Path lockFile, Path path, boolean shared, long start, long deadline)
+    throws IOException {
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long backoff = 1;
+            while (true) {
+                FileLock lock;
+                try {
+                    lock = channel.tryLock(0, Long.MAX_VALUE, shared);
+                } catch (OverlappingFileLockException e) {
+                    lock = null;
+                }
+                if (lock != null) {
+                    return lock;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw timeout(path, start);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(backoff)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the lock of " + path);
+                }
+                backoff = Math.min(MAX_BACKOFF, (backoff * 2));
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@code acquired} records the wait of an acquired lock and creates its handle.
+     * @param       entry the entry of the file.
+     * @param       shared {@code true} for a shared lock.
+     * @param       start the time the wait started.
+     * @return      the handle of the lock.
+     */
+    private Handle acquired(Entry entry, boolean shared, long start) {
+        synchronized (entry) {
+            entry.owners.merge(Thread.currentThread(), 1, Integer::sum);
+        }
+        long waited = System.nanoTime() - start;
+        acquisitions.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        return new Handle(entry, shared, Thread.currentThread());
+    }
+
+    /**
+     * {@code timeout} records a timed out wait, and creates its exception.
+     * @param       path the file.
+     * @param       start the time the wait started.
+     * @return      the exception to throw.
+     */
+    private LockTimeoutException timeout(Path path, long start) {
+        timeouts.increment();
+        maxWaitNanos.accumulate(System.nanoTime() - start);
+        return new LockTimeoutException("Lock of " + path + " not acquired within " + getTimeout() + " ms!");
+    }
+
+    /**
+     * {@code enter} returns the entry of the {@code key}, creating it if needed, and counts the thread as its user.
+     * @param       key the canonical path of the file.
+     * @return      the entry of the file.
+     */
+    private Entry enter(Path key) {
+        synchronized (entries) {
+            Entry entry = entries.computeIfAbsent(key, Entry::new);
+            entry.users++;
+            return entry;
+        }
+    }
+
+    /**
+     * {@code leave} stops counting the thread as the user of the {@code entry}, and removes the entry without users.
+     * @param       entry the entry of the file.
+     */
+    private void leave(Entry entry) {
+        synchronized (entries) {
+            if (--entry.users == 0) {
+                entries.remove(entry.key);
+            }
+        }
+    }
+
+    /**
+     * {@code release} releases the lock of a handle, and the lock of the lock file if the handle was its last holder.
+     * @param       entry the entry of the file.
+     * @param       owner the thread the lock was acquired by.
+     * @throws      IOException if the lock file cannot be unlocked or closed.
+     */
+    private void release(Entry entry, Thread owner)
+    throws IOException {
+        try {
+            FileLock lock = null;
+            synchronized (entry) {
+                entry.owners.computeIfPresent(owner, (thread, count) -> (count == 1) ? null : (count - 1));
+                if (--entry.holders == 0) {
+                    lock = entry.lock;
+                    entry.lock = null;
+                    entry.exclusive = false;
+                    entry.acquiring = true;
+                }
+            }
+            if (lock != null) {
+                FileChannel channel = lock.channel();
+                try {
+                    lock.release();
+                } finally {
+                    try {
+                        channel.close();
+                    } finally {
+                        synchronized (entry) {
+                            entry.acquiring = false;
+                            entry.notifyAll();
+                        }
+                    }
+                }
+            }
+        } finally {
+            leave(entry);
+        }
+    }
+
+    /**
+     * Handle of an acquired lock, closing it releases the lock.
+     */
+    public final class Handle
+    implements AutoCloseable {
+
+        /**
+         * Store the entry of the file.
+         */
+        private final Entry entry;
+
+        /**
+         * Store whether the lock is shared.
+         */
+        private final boolean shared;
+
+        /**
+         * Store the thread the lock was acquired by.
+         */
+        private final Thread owner;
+
+        /**
+         * Store whether the lock was released.
+         */
+        private boolean released;
+
+        /**
+         * The constructor takes the entry of the locked file.
+         * @param       entry the entry of the file.
+         * @param       shared {@code true} for a shared lock.
+         * @param       owner the thread the lock was acquired by.
+         */
+        private Handle(Entry entry, boolean shared, Thread owner) {
+            this.entry = entry;
+            this.shared = shared;
+            this.owner = owner;
+        }
+
+        /**
+         * {@code isShared} returns whether the lock is shared.
+         * @return      {@code true} for a shared lock, {@code false} for an exclusive lock.
+         */
+        public boolean isShared() {
+            return shared;
+        }
+
+        /**
+         * {@code close} releases the lock, a second call does nothing.
+         * @throws      IOException if the lock file cannot be unlocked or closed.
+         */
+        @Override
+        public synchronized void close()
+        throws IOException {
+            if (!released) {
+                released = true;
+                release(entry, owner);
+            }
+        }
+    }
+
+    /**
+     * Exception thrown when a lock is not acquired within the timeout.
+     */
+    public static class LockTimeoutException
+    extends IOException {
+
+        /**
+         * The serial version of the exception.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The constructor takes the detail message.
+         * @param       message the detail message.
+         */
+        public LockTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * The state of the lock of a file within the JVM, guarded by the entry.
+     */
+    private static final class Entry {
+
+        /**
+         * Store the canonical path of the file.
+         */
+        private final Path key;
+
+        /**
+         * Store the number of threads using the entry, guarded by the map of the entries.
+         */
+        private int users;
+
+        /**
+         * Store the number of holders of the lock.
+         */
+        private int holders;
+
+        /**
+         * Store whether the lock is exclusive.
+         */
+        private boolean exclusive;
+
+        /**
+         * Store whether the lock file is being locked or unlocked.
+         */
+        private boolean acquiring;
+
+        /**
+         * Store the lock of the lock file, {@code null} if not held.
+         */
+        private FileLock lock;
+
+        /**
+         * Store the number of holds of the lock by every holding thread.
+         */
+        private final Map<Thread, Integer> owners = new HashMap<>();
+
+        /**
+         * The constructor takes the canonical path of the file.
+         * @param       key the canonical path of the file.
+         */
+        private Entry(Path key) {
+            this.key = key;
+        }
+    }
+}
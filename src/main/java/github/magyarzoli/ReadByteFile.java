@@ -0,0 +1,30 @@
+package github.magyarzoli;
+
+import java.nio.ByteBuffer;
+
+/**
+ * File reader interface of bytes.
+ * When implemented, the inherited class will be able to read the file as raw bytes, without decoding it to characters.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public interface ReadByteFile {
+
+    /**
+     * Read method that the inherited class must implement.
+     * The whole content of the file is read into a new {@link java.nio.ByteBuffer ByteBuffer}, ready to be read from
+     * its position <i>0</i> to its limit, the size of the file.
+     * @return      the content of the file.
+     */
+    public ByteBuffer readBytes();
+
+    /**
+     * Positioned read method that the inherited class must implement.
+     * The bytes of the file from the {@code position} are read into the remaining space of the {@code buffer}, until
+     * it is full or the end of the file is reached, the position of the buffer is advanced by the bytes read.
+     * @param       buffer the buffer to read into.
+     * @param       position the position of the file to read from, must not be negative.
+     * @return      the number of bytes read, or <i>-1</i> if the {@code position} is at or after the end of the file.
+     */
+    public int readBytes(ByteBuffer buffer, long position);
+}
@@ -0,0 +1,381 @@
+package github.magyarzoli;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the lines read from files, shared by every {@link github.magyarzoli.FileHandler FileHandler} whose
+ * {@link github.magyarzoli.FileHandlerOptions options} refer to it.
+ * <ul>
+ *     <li>The lines are cached by the real path of the file, so different names of the same file share an entry.</li>
+ *     <li>Before an entry is used, the attributes of the file are read with a single call, and the entry is used only if
+ *     the modification time, the size and the file key are the same as when the lines were read, and the lines were
+ *     decoded with the same charset. Otherwise the file is read again.</li>
+ *     <li>Every write of a {@code FileHandler} using the cache invalidates the entry of the file, so changes within the
+ *     resolution of the modification time are not missed. The lines of a load that an invalidation raced are returned
+ *     but not cached, since they may have been read before the write.</li>
+ *     <li>The memory used is bounded by the {@code maxWeight}, an estimate of the bytes retained by the lines.
+ *     When it is exceeded, the least recently used entries are evicted.</li>
+ *     <li>The hits, misses and evictions are counted for monitoring.</li>
+ * </ul>
+ * Changes made by other processes within the resolution of the modification time, that keep the size, are not detected.
+ * The class is thread-safe, the files are read outside the lock, so reads of different files do not wait for each other.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class ReadCache {
+
+    /**
+     * The maximum weight of the shared cache, <i>64</i> MiB.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * The estimated bytes retained by an entry without its lines.
+     */
+    private static final long ENTRY_WEIGHT = 128;
+
+    /**
+     * The process-wide cache.
+     */
+    private static final ReadCache SHARED = new ReadCache(DEFAULT_MAX_WEIGHT);
+
+    /**
+     * Store the maximum weight of the entries.
+     */
+    private final long maxWeight;
+
+    /**
+     * Store the entries by real path in access order, the first one is the least recently used.
+     */
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Store the generation of the files being loaded by real path, an invalidation of the file advances it.
+     */
+    private final Map<Path, Generation> generations = new HashMap<>();
+
+    /**
+     * Store the weight of the entries.
+     */
+    private long weight;
+
+    /**
+     * Store the number of reads served from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Store the number of reads that read the file.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Store the number of entries evicted to respect the maximum weight.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * The constructor takes the maximum weight of the entries.
+     * @param       maxWeight the estimated bytes the lines may retain, must be positive.
+     */
+    public ReadCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Max weight must be positive!");
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * {@code shared} returns the process-wide cache with the {@code DEFAULT_MAX_WEIGHT}.
+     * @return      the shared cache.
+     */
+    public static ReadCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * {@code getMaxWeight} returns the maximum weight of the entries.
+     * @return      the estimated bytes the lines may retain.
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * {@code getWeight} returns the weight of the entries.
+     * @return      the estimated bytes retained by the lines.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * {@code getSize} returns the number of the entries.
+     * @return      the number of cached files.
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * {@code getHitCount} returns the number of reads served from the cache.
+     * @return      the number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * {@code getMissCount} returns the number of reads that read the file.
+     * @return      the number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * {@code getEvictionCount} returns the number of entries evicted to respect the maximum weight.
+     * @return      the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * {@code getHitRate} returns the ratio of the reads served from the cache.
+     * @return      the hit rate between <i>0</i> and <i>1</i>, <i>0</i> if nothing was read.
+     */
+    public double getHitRate() {
+        long hit = hits.sum(), total = hit + misses.sum();
+        return (total == 0) ? 0 : ((double) hit / total);
+    }
+
+    /**
+     * {@code invalidate} removes the entry of the file specified by {@code path}, and advances its generation, so the
+     * lines of a load running meanwhile are not cached.
+     * @param       path the file, the entry of its real path is removed, or of its absolute path if it does not exist anymore.
+     */
+    public void invalidate(Path path) {
+        Path key = key(path);
+        synchronized (this) {
+            remove(key);
+            Generation generation = generations.get(key);
+            if (generation != null) {
+                generation.value++;
+            }
+        }
+    }
+
+    /**
+     * {@code clear} removes every entry, and advances the generation of every file being loaded, the counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+        for (Generation generation : generations.values()) {
+            generation.value++;
+        }
+    }
+
+    /**
+     * {@code lines} returns the lines of the file specified by {@code path}, from the cache if the entry is valid,
+     * otherwise from the {@code loader}, caching the loaded lines.
+     * <ul>
+     *     <li>The attributes of the file are read before the {@code loader} runs, so a change during the load makes
+     *     the entry invalid for the next read.</li>
+     *     <li>The generation of the file is taken before the attributes are read, and the loaded lines are cached only
+     *     if it is unchanged after the load, so the lines of a load raced by an {@code invalidate} are not cached.</li>
+     *     <li>Lines weighing more than the maximum weight are returned without caching them.</li>
+     *     <li>The returned store is immutable, it is shared by the readers of the cache.</li>
+     * </ul>
+     * @param       path the file.
+     * @param       charset the charset the {@code loader} decodes with.
+     * @param       loader reads the lines of the file.
+     * @return      the lines of the file.
+     * @throws      IOException if the file does not exist, or cannot be read.
+     */
+    LineStore lines(Path path, Charset charset, Loader loader)
+    throws IOException {
+        Path key = path.toRealPath();
+        Generation generation;
+        long loaded;
+        synchronized (this) {
+            generation = generations.computeIfAbsent(key, (k) -> new Generation());
+            generation.loaders++;
+            loaded = generation.value;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if ((entry != null) && entry.matches(attributes, charset)) {
+                    hits.increment();
+                    return entry.lines;
+                }
+            }
+            misses.increment();
+            LineStore lines = loader.load();
+            Entry entry = new Entry(lines, charset, attributes);
+            synchronized (this) {
+                if (generation.value == loaded) {
+                    remove(key);
+                    if (entry.weight <= maxWeight) {
+                        entries.put(key, entry);
+                        weight += entry.weight;
+                        evict();
+                    }
+                }
+            }
+            return lines;
+        } finally {
+            synchronized (this) {
+                if (--generation.loaders == 0) {
+                    generations.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code remove} removes the entry of the {@code key}, the caller holds the lock.
+     * @param       key the real path of the file.
+     */
+    private void remove(Path key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * {@code evict} removes the least recently used entries until the weight does not exceed the maximum weight,
+     * the caller holds the lock.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Path, Entry>> iterator = entries.entrySet().iterator();
+        while ((weight > maxWeight) && iterator.hasNext()) {
+            weight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * {@code key} returns the real path of the file, or its normalized absolute path if it does not exist.
+     * @param       path the file.
+     * @return      the key of the entry of the file.
+     */
+    private static Path key(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Functional interface that reads the lines of a file on a miss.
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * {@code load} reads the lines of the file.
+         * @return      the lines of the file.
+         * @throws      IOException indicating that it can potentially encounter input/output errors.
+         */
+        LineStore load()
+        throws IOException;
+    }
+
+    /**
+     * The generation of a file being loaded, kept while a load of the file runs.
+     */
+    private static final class Generation {
+
+        /**
+         * Store the number of invalidations of the file since its first running load started.
+         */
+        private long value;
+
+        /**
+         * Store the number of running loads of the file.
+         */
+        private int loaders;
+    }
+
+    /**
+     * The cached lines of a file, and the state of the file they were read from.
+     */
+    private static final class Entry {
+
+        /**
+         * Store the lines of the file.
+         */
+        private final LineStore lines;
+
+        /**
+         * Store the charset the lines were decoded with.
+         */
+        private final Charset charset;
+
+        /**
+         * Store the modification time of the file.
+         */
+        private final FileTime lastModified;
+
+        /**
+         * Store the size of the file.
+         */
+        private final long size;
+
+        /**
+         * Store the file key of the file, {@code null} if the platform has none.
+         */
+        private final Object fileKey;
+
+        /**
+         * Store the estimated bytes retained by the lines.
+         */
+        private final long weight;
+
+        /**
+         * The constructor takes the lines and the state of the file they were read from.
+         * @param       lines the lines of the file.
+         * @param       charset the charset the lines were decoded with.
+         * @param       attributes the attributes of the file read before the lines.
+         */
+        private Entry(LineStore lines, Charset charset, BasicFileAttributes attributes) {
+            this.lines = lines;
+            this.charset = charset;
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.fileKey = attributes.fileKey();
+            this.weight = ENTRY_WEIGHT + lines.weight();
+        }
+
+        /**
+         * {@code matches} checks whether the file is unchanged since the lines were read.
+         * @param       attributes the current attributes of the file.
+         * @param       charset the charset of the reader.
+         * @return      {@code true} if the lines can be used.
+         */
+        private boolean matches(BasicFileAttributes attributes, Charset charset) {
+            return this.charset.equals(charset)
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && (size == attributes.size())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+}
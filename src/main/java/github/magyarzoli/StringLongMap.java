@@ -0,0 +1,219 @@
+package github.magyarzoli;
+
+import java.util.NoSuchElementException;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Map of {@code String} keys to primitive {@code long} values, filled by
+ * {@link github.magyarzoli.FileHandler#readLongMap() readLongMap()}.
+ * <ul>
+ *     <li>The keys and the values are kept in two parallel arrays with open addressing and linear probing, so an entry
+ *     costs a reference and a {@code long}, no {@link java.util.Map.Entry Entry} node and no boxed {@code Long}.</li>
+ *     <li>The arrays are doubled when the load exceeds {@code LOAD_FACTOR}, a map presized with the expected number of
+ *     entries is never resized.</li>
+ *     <li>Entries cannot be removed, the map is meant to be filled once and read many times.</li>
+ * </ul>
+ * The {@code null} key is not permitted. The class is not thread-safe.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public final class StringLongMap {
+
+    /**
+     * The maximum ratio of the entries to the slots.
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * The largest number of slots.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Store the key of every slot, {@code null} for an empty slot.
+     */
+    private String[] keys;
+
+    /**
+     * Store the value of every slot.
+     */
+    private long[] values;
+
+    /**
+     * Store the number of entries.
+     */
+    private int size;
+
+    /**
+     * Store the number of entries after which the slots are doubled.
+     */
+    private int threshold;
+
+    /**
+     * The constructor creates an empty map for <i>16</i> entries.
+     */
+    public StringLongMap() {
+        this(16);
+    }
+
+    /**
+     * The constructor creates an empty map, which holds {@code expectedSize} entries without resizing.
+     * @param       expectedSize the expected number of entries.
+     * @throws      IllegalArgumentException if the {@code expectedSize} is negative.
+     */
+    public StringLongMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative!");
+        }
+        long needed = Math.max(2, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        allocate((needed >= MAX_CAPACITY) ? MAX_CAPACITY : (Integer.highestOneBit((int) (needed - 1)) << 1));
+    }
+
+    /**
+     * {@code size} returns the number of entries.
+     * @return      the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@code isEmpty} checks whether the map has no entries.
+     * @return      {@code true} if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@code containsKey} checks whether the map has an entry of the {@code key}.
+     * @param       key the key.
+     * @return      {@code true} if the map has an entry of the key.
+     */
+    public boolean containsKey(String key) {
+        return keys[slot(key)] != null;
+    }
+
+    /**
+     * {@code get} returns the value of the {@code key}.
+     * @param       key the key.
+     * @return      the value of the key.
+     * @throws      NoSuchElementException if the map has no entry of the key.
+     */
+    public long get(String key) {
+        int slot = slot(key);
+        if (keys[slot] == null) {
+            throw new NoSuchElementException("No entry of key: " + key);
+        }
+        return values[slot];
+    }
+
+    /**
+     * {@code getOrDefault} returns the value of the {@code key}, or the {@code defaultValue} if the map has no entry of it.
+     * @param       key the key.
+     * @param       defaultValue the value returned for a missing key.
+     * @return      the value of the key, or the default value.
+     */
+    public long getOrDefault(String key, long defaultValue) {
+        int slot = slot(key);
+        return (keys[slot] == null) ? defaultValue : values[slot];
+    }
+
+    /**
+     * {@code put} sets the value of the {@code key}, replacing its previous value.
+     * @param       key the key, must not be {@code null}.
+     * @param       value the value.
+     * @return      {@code true} if the key was not in the map before.
+     * @throws      NullPointerException if the key is {@code null}.
+     */
+    public boolean put(String key, long value) {
+        int slot = slot(key);
+        values[slot] = value;
+        if (keys[slot] != null) {
+            return false;
+        }
+        keys[slot] = key;
+        if (++size > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * {@code forEach} passes every entry to the {@code action}, in no particular order.
+     * @param       action the callback invoked with the key and the value of every entry.
+     */
+    public void forEach(ObjLongConsumer<? super String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /**
+     * {@code slot} finds the slot of the {@code key}, the slot holding the key, or the empty slot ending its probe.
+     * @param       key the key.
+     * @return      the index of the slot.
+     */
+    private int slot(String key) {
+        int mask = keys.length - 1;
+        int slot = mix(key.hashCode()) & mask;
+        String current;
+        while (((current = keys[slot]) != null) && !current.equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * {@code mix} spreads the bits of the {@code hash}, so keys with similar hash codes do not form long probes.
+     * @param       hash the hash code of the key.
+     * @return      the mixed hash.
+     */
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * {@code grow} doubles the slots and inserts the entries again.
+     */
+    private void grow() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Too many entries for a map: " + size + "!");
+        }
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * {@code allocate} creates empty slots.
+     * @param       capacity the number of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new long[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,113 @@
+package github.magyarzoli;
+
+import java.nio.ByteBuffer;
+
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+/**
+ * File update interface of bytes.
+ * When implemented, the inherited class will be able to extend, rewrite the file with raw bytes, without encoding
+ * characters. Unlike the text updates of {@link github.magyarzoli.UpdateFile UpdateFile}, the bytes are concatenated
+ * with the existing content as they are, no newline character is inserted between them.
+ * The remaining bytes of a {@link java.nio.ByteBuffer ByteBuffer} are written, its position is not changed.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public interface UpdateByteFile {
+
+    /**
+     * {@code updateFileWithStarting} method takes a {@code ByteBuffer} named {@code update}.
+     * It updates a file by writing the remaining bytes of the {@code update} to the beginning of the file.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     */
+    public void updateFileWithStarting(ByteBuffer update);
+
+    /**
+     * {@code updateFileWithEnding} method takes a {@code ByteBuffer} named {@code update}.
+     * It updates a file by writing the remaining bytes of the {@code update} to the end of the file.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     */
+    public void updateFileWithEnding(ByteBuffer update);
+
+    /**
+     * {@code updateFile} method takes a {@code ByteBuffer} named {@code update}.
+     * It replaces the content of the file with the remaining bytes of the {@code update}.
+     * @param       update the desired content that you would upload, {@code null} empties the file.
+     */
+    public void updateFile(ByteBuffer update);
+
+    /**
+     * {@code updateFileWithStarting} method takes a {@code byte} array named {@code update}, and writes it to the
+     * beginning of the file without copying it.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     * @see         github.magyarzoli.UpdateByteFile#updateFileWithStarting(ByteBuffer) updateFileWithStarting(ByteBuffer)
+     */
+    default void updateFileWithStarting(byte[] update) {
+        updateFileWithStarting((update != null) ? ByteBuffer.wrap(update) : null);
+    }
+
+    /**
+     * {@code updateFileWithEnding} method takes a {@code byte} array named {@code update}, and writes it to the end of
+     * the file without copying it.
+     * @param       update the desired content that you would upload, {@code null} leaves the file unchanged, and
+     *              resets the written bytes to <i>0</i>.
+     * @see         github.magyarzoli.UpdateByteFile#updateFileWithEnding(ByteBuffer) updateFileWithEnding(ByteBuffer)
+     */
+    default void updateFileWithEnding(byte[] update) {
+        updateFileWithEnding((update != null) ? ByteBuffer.wrap(update) : null);
+    }
+
+    /**
+     * {@code updateFile} method takes a {@code byte} array named {@code update}, and replaces the content of the file
+     * with it without copying it.
+     * @param       update the desired content that you would upload, {@code null} empties the file.
+     * @see         github.magyarzoli.UpdateByteFile#updateFile(ByteBuffer) updateFile(ByteBuffer)
+     */
+    default void updateFile(byte[] update) {
+        updateFile((update != null) ? ByteBuffer.wrap(update) : null);
+    }
+
+    /**
+     * {@code update} takes a {@code ByteBuffer} named {@code update} and an {@code UpdateCommand} enum named {@code command}.
+     * <ul>
+     *     <li>If {@code command} is {@code UPDATE_FILE_TO_STARTING_CONTENTS},
+     *     the method calls the {@code updateFileWithStarting} method.</li>
+     *     <li>If {@code command} is {@code UPDATE_FILE_TO_ENDING_CONTENTS},
+     *     the method calls the {@code updateFileWithEnding} method.</li>
+     *     <li>If {@code command} is {@code UPDATE_FILE_WITH_CONTENTS_OVERWRITING},
+     *     the method calls the {@code updateFile} method.</li>
+     *     <li>If none of the above cases match, the method throws an
+     *     {@link java.lang.IllegalArgumentException IllegalArgumentException}.</li>
+     * </ul>
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @see         github.magyarzoli.UpdateFile.UpdateCommand UpdateCommand
+     */
+    default void update(ByteBuffer update, UpdateCommand command) {
+        switch (command) {
+            case UPDATE_FILE_TO_STARTING_CONTENTS -> updateFileWithStarting(update);
+            case UPDATE_FILE_TO_ENDING_CONTENTS -> updateFileWithEnding(update);
+            case UPDATE_FILE_WITH_CONTENTS_OVERWRITING -> updateFile(update);
+            default -> throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * {@code update} takes a {@code byte} array named {@code update} and an {@code UpdateCommand} enum named {@code command},
+     * and updates the file the same way as {@code update(ByteBuffer, UpdateCommand)}.
+     * @param       update the desired content that you would upload.
+     * @param       command can be specified in which way the file update takes place.
+     * @see         github.magyarzoli.UpdateByteFile#update(ByteBuffer, UpdateCommand) update(ByteBuffer, UpdateCommand)
+     */
+    default void update(byte[] update, UpdateCommand command) {
+        switch (command) {
+            case UPDATE_FILE_TO_STARTING_CONTENTS -> updateFileWithStarting(update);
+            case UPDATE_FILE_TO_ENDING_CONTENTS -> updateFileWithEnding(update);
+            case UPDATE_FILE_WITH_CONTENTS_OVERWRITING -> updateFile(update);
+            default -> throw new IllegalArgumentException();
+        }
+    }
+}
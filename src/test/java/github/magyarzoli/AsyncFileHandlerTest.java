@@ -0,0 +1,61 @@
+package github.magyarzoli;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncFileHandler class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class AsyncFileHandlerTest {
+
+    private static final String FILE_NAME = "async.txt";
+
+    @AfterEach
+    void afterEach() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Run the operations in the order they were submitted.")
+    void testOrderedOperations() {
+        AsyncFileHandler handler = new AsyncFileHandler(new FileHandler(FILE_NAME));
+        CompletableFuture<String> created = handler.createAsync(CreateCommand.CREATES_AGAIN_THE_FILE);
+        CompletableFuture<Long> overwritten = handler.updateAsync(
+                new String[] {"second", "third"}, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+        CompletableFuture<Long> prepended = handler.updateAsync(
+                List.of("first"), UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS);
+        CompletableFuture<Long> skipped = handler.updateAsync(
+                (String[]) null, UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS);
+        CompletableFuture<String[]> read = handler.readAsync();
+        CompletableFuture<Boolean> deleted = handler.deleteAsync(DeleteCommand.DELETE_THE_FILE);
+        assertEquals(FILE_NAME, created.join());
+        assertEquals(12L, overwritten.join());
+        assertEquals(18L, prepended.join());
+        assertEquals(0L, skipped.join());
+        assertArrayEquals(new String[] {"first", "second third"}, read.join());
+        assertTrue(deleted.join());
+        assertFalse(new File(FILE_NAME).exists());
+    }
+
+    @Test
+    @DisplayName("A failed operation does not prevent the next one.")
+    void testFailedOperation() {
+        AsyncFileHandler handler = new AsyncFileHandler(new FileHandler(FILE_NAME));
+        CompletableFuture<String[]> read = handler.readAsync();
+        CompletableFuture<String> created = handler.createAsync(CreateCommand.CREATES_THE_FILE);
+        assertThrows(CompletionException.class, read::join);
+        assertEquals(FILE_NAME, created.join());
+        assertThrows(IllegalArgumentException.class, () -> new AsyncFileHandler(null));
+    }
+}
@@ -0,0 +1,78 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.*;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ByteFileHandler class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class ByteFileHandlerTest {
+
+    private static final String FILE_NAME = "bytes.bin";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Prepend, append and overwrite raw bytes without inserting line breaks.")
+    void testUpdate()
+    throws IOException {
+        ByteFileHandler handler = new ByteFileHandler(FILE_NAME);
+        handler.recreateFile();
+        ByteBuffer middle = ByteBuffer.wrap(new byte[]{9, 2, 3, 9}, 1, 2);
+        handler.updateFile(middle);
+        assertEquals(1, middle.position());
+        handler.updateFileWithEnding(new byte[]{(byte) 0xFF, 0});
+        handler.update(new byte[]{1}, UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS);
+        assertEquals(5, handler.getWrittenBytes());
+        assertArrayEquals(new byte[]{1, 2, 3, (byte) 0xFF, 0}, Files.readAllBytes(Path.of(FILE_NAME)));
+        handler.getHandler().setOptions(FileHandlerOptions.builder().atomicOverwrite(true).build());
+        handler.update(ByteBuffer.wrap(new byte[]{7}), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+        assertEquals(1, handler.getWrittenBytes());
+        handler.updateFileWithStarting((byte[]) null);
+        assertEquals(0, handler.getWrittenBytes());
+        handler.updateFileWithEnding((ByteBuffer) null);
+        assertEquals(0, handler.getWrittenBytes());
+        assertArrayEquals(new byte[]{7}, Files.readAllBytes(Path.of(FILE_NAME)));
+        handler.updateFile((ByteBuffer) null);
+        assertEquals(0, Files.size(Path.of(FILE_NAME)));
+    }
+
+    @Test
+    @DisplayName("Read the whole file or chunks of it into byte buffers.")
+    void testRead()
+    throws IOException {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Files.write(Path.of(FILE_NAME), content);
+        ByteFileHandler handler = new ByteFileHandler(FILE_NAME);
+        ByteBuffer all = handler.readBytes();
+        assertEquals(content.length, all.remaining());
+        assertEquals(ByteBuffer.wrap(content), all);
+        handler.getHandler().setOptions(FileHandlerOptions.builder().directBuffers(true).build());
+        assertTrue(handler.readBytes().isDirect());
+        ByteBuffer chunk = ByteBuffer.allocate(4096);
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        long position = 0;
+        int read;
+        while ((read = handler.readBytes(chunk.clear(), position)) != -1) {
+            copy.write(chunk.array(), 0, read);
+            position += read;
+        }
+        assertArrayEquals(content, copy.toByteArray());
+        assertThrows(IllegalArgumentException.class, () -> handler.readBytes(chunk, -1));
+    }
+}
@@ -0,0 +1,77 @@
+package github.magyarzoli;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileHandlerBatch class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileHandlerBatchTest {
+
+    private static final List<String> FILE_NAMES = new ArrayList<>();
+
+    @BeforeAll
+    static void beforeAll() {
+        for (int i = 0; i < 50; i++) {
+            FILE_NAMES.add("batch" + i + ".txt");
+        }
+    }
+
+    @AfterAll
+    static void afterAll() {
+        FILE_NAMES.forEach((fileName) -> new File(fileName).delete());
+    }
+
+    @Test
+    @DisplayName("Create, update, read and delete many files.")
+    void testBatch() {
+        try (FileHandlerBatch batch = new FileHandlerBatch(8)) {
+            FileHandlerBatch.Report<String> created = batch.create(FILE_NAMES, CreateCommand.CREATES_AGAIN_THE_FILE);
+            assertEquals(FILE_NAMES.size(), created.getSuccesses());
+            assertEquals(FILE_NAMES.get(7), created.getResults().get(7).getValue());
+            FileHandlerBatch.Report<Long> updated = batch.update(
+                    FILE_NAMES, List.of("first", "second"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+            assertEquals(0, updated.getFailures());
+            assertEquals(12L, updated.getResults().get(0).getValue());
+            FileHandlerBatch.Report<String[]> read = batch.read(FILE_NAMES);
+            for (FileHandlerBatch.Result<String[]> result : read.getResults()) {
+                assertArrayEquals(new String[] {"first second"}, result.getValue());
+            }
+            assertTrue(read.getTotalNanos() >= read.getMaxNanos());
+            FileHandlerBatch.Report<Boolean> deleted = batch.delete(FILE_NAMES, DeleteCommand.DELETE_THE_FILE);
+            assertTrue(deleted.getResults().stream().allMatch(FileHandlerBatch.Result::getValue));
+            assertFalse(new File(FILE_NAMES.get(0)).exists());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed file does not stop the others.")
+    void testFailures() {
+        try (FileHandlerBatch batch = new FileHandlerBatch(2)) {
+            batch.update(FILE_NAMES.subList(0, 1), new String[] {"line"}, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+            FileHandlerBatch.Report<String[]> read = batch.read(List.of(FILE_NAMES.get(0), "invalid.txt"));
+            assertTrue(read.getResults().get(0).isSuccess());
+            assertFalse(read.getResults().get(1).isSuccess());
+            assertEquals(1, read.getFailures());
+            FileHandlerBatch.Report<Long> skipped = batch.update(
+                    FILE_NAMES.subList(0, 1), (String[]) null, UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS);
+            assertEquals(0L, skipped.getResults().get(0).getValue());
+            FileHandlerBatch.Report<Object> error = batch.execute(FILE_NAMES.subList(0, 2), (handler) -> {
+                throw new AssertionError(handler.getFileName());
+            });
+            assertEquals(2, error.getFailures());
+            assertInstanceOf(AssertionError.class, error.getResults().get(1).getFailure());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new FileHandlerBatch(0));
+    }
+}
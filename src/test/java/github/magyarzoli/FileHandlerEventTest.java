@@ -0,0 +1,70 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileHandlerEvent class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileHandlerEventTest {
+
+    private static final String FILE_NAME = "recorded.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Record the operations of a handler with the Java Flight Recorder.")
+    void testRecording()
+    throws IOException {
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder().charset(StandardCharsets.UTF_8).build());
+        Path dump = Files.createTempFile("file-handler", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("FileCreate", "FileRead", "FileUpdate", "FileDelete")) {
+                recording.enable("github.magyarzoli." + name).withoutThreshold();
+            }
+            recording.start();
+            handler.recreateFile();
+            handler.updateFile(new String[]{"a", "b"});
+            handler.updateFileWithEnding(List.of("c"));
+            handler.read();
+            handler.deleteFile();
+            assertThrows(RuntimeException.class, handler::read);
+            recording.stop();
+            recording.dump(dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertEquals(List.of("github.magyarzoli.FileCreate", "github.magyarzoli.FileUpdate",
+                            "github.magyarzoli.FileUpdate", "github.magyarzoli.FileRead",
+                            "github.magyarzoli.FileDelete", "github.magyarzoli.FileRead"),
+                    events.stream().map((event) -> event.getEventType().getName()).toList());
+            RecordedEvent update = events.get(1);
+            assertEquals("UPDATE_FILE_WITH_CONTENTS_OVERWRITING", update.getString("command"));
+            assertEquals(3, update.getLong("bytes"));
+            assertEquals(2, update.getLong("lines"));
+            assertEquals(Path.of(FILE_NAME).toString(), update.getString("path"));
+            RecordedEvent read = events.get(3);
+            assertNull(read.getString("command"));
+            assertEquals(5, read.getLong("bytes"));
+            assertEquals(2, read.getLong("lines"));
+            assertNull(read.getString("failure"));
+            assertNotNull(events.get(5).getString("failure"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
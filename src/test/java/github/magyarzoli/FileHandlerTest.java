@@ -1,7 +1,13 @@
 package github.magyarzoli;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.*;
 import github.magyarzoli.CreateFile.CreateCommand;
@@ -36,6 +42,16 @@ public class FileHandlerTest {
         }
     }
 
+    @AfterAll
+    static void afterAll() {
+        File[] numbered = new File(".").listFiles((directory, name) -> name.matches("test\\(\\d+\\)\\.txt"));
+        if (numbered != null) {
+            for (File created : numbered) {
+                created.delete();
+            }
+        }
+    }
+
     @BeforeEach
     void setUp() {
         fileName = "test.txt";
@@ -150,6 +166,23 @@ public class FileHandlerTest {
         read.forEach((element) -> System.out.print(element + ", "));
     }
 
+    @Test
+    @DisplayName("Read it line by line with a stream.")
+    void testReadLines() {
+        fileName = "invalid.txt";
+        handler = new FileHandler(fileName);
+        assertThrows(RuntimeException.class, () -> handler.readLines());
+        fileName = "read.txt";
+        handler = new FileHandler(fileName);
+        assertDoesNotThrow(() -> handler.read());
+        List<String> read = new ArrayList<>();
+        assertDoesNotThrow(() -> handler.readEachLine(read::add));
+        assertEquals(handler.getReadCollection().toString(), read.toString());
+        try (Stream<String> lines = handler.readLines()) {
+            assertEquals(handler.getReadArray().length, lines.count());
+        }
+    }
+
     @Test
     @DisplayName("Update file to starting contents, with all types.")
     void testUpdateWithStarting() {
@@ -198,6 +231,45 @@ public class FileHandlerTest {
         assertNotEquals(unexpectedReadList, handler.getReadCollection());
     }
 
+    @Test
+    @DisplayName("Update file to starting contents without reading it first.")
+    void testUpdateWithStartingPrepends() {
+        fileName = "prepend.txt";
+        handler = new FileHandler(fileName);
+        assertDoesNotThrow(() -> handler.create(CreateCommand.CREATES_AGAIN_THE_FILE));
+        assertDoesNotThrow(() -> handler.update(new String[] {"a", "b"}, UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS));
+        assertDoesNotThrow(() -> handler.update(List.of(1, 2), UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS));
+        assertDoesNotThrow(() -> handler.update(Map.of("key", "value"), UpdateCommand.UPDATE_FILE_TO_STARTING_CONTENTS));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[key value, 1 2, a b]", Arrays.toString(handler.getReadArray()));
+        File[] leftovers = new File(".").listFiles((dir, name) -> name.startsWith(fileName + ".") && name.endsWith(".tmp"));
+        assertNotNull(leftovers);
+        assertEquals(0, leftovers.length);
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
+    @Test
+    @DisplayName("Update file to ending contents without reading it first.")
+    void testUpdateWithEndingAppends() {
+        fileName = "append.txt";
+        handler = new FileHandler(fileName);
+        assertDoesNotThrow(() -> handler.create(CreateCommand.CREATES_AGAIN_THE_FILE));
+        assertDoesNotThrow(() -> handler.update(new String[] {"a", "b"}, UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+        assertDoesNotThrow(() -> handler.update(List.of(1, 2), UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+        assertDoesNotThrow(() -> handler.update(Map.of("key", "value"), UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[a b, 1 2, key value]", Arrays.toString(handler.getReadArray()));
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
+            writer.write("\n");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        assertDoesNotThrow(() -> handler.updateFileWithEnding(new String[] {"c"}));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[a b, 1 2, key value, c]", Arrays.toString(handler.getReadArray()));
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
     @Test
     @DisplayName("Update file with contents overwriting, with all types.")
     void testUpdateWithContentsOverwriting() {
@@ -224,12 +296,60 @@ public class FileHandlerTest {
         assertDoesNotThrow(() -> handler.update(updateMap, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
         assertDoesNotThrow(() -> handler.read());
         assertNotEquals(unexpectedReadList, handler.getReadCollection());
-        expectedReadList = new ArrayList<>(updateMap.values());
-        expectedReadList.add(0, "3");
-        expectedReadList.add(2, "4");
+        expectedReadList = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : updateMap.entrySet()) {
+            expectedReadList.add(entry.getKey() + handler.getDelimiter() + entry.getValue());
+        }
         assertEquals(expectedReadList.toString(), handler.getReadCollection().toString());
     }
 
+    @Test
+    @DisplayName("Update file with repeated values and any collection.")
+    void testUpdateWithRepeatedValues() {
+        fileName = "repeated.txt";
+        handler = new FileHandler(fileName);
+        handler.setDelimiter(",");
+        assertDoesNotThrow(() -> handler.update(new String[] {"a", "b", "a"}, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[a,b,a]", Arrays.toString(handler.getReadArray()));
+        Set<Integer> updateSet = new LinkedHashSet<>(List.of(1, 2, 3));
+        assertDoesNotThrow(() -> handler.update(updateSet, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[1,2,3]", Arrays.toString(handler.getReadArray()));
+        assertDoesNotThrow(() -> handler.update(Arrays.asList("x", null, "x"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[x,null,x]", Arrays.toString(handler.getReadArray()));
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
+    @Test
+    @DisplayName("Read and update with configured buffer size, charset and direct buffers.")
+    void testOptions() {
+        assertThrows(IllegalArgumentException.class, () -> FileHandlerOptions.builder().bufferSize(0));
+        assertThrows(IllegalArgumentException.class, () -> FileHandlerOptions.builder().charset(null));
+        fileName = "options.txt";
+        handler = new FileHandler(fileName);
+        assertSame(FileHandlerOptions.DEFAULT, handler.getOptions());
+        FileHandlerOptions options = FileHandlerOptions.builder()
+                .bufferSize(7)
+                .charset(StandardCharsets.UTF_16LE)
+                .directBuffers(true)
+                .build();
+        handler.setOptions(options);
+        assertSame(options, handler.getOptions());
+        String[] update = {"árvíztűrő tükörfúrógép", "\uD83D\uDE00 surrogate pair", "last"};
+        assertDoesNotThrow(() -> handler.updateFile(update));
+        assertDoesNotThrow(() -> handler.updateFileWithEnding(List.of("appended")));
+        assertDoesNotThrow(() -> handler.updateFileWithStarting(Map.of("key", "value")));
+        assertDoesNotThrow(() -> handler.read());
+        assertEquals("[key value, árvíztűrő tükörfúrógép \uD83D\uDE00 surrogate pair last, appended]",
+                Arrays.toString(handler.getReadArray()));
+        handler.setOptions(options.toBuilder().charset(StandardCharsets.UTF_8).build());
+        assertDoesNotThrow(() -> handler.read());
+        assertNotEquals("key value", handler.getReadArray()[0]);
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
     @Test
     @DisplayName("Creates again and Delete the contents of the file.")
     void testCreatesAgainDeleteTheContentsOfTheFile() {
@@ -332,4 +452,172 @@ public class FileHandlerTest {
             assertFalse(handler.getFile().exists());
         }));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Overwrite the file atomically with every durability.")
+    void testAtomicOverwrite() {
+        fileName = "atomic.txt";
+        handler = new FileHandler(fileName);
+        assertDoesNotThrow(() -> handler.create(CreateCommand.CREATES_AGAIN_THE_FILE));
+        for (FileHandlerOptions.Durability durability : FileHandlerOptions.Durability.values()) {
+            handler.setOptions(FileHandlerOptions.builder().atomicOverwrite(true).durability(durability).build());
+            assertDoesNotThrow(() -> handler.update(List.of(durability, "a"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+            assertDoesNotThrow(() -> handler.update(List.of("b"), UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+            assertDoesNotThrow(() -> handler.read());
+            assertEquals("[" + durability + " a, b]", Arrays.toString(handler.getReadArray()));
+        }
+        File[] leftovers = new File(".").listFiles((dir, name) -> name.startsWith(fileName + ".") && name.endsWith(".tmp"));
+        assertNotNull(leftovers);
+        assertEquals(0, leftovers.length);
+        assertTrue(handler.getOptions().toBuilder().build().isAtomicOverwrite());
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertDoesNotThrow(() -> {
+                Path reference = Files.createFile(Path.of("atomic-reference.txt"));
+                handler.delete(DeleteCommand.DELETE_THE_FILE);
+                handler.update(List.of("new"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+                assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(handler.getFile().toPath()));
+                Files.delete(reference);
+            });
+        }
+        assertThrows(IllegalArgumentException.class, () -> FileHandlerOptions.builder().durability(null));
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
+    @Test
+    @DisplayName("Read lazily on the first request, and again after every write.")
+    void testLazyRead() {
+        fileName = "lazy.txt";
+        handler = new FileHandler(fileName);
+        handler.setOptions(FileHandlerOptions.builder().lazyRead(true).charset(StandardCharsets.UTF_8).build());
+        List<String> content = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            content.add((i % 7 == 0) ? "" : ("line " + i + " árvíztűrő"));
+        }
+        assertDoesNotThrow(() -> handler.setDelimiter("\n"));
+        assertDoesNotThrow(() -> handler.update(content, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        List<String> lines = (List<String>) handler.getReadCollection();
+        assertEquals(content.size(), lines.size());
+        assertEquals(content.get(2999), lines.get(2999));
+        assertEquals(content.get(1024), lines.get(1024));
+        assertEquals(content, lines);
+        assertSame(lines, handler.getReadCollection());
+        assertDoesNotThrow(() -> handler.update(List.of("last"), UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+        assertNotSame(lines, handler.getReadCollection());
+        assertEquals(content.size() + 1, handler.getReadCollection().size());
+        assertEquals("last", handler.getReadArray()[content.size()]);
+        handler.setOptions(handler.getOptions().toBuilder().charset(StandardCharsets.UTF_16LE).build());
+        assertDoesNotThrow(() -> handler.update(List.of("utf", "16"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertEquals(List.of("utf", "16"), handler.getReadCollection());
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
+    @Test
+    @DisplayName("Read a line or a range of lines without reading the lines before them.")
+    void testReadLine() {
+        fileName = "random.txt";
+        handler = new FileHandler(fileName);
+        handler.setOptions(FileHandlerOptions.builder().persistentIndex(true).charset(StandardCharsets.UTF_8).build());
+        assertDoesNotThrow(() -> handler.setDelimiter("\r\n"));
+        assertDoesNotThrow(() -> handler.update(List.of("first", "", "árvíztűrő", "last"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        File sidecar = new File(fileName + ".idx");
+        assertEquals("first", handler.readLine(0));
+        assertTrue(sidecar.exists());
+        assertEquals("", handler.readLine(1));
+        assertEquals("last", handler.readLine(3));
+        assertEquals(List.of("", "árvíztűrő"), handler.readLineRange(1, 3));
+        assertEquals(List.of(), handler.readLineRange(4, 4));
+        FileHandler other = new FileHandler(fileName);
+        other.setOptions(handler.getOptions());
+        assertEquals("árvíztűrő", other.readLine(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> handler.readLine(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> handler.readLineRange(2, 1));
+        assertDoesNotThrow(() -> handler.update(List.of("appended"), UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS));
+        assertFalse(sidecar.exists());
+        assertEquals("appended", handler.readLine(4));
+        List<String> many = IntStream.range(0, 3000).mapToObj(String::valueOf).toList();
+        assertDoesNotThrow(() -> handler.update(many, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertEquals("1500", handler.readLine(1500));
+        assertEquals("2999", handler.readLine(2999));
+        assertEquals(many.subList(1000, 2100), handler.readLineRange(1000, 2100));
+        handler.setOptions(FileHandlerOptions.builder().charset(StandardCharsets.UTF_16BE).build());
+        assertDoesNotThrow(() -> handler.update(List.of("utf", "16"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertEquals("16", handler.readLine(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> handler.readLine(2));
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+        sidecar.delete();
+    }
+
+    @Test
+    @DisplayName("Read the lines split into fields by the delimiter.")
+    void testReadRecords() {
+        fileName = "records.txt";
+        handler = new FileHandler(fileName);
+        handler.setOptions(FileHandlerOptions.builder().charset(StandardCharsets.UTF_8).build());
+        assertDoesNotThrow(() -> handler.setDelimiter("\n"));
+        assertDoesNotThrow(() -> handler.update(List.of("id;name;score", "1;árvíztűrő;42", "2;;-7", "3;last;"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        handler.setDelimiter(";");
+        List<String> names = new ArrayList<>();
+        long[] total = new long[1];
+        handler.readRecords((record) -> {
+            assertEquals(3, record.getFieldCount());
+            names.add(record.getString(1));
+            if (record.getLineNumber() > 0) {
+                total[0] += record.getLong(0);
+                assertTrue((record.getLineNumber() != 2) || (record.getInt(2) == -7));
+            }
+        });
+        assertEquals(List.of("name", "árvíztűrő", "", "last"), names);
+        assertEquals(6, total[0]);
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+        assertThrows(RuntimeException.class, () -> handler.readRecords((record) -> {}));
+    }
+
+    @Test
+    @DisplayName("Read back the entries written from a map.")
+    void testReadMap() {
+        fileName = "map.txt";
+        handler = new FileHandler(fileName);
+        handler.setOptions(FileHandlerOptions.builder().charset(StandardCharsets.UTF_8).build());
+        assertDoesNotThrow(() -> handler.setDelimiter("="));
+        Map<String, Long> update = new LinkedHashMap<>();
+        update.put("first", 1L);
+        update.put("árvíztűrő", -42L);
+        update.put("key=with", 3L);
+        assertDoesNotThrow(() -> handler.update(update, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        Map<String, String> texts = handler.readMap();
+        assertEquals("with=3", texts.get("key"));
+        assertEquals("-42", texts.get("árvíztűrő"));
+        assertThrows(NumberFormatException.class, () -> handler.readLongMap());
+        update.remove("key=with");
+        update.put("first", 7L);
+        assertDoesNotThrow(() -> handler.update(update, UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING));
+        assertEquals(Map.of("first", 7, "árvíztűrő", -42), handler.readMap(String::valueOf, Integer::valueOf));
+        StringLongMap longs = handler.readLongMap();
+        assertEquals(2, longs.size());
+        assertEquals(7L, longs.get("first"));
+        assertEquals(-42L, longs.get("árvíztűrő"));
+        handler.setDelimiter(";");
+        assertThrows(IllegalStateException.class, () -> handler.readMap());
+        assertDoesNotThrow(() -> handler.delete(DeleteCommand.DELETE_THE_FILE));
+    }
+
+    @Test
+    @DisplayName("Creates the file under the smallest free extended name.")
+    void testCreatesWithFreeName() {
+        String[] taken = {"naming.txt", "naming(1).txt", "naming(3).txt", "naming(02).txt", "naming(x).txt", "naming(999999999).txt"};
+        for (String name : taken) {
+            assertDoesNotThrow(() -> new FileHandler(name).create(CreateCommand.CREATES_AGAIN_THE_FILE));
+        }
+        FileHandler first = new FileHandler("naming.txt");
+        FileHandler second = new FileHandler("naming.txt");
+        assertDoesNotThrow(() -> first.create(CreateCommand.CREATES_THE_FILE));
+        assertDoesNotThrow(() -> second.create(CreateCommand.CREATES_THE_FILE));
+        assertEquals("naming(2).txt", first.getFileName());
+        assertEquals("naming(4).txt", second.getFileName());
+        assertTrue(first.getFile().exists());
+        assertTrue(second.getFile().exists());
+        for (String name : List.of(taken[0], taken[1], taken[2], taken[3], taken[4], taken[5], "naming(2).txt", "naming(4).txt")) {
+            new File(name).delete();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.*;
+import github.magyarzoli.CreateFile.CreateCommand;
+import github.magyarzoli.DeleteFile.DeleteCommand;
+import github.magyarzoli.FileOperationEvent.Operation;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileOperationStats class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileOperationStatsTest {
+
+    private static final String FILE_NAME = "measured.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Aggregate durations into log-linear buckets and percentiles.")
+    void testHistogram() {
+        for (long value : new long[]{0, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = FileOperationStats.bucket(value);
+            assertTrue(value <= FileOperationStats.upperBound(bucket));
+            assertTrue((bucket == 0) || (value > FileOperationStats.upperBound(bucket - 1)));
+            assertTrue((FileOperationStats.upperBound(bucket) - value) <= (value / 8));
+        }
+        FileOperationStats stats = new FileOperationStats();
+        assertEquals(0, stats.getPercentileNanos(Operation.READ, 99));
+        for (long i = 1; i <= 100; i++) {
+            stats.onOperation(new FileOperationEvent(null, Path.of(FILE_NAME), 10, 1, (i * 1000), null));
+        }
+        stats.onOperation(new FileOperationEvent(
+                UpdateCommand.UPDATE_FILE_TO_ENDING_CONTENTS, Path.of(FILE_NAME), 0, 0, 5, new RuntimeException()));
+        assertEquals(100, stats.getCount(Operation.READ));
+        assertEquals(1000, stats.getBytes(Operation.READ));
+        assertEquals(100, stats.getLines(Operation.READ));
+        assertEquals(50_500, stats.getAverageNanos(Operation.READ));
+        assertEquals(100_000, stats.getMaxNanos(Operation.READ));
+        assertEquals(100_000, stats.getPercentileNanos(Operation.READ, 100));
+        long median = stats.getPercentileNanos(Operation.READ, 50);
+        assertTrue((median >= 50_000) && (median <= (50_000 * 9 / 8)));
+        assertEquals(1, stats.getFailureCount(Operation.UPDATE));
+        assertEquals(0, stats.getCount(Operation.DELETE));
+        assertThrows(IllegalArgumentException.class, () -> stats.getPercentileNanos(Operation.READ, 101));
+    }
+
+    @Test
+    @DisplayName("Report every operation of a handler to its listener.")
+    void testListener() {
+        List<FileOperationEvent> events = new ArrayList<>();
+        FileOperationStats stats = new FileOperationStats();
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder()
+                .charset(StandardCharsets.UTF_8)
+                .listener((event) -> {
+                    events.add(event);
+                    stats.onOperation(event);
+                })
+                .build());
+        handler.setDelimiter("=");
+        handler.recreateFile();
+        handler.updateFile(Map.of("a", 1, "b", 2));
+        handler.read();
+        handler.readLine(1);
+        try (Stream<String> lines = handler.readLines()) {
+            assertEquals(2, lines.count());
+            assertEquals(4, events.size());
+        }
+        handler.deleteFile();
+        assertThrows(RuntimeException.class, handler::read);
+        assertEquals(7, events.size());
+        assertEquals(CreateCommand.CREATES_AGAIN_THE_FILE, events.get(0).getCommand());
+        assertEquals(Operation.CREATE, events.get(0).getOperation());
+        FileOperationEvent update = events.get(1);
+        assertEquals(UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING, update.getCommand());
+        assertEquals(7, update.getBytes());
+        assertEquals(2, update.getLines());
+        assertEquals(Path.of(FILE_NAME), update.getPath());
+        FileOperationEvent read = events.get(2);
+        assertNull(read.getCommand());
+        assertEquals(7, read.getBytes());
+        assertEquals(2, read.getLines());
+        assertEquals(1, events.get(3).getLines());
+        assertNull(events.get(4).getCommand());
+        assertEquals(2, events.get(4).getLines());
+        assertEquals(DeleteCommand.DELETE_THE_FILE, events.get(5).getCommand());
+        assertFalse(events.get(6).isSuccess());
+        assertTrue(events.get(6).getDurationNanos() >= 0);
+        assertEquals(4, stats.getCount(Operation.READ));
+        assertEquals(1, stats.getFailureCount(Operation.READ));
+        assertEquals(7, stats.getBytes(Operation.UPDATE));
+    }
+}
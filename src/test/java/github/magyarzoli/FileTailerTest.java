@@ -0,0 +1,94 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileTailer class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class FileTailerTest {
+
+    private static final String FILE_NAME = "tailed.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        new File(FILE_NAME + ".1").delete();
+    }
+
+    @Test
+    @DisplayName("Deliver only the finished new lines, across truncation and rotation.")
+    void testPoll()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        Files.writeString(path, "old\n", StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        try (FileTailer tailer = new FileTailer(path, StandardCharsets.UTF_8, Files.size(path), lines::add)) {
+            assertEquals(0, tailer.poll());
+            append(path, "first\r");
+            assertEquals(1, tailer.poll());
+            List<String> resumed = new ArrayList<>();
+            try (FileTailer other = new FileTailer(path, StandardCharsets.UTF_8, tailer.getOffset(), resumed::add)) {
+                assertEquals(0, other.poll());
+                append(path, "\nárvíz");
+                assertEquals(0, other.poll());
+                assertEquals(List.of(), resumed);
+            }
+            assertEquals(0, tailer.poll());
+            assertEquals(11, tailer.getOffset());
+            append(path, "tűrő\n\nlast");
+            assertEquals(2, tailer.poll());
+            assertEquals(List.of("first", "árvíztűrő", ""), lines);
+            Files.writeString(path, "new\n", StandardCharsets.UTF_8);
+            assertEquals(1, tailer.poll());
+            assertEquals("new", lines.get(3));
+            append(path, "unfinished");
+            Files.move(path, Path.of(FILE_NAME + ".1"));
+            Files.writeString(path, "rotated\n", StandardCharsets.UTF_8);
+            assertEquals(2, tailer.poll());
+            assertEquals(List.of("unfinished", "rotated"), lines.subList(4, 6));
+            assertEquals(6, tailer.getLineCount());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new FileTailer(path, StandardCharsets.UTF_16, 0, lines::add));
+    }
+
+    @Test
+    @DisplayName("Follow the file on the thread of the tailer.")
+    void testFollow()
+    throws IOException, InterruptedException {
+        Path path = Path.of(FILE_NAME);
+        Files.writeString(path, "existing\n", StandardCharsets.UTF_8);
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder().charset(StandardCharsets.UTF_8).build());
+        LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        FileTailer tailer = handler.tail(lines::add);
+        try {
+            assertTrue(tailer.isRunning());
+            append(path, "appended\n");
+            assertEquals("appended", lines.poll(5, TimeUnit.SECONDS));
+        } finally {
+            tailer.close();
+        }
+        assertFalse(tailer.isRunning());
+        assertNull(tailer.getFailure());
+        assertTrue(lines.isEmpty());
+    }
+
+    private static void append(Path path, String text)
+    throws IOException {
+        Files.writeString(path, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,85 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GroupCommitWriter class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class GroupCommitWriterTest {
+
+    private static final String FILE_NAME = "commit.txt";
+
+    private static final String EXPECTED_FILE_NAME = "commit-expected.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        new File(EXPECTED_FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Write the same content as appending one by one, in fewer writes.")
+    void testBatches()
+    throws IOException {
+        Files.writeString(Path.of(FILE_NAME), "existing", StandardCharsets.UTF_8);
+        Files.writeString(Path.of(EXPECTED_FILE_NAME), "existing", StandardCharsets.UTF_8);
+        FileHandler expected = new FileHandler(EXPECTED_FILE_NAME);
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setDelimiter(",");
+        expected.setDelimiter(",");
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (GroupCommitWriter writer = new GroupCommitWriter(handler, 50, 64)) {
+            for (int i = 0; i < 200; i++) {
+                String[] update = ((i % 10) == 0) ? new String[0] : new String[] {("a" + i), ((i % 3) == 0 ? "b\n" : "b")};
+                futures.add((i % 2) == 0 ? writer.append(update) : writer.append(List.of(update)));
+                expected.updateFileWithEnding(update);
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            assertEquals(200, writer.getUpdateCount());
+            assertTrue(writer.getCommitCount() < 200);
+        }
+        assertEquals(Files.readString(Path.of(EXPECTED_FILE_NAME)), Files.readString(Path.of(FILE_NAME)));
+    }
+
+    @Test
+    @DisplayName("Complete the futures of a failed batch exceptionally.")
+    void testFailure()
+    throws IOException {
+        Path directory = Files.createTempDirectory("commit");
+        GroupCommitWriter writer = new GroupCommitWriter(new FileHandler(directory.toString()), 0, 1);
+        CompletableFuture<Void> future = writer.append(new String[] {"value"});
+        assertThrows(CompletionException.class, future::join);
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.append(List.of("closed")));
+        Files.delete(directory);
+        AtomicBoolean failed = new AtomicBoolean();
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder().listener((event) -> {
+            if (!failed.getAndSet(true)) {
+                throw new AssertionError("listener");
+            }
+        }).build());
+        try (GroupCommitWriter errors = new GroupCommitWriter(handler, 0, 1)) {
+            CompletableFuture<Void> error = errors.append(new String[] {"error"});
+            CompletionException thrown = assertThrows(CompletionException.class, error::join);
+            assertInstanceOf(AssertionError.class, thrown.getCause());
+            errors.append(new String[] {"next"}).orTimeout(10, TimeUnit.SECONDS).join();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new GroupCommitWriter(new FileHandler(FILE_NAME), 0, 0));
+    }
+}
@@ -0,0 +1,106 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LineIndex class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class LineIndexTest {
+
+    private static final String FILE_NAME = "indexed.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        new File(FILE_NAME + LineIndex.SIDECAR_SUFFIX).delete();
+    }
+
+    @Test
+    @DisplayName("Count the lines the same way as readLine().")
+    void testLineCount()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        for (String content : List.of("", "a", "a\n", "a\n\n", "a\r\nb", "a\rb\r", "\r\n\r\n", "a\r\r\nb\n\rc")) {
+            Files.writeString(path, content);
+            long expected;
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                expected = reader.lines().count();
+            }
+            LineIndex index = LineIndex.build(path, 1, ByteBuffer.allocate(2));
+            assertEquals(expected, index.getLineCount(), content);
+            assertEquals(content.length(), index.getSize());
+            assertTrue(index.isValid(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Estimate the lines from a sample of the start of the file.")
+    void testEstimate()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        for (String content : List.of("", "a", "a\n", "a\r\nb", "a\rb\r", "\n\n")) {
+            Files.writeString(path, content);
+            LineIndex index = LineIndex.build(path, 1, ByteBuffer.allocate(8192));
+            assertEquals(index.getLineCount(), LineIndex.estimate(path, ByteBuffer.allocate(8192)), content);
+        }
+        Files.writeString(path, "0123456\n".repeat(1000));
+        assertEquals(1000, LineIndex.estimate(path, ByteBuffer.allocate(64)));
+    }
+
+    @Test
+    @DisplayName("Index every stride-th line.")
+    void testStride()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        Files.writeString(path, "aa\nb\r\nccc\n\nd");
+        LineIndex index = LineIndex.build(path, 2, ByteBuffer.allocate(8192));
+        assertEquals(5, index.getLineCount());
+        assertEquals(3, index.getBlockCount());
+        assertEquals(0, index.getOffset(0));
+        assertEquals(6, index.getOffset(1));
+        assertEquals(11, index.getOffset(2));
+        assertEquals(12, index.getEnd(2));
+        assertTrue(LineIndex.supports(StandardCharsets.UTF_8));
+        assertTrue(LineIndex.supports(StandardCharsets.ISO_8859_1));
+        assertFalse(LineIndex.supports(StandardCharsets.UTF_16LE));
+        assertThrows(IllegalArgumentException.class, () -> LineIndex.build(path, 0, ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    @DisplayName("Save the index to a sidecar file and load it while the file is unchanged.")
+    void testSidecar()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("line ").append(i).append((i % 2 == 0) ? "\n" : "\r\n");
+        }
+        Files.writeString(path, content);
+        LineIndex built = LineIndex.build(path, 1, ByteBuffer.allocate(8192));
+        Path sidecar = LineIndex.sidecar(path);
+        assertEquals(FILE_NAME + LineIndex.SIDECAR_SUFFIX, sidecar.getFileName().toString());
+        built.save(sidecar);
+        LineIndex loaded = LineIndex.load(sidecar, path, 1);
+        assertNotNull(loaded);
+        assertEquals(built.getLineCount(), loaded.getLineCount());
+        assertEquals(built.getBlockCount(), loaded.getBlockCount());
+        assertEquals(built.getOffset(4999), loaded.getOffset(4999));
+        assertNull(LineIndex.load(sidecar, path, 2));
+        Files.writeString(path, "changed", StandardOpenOption.APPEND);
+        assertNull(LineIndex.load(sidecar, path, 1));
+        Files.delete(sidecar);
+        assertNull(LineIndex.load(sidecar, path, 1));
+    }
+}
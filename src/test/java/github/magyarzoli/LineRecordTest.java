@@ -0,0 +1,52 @@
+package github.magyarzoli;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LineRecord class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class LineRecordTest {
+
+    @Test
+    @DisplayName("Split the same fields as String.split() with a negative limit.")
+    void testSplit() {
+        LineRecord record = new LineRecord(", ");
+        for (String line : new String[] {"", "a", "a, b", ", a, , b, ", "a,b", ", , "}) {
+            record.reset(line, 0);
+            assertArrayEquals(line.split(Pattern.quote(", "), -1), record.toArray(), line);
+            assertEquals(line, record.getLine());
+        }
+        record = new LineRecord("");
+        record.reset("a b", 0);
+        assertEquals(1, record.getFieldCount());
+        assertEquals("a b", record.getString(0));
+    }
+
+    @Test
+    @DisplayName("Reuse the field views for every line.")
+    void testViews() {
+        LineRecord record = new LineRecord("|");
+        record.reset("key|12345678901|0.5", 7);
+        CharSequence key = record.get(0);
+        assertEquals(7, record.getLineNumber());
+        assertEquals("key", key.toString());
+        assertEquals(3, key.length());
+        assertEquals("ey", key.subSequence(1, 3).toString());
+        assertEquals(12345678901L, record.getLong(1));
+        assertEquals(0.5, record.getDouble(2));
+        assertThrows(NumberFormatException.class, () -> record.getInt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> record.get(3));
+        record.reset("other|2", 8);
+        assertSame(key, record.get(0));
+        assertEquals("other", key.toString());
+        assertEquals('o', key.charAt(0));
+        assertEquals(2, record.getInt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> record.getString(2));
+    }
+}
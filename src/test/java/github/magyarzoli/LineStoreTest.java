@@ -0,0 +1,46 @@
+package github.magyarzoli;
+
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LineStore class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class LineStoreTest {
+
+    @Test
+    @DisplayName("Store lines across several chunks.")
+    void testChunks() {
+        String longLine = "x".repeat(LineStore.CHUNK_SIZE + 1);
+        LineStore store = LineStore.builder()
+                .add("first")
+                .add("")
+                .add(longLine)
+                .add("árvíztűrő")
+                .add("")
+                .build();
+        assertEquals(5, store.size());
+        assertEquals("first", store.get(0));
+        assertEquals("", store.get(1));
+        assertEquals(longLine, store.get(2));
+        assertEquals("árvíztűrő", store.get(3));
+        assertEquals("", store.get(4));
+        assertEquals(List.of("first", "", longLine, "árvíztűrő", ""), store.asList());
+        assertArrayEquals(store.asList().toArray(), store.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(5));
+        assertThrows(UnsupportedOperationException.class, () -> store.asList().add("added"));
+    }
+
+    @Test
+    @DisplayName("Store no lines.")
+    void testEmpty() {
+        assertEquals(0, LineStore.EMPTY.size());
+        assertTrue(LineStore.EMPTY.asList().isEmpty());
+        assertEquals(0, LineStore.EMPTY.toArray().length);
+    }
+}
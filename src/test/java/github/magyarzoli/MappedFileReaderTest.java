@@ -0,0 +1,98 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MappedFileReader class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class MappedFileReaderTest {
+
+    private static final String FILE_NAME = "mapped.txt";
+
+    private static Path path;
+
+    @BeforeAll
+    static void beforeAll() {
+        path = Path.of(FILE_NAME);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_NAME, StandardCharsets.UTF_8))) {
+            writer.write("first\nsecond\r\n\nárvíztűrő\nlast");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Map the file in a single window.")
+    void testSingleWindow() {
+        MappedFileReader reader = new MappedFileReader(path, StandardCharsets.UTF_8);
+        assertEquals(5, reader.getLineCount());
+        assertEquals("first", reader.getLine(0));
+        assertEquals("second", reader.getLine(1));
+        assertEquals("", reader.getLine(2));
+        assertEquals("árvíztűrő", reader.getLine(3));
+        assertEquals("last", reader.getLine(4));
+        assertEquals(6, reader.getLineOffset(1));
+        ByteBuffer buffer = reader.getLineBuffer(1);
+        assertTrue(buffer.isReadOnly());
+        assertEquals(6, buffer.remaining());
+        assertEquals('s', buffer.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getLine(5));
+    }
+
+    @Test
+    @DisplayName("Map the file in several windows aligned to the lines.")
+    void testSeveralWindows() {
+        MappedFileReader reader = new MappedFileReader(path, StandardCharsets.UTF_8, 16);
+        assertEquals(5, reader.getLineCount());
+        assertEquals("second", reader.getLine(1));
+        assertEquals("árvíztűrő", reader.getLine(3));
+        assertEquals("last", reader.getLine(4));
+        assertThrows(IllegalStateException.class, () -> new MappedFileReader(path, StandardCharsets.UTF_8, 4));
+    }
+
+    @Test
+    @DisplayName("Split the lines on every line terminator, and reject the charsets that cannot be split.")
+    void testLineTerminators()
+    throws IOException {
+        Path returns = Path.of("mapped-returns.txt");
+        try {
+            Files.writeString(returns, "first\rsecond\r\nthird\r\rlast\r");
+            for (long windowSize : new long[] {MappedFileReader.MAX_WINDOW_SIZE, 14, 13}) {
+                MappedFileReader reader = new MappedFileReader(returns, StandardCharsets.UTF_8, windowSize);
+                assertEquals(5, reader.getLineCount());
+                assertEquals("second", reader.getLine(1));
+                assertEquals("third", reader.getLine(2));
+                assertEquals("", reader.getLine(3));
+                assertEquals("last", reader.getLine(4));
+            }
+            assertThrows(IllegalArgumentException.class, () -> new MappedFileReader(returns, StandardCharsets.UTF_16));
+        } finally {
+            Files.delete(returns);
+        }
+    }
+
+    @Test
+    @DisplayName("Map the file through the FileHandler.")
+    void testFileHandlerReadMapped() {
+        FileHandler handler = new FileHandler(FILE_NAME);
+        MappedFileReader reader = handler.readMapped();
+        assertEquals(5, reader.getLineCount());
+        assertEquals("first", reader.getLine(0));
+        assertThrows(RuntimeException.class, () -> new FileHandler("invalid.txt").readMapped());
+    }
+}
@@ -0,0 +1,74 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelReader class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class ParallelReaderTest {
+
+    private static final String FILE_NAME = "parallel.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Read the same lines as readLine() across several ranges.")
+    void testRanges()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        String[] terminators = {"\n", "\r\n", "\r"};
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < (5 * ParallelReader.MIN_RANGE); i++) {
+            content.append((i % 7) == 0 ? "" : ("line " + i + " árvíztűrő"))
+                    .append(terminators[i % terminators.length]);
+        }
+        content.append("last");
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        List<String> expected = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                expected.add(line);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, ParallelReader.read(path, StandardCharsets.UTF_8, pool).asList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Read in parallel through the options of the handler.")
+    void testHandler()
+    throws IOException {
+        Path path = Path.of(FILE_NAME);
+        Files.writeString(path, "", StandardCharsets.UTF_8);
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder()
+                .charset(StandardCharsets.UTF_8)
+                .parallelRead(true)
+                .build());
+        handler.read();
+        assertEquals(0, handler.getReadArray().length);
+        Files.writeString(path, "first\r\nsecond\n", StandardCharsets.UTF_8);
+        handler.read();
+        assertArrayEquals(new String[] {"first", "second"}, handler.getReadArray());
+    }
+}
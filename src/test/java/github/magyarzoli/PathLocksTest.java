@@ -0,0 +1,174 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.*;
+import github.magyarzoli.UpdateFile.UpdateCommand;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PathLocks class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class PathLocksTest {
+
+    private static final String FILE_NAME = "locked.txt";
+
+    private static final String OTHER_FILE_NAME = "locked2.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        new File(OTHER_FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Share the lock of the same file under different names.")
+    void testLock() {
+        PathLocks locks = new PathLocks(10);
+        assertEquals(16, locks.getStripes());
+        assertEquals(1, new PathLocks(1).getStripes());
+        assertSame(locks.getLock(Path.of(FILE_NAME)), locks.getLock(Path.of(".", FILE_NAME).toAbsolutePath()));
+        assertSame(locks.getLock(Path.of("missing", "..", FILE_NAME)), locks.getLock(Path.of(FILE_NAME)));
+        assertThrows(IllegalArgumentException.class, () -> new PathLocks(0));
+    }
+
+    @Test
+    @DisplayName("Fail instead of waiting forever when the callback of a read writes the same file.")
+    void testWriteWhileReading() {
+        for (FileHandlerOptions options : List.of(
+                FileHandlerOptions.builder().pathLocks(new PathLocks(4)).build(),
+                FileHandlerOptions.builder().processLocks(new ProcessLocks(60_000)).build())) {
+            FileHandler handler = new FileHandler(FILE_NAME);
+            handler.setOptions(options);
+            handler.updateFile(new String[]{"line"});
+            assertThrows(IllegalStateException.class, () -> handler.readRecords((record) -> handler.updateFile(new String[]{"other"})));
+            handler.readRecords((record) -> assertEquals("line", record.getLine()));
+            try (Stream<String> lines = handler.readLines()) {
+                assertThrows(IllegalStateException.class, () -> handler.updateFile(new String[]{"other"}));
+                assertEquals(List.of("line"), lines.toList());
+            }
+            handler.updateFile(new String[]{"after"});
+        }
+        ProcessLocks.lockFile(Path.of(FILE_NAME)).toFile().delete();
+    }
+
+    @Test
+    @DisplayName("Hold the read lock of the file while the stream of its lines is open.")
+    void testStreamHoldsReadLock()
+    throws Exception {
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder().pathLocks(new PathLocks(4)).build());
+        handler.setDelimiter("\n");
+        handler.updateFile(new String[]{"first", "second"});
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> write;
+            try (Stream<String> lines = handler.readLines()) {
+                assertEquals("first", lines.findFirst().orElseThrow());
+                write = executor.submit(() -> handler.updateFile(new String[]{"after"}));
+                assertThrows(TimeoutException.class, () -> write.get(100, TimeUnit.MILLISECONDS));
+            }
+            write.get(1, TimeUnit.MINUTES);
+            handler.read();
+            assertEquals(List.of("after"), handler.getReadCollection());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Fail on writes of other files from the callback of a read, and never deadlock on reads of them.")
+    void testOtherFileWhileReading()
+    throws Exception {
+        for (int stripes : new int[] {1, PathLocks.DEFAULT_STRIPES}) {
+            FileHandlerOptions options = FileHandlerOptions.builder().pathLocks(new PathLocks(stripes)).build();
+            FileHandler first = new FileHandler(FILE_NAME);
+            FileHandler second = new FileHandler(OTHER_FILE_NAME);
+            first.setOptions(options);
+            second.setOptions(options);
+            first.updateFile(new String[]{"first"});
+            second.updateFile(new String[]{"second"});
+            assertThrows(IllegalStateException.class, () -> first.readRecords((record) -> second.updateFile(new String[]{"other"})));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    FileHandler handler = new FileHandler((i % 2) == 0 ? FILE_NAME : OTHER_FILE_NAME);
+                    FileHandler other = new FileHandler((i % 2) == 0 ? OTHER_FILE_NAME : FILE_NAME);
+                    handler.setOptions(options);
+                    other.setOptions(options);
+                    boolean writer = i >= 2;
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < 200; j++) {
+                            if (writer) {
+                                handler.updateFile(new String[]{"line"});
+                            } else {
+                                handler.readRecords((record) -> other.readRecords((nested) -> assertFalse(nested.getLine().isEmpty())));
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(1, TimeUnit.MINUTES);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Never read a partially written file while others overwrite it.")
+    void testConcurrentHandlers()
+    throws Exception {
+        FileHandlerOptions options = FileHandlerOptions.builder()
+                .charset(StandardCharsets.UTF_8)
+                .pathLocks(new PathLocks(4))
+                .build();
+        FileHandler first = new FileHandler(FILE_NAME);
+        first.setOptions(options);
+        first.setDelimiter("\n");
+        first.update(Collections.nCopies(1000, "initial"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String value = "writer" + i;
+                boolean writer = (i % 2) == 0;
+                futures.add(executor.submit(() -> {
+                    FileHandler handler = new FileHandler(FILE_NAME);
+                    handler.setOptions(options);
+                    handler.setDelimiter("\n");
+                    for (int j = 0; j < 20; j++) {
+                        if (writer) {
+                            handler.updateFile(Collections.nCopies(1000, value));
+                        } else {
+                            handler.read();
+                            String[] lines = handler.getReadArray();
+                            assertEquals(1000, lines.length);
+                            assertEquals(1, new HashSet<>(List.of(lines)).size());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.*;
+import github.magyarzoli.ProcessLocks.Handle;
+import github.magyarzoli.ProcessLocks.LockTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProcessLocks class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class ProcessLocksTest {
+
+    private static final String FILE_NAME = "process.txt";
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        ProcessLocks.lockFile(Path.of(FILE_NAME)).toFile().delete();
+    }
+
+    @Test
+    @DisplayName("Wait for the lock held by another process, and time out.")
+    void testAcquire()
+    throws Exception {
+        Path path = Path.of(FILE_NAME);
+        ProcessLocks first = new ProcessLocks(1000);
+        ProcessLocks second = new ProcessLocks(50);
+        try (Handle reader = first.acquire(path, true);
+             Handle other = CompletableFuture.supplyAsync(() -> acquire(first, path, true)).get(1, TimeUnit.MINUTES)) {
+            assertTrue(reader.isShared());
+            assertTrue(other.isShared());
+            assertThrows(LockTimeoutException.class, () -> second.acquire(path, false));
+        }
+        assertTrue(Files.exists(ProcessLocks.lockFile(path)));
+        assertEquals(1, second.getTimeoutCount());
+        assertTrue(second.getMaxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        try (Handle writer = second.acquire(path, false)) {
+            assertFalse(writer.isShared());
+            assertThrows(LockTimeoutException.class, () -> new ProcessLocks(0).acquire(path, true));
+            CompletableFuture<Handle> waiting = CompletableFuture.supplyAsync(() -> acquire(second, path, true));
+            Thread.sleep(20);
+            assertFalse(waiting.isDone());
+            writer.close();
+            waiting.get(1, TimeUnit.MINUTES).close();
+        }
+        assertEquals(2, first.getAcquireCount());
+        assertEquals(2, second.getAcquireCount());
+        assertTrue(second.getWaitNanos() >= second.getAverageWaitNanos());
+    }
+
+    @Test
+    @DisplayName("Lock the operations of a handler against other processes.")
+    void testHandler()
+    throws Exception {
+        ProcessLocks locks = new ProcessLocks(50);
+        FileHandler handler = new FileHandler(FILE_NAME);
+        handler.setOptions(FileHandlerOptions.builder()
+                .charset(StandardCharsets.UTF_8)
+                .processLocks(locks)
+                .build());
+        handler.updateFile(List.of("a", "b"));
+        handler.read();
+        assertArrayEquals(new String[]{"a b"}, handler.getReadArray());
+        assertEquals(2, locks.getAcquireCount());
+        try (Handle other = new ProcessLocks(1000).acquire(Path.of(FILE_NAME), false)) {
+            RuntimeException e = assertThrows(RuntimeException.class, handler::read);
+            assertInstanceOf(LockTimeoutException.class, e.getCause());
+        }
+        handler.read();
+        assertEquals(1, locks.getTimeoutCount());
+    }
+
+    private static Handle acquire(ProcessLocks locks, Path path, boolean shared) {
+        try {
+            return locks.acquire(path, shared);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
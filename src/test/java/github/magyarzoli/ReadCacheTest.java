@@ -0,0 +1,114 @@
+package github.magyarzoli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import github.magyarzoli.UpdateFile.UpdateCommand;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReadCache class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class ReadCacheTest {
+
+    private static final String FILE_NAME = "cached.txt";
+
+    private static final String OTHER_FILE_NAME = "cached2.txt";
+
+    @BeforeEach
+    void setUp()
+    throws IOException {
+        Files.writeString(Path.of(FILE_NAME), "first\nsecond");
+        Files.writeString(Path.of(OTHER_FILE_NAME), "other");
+    }
+
+    @AfterAll
+    static void afterAll() {
+        new File(FILE_NAME).delete();
+        new File(OTHER_FILE_NAME).delete();
+    }
+
+    @Test
+    @DisplayName("Serve reads of the same file from the cache.")
+    void testHit() {
+        ReadCache cache = new ReadCache(ReadCache.DEFAULT_MAX_WEIGHT);
+        FileHandler first = handler(FILE_NAME, cache);
+        FileHandler second = handler("./" + FILE_NAME, cache);
+        first.read();
+        second.read();
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertArrayEquals(new String[] {"first", "second"}, second.getReadArray());
+        second.getReadArray()[0] = "modified";
+        first.read();
+        assertEquals("first", first.getReadArray()[0]);
+        assertEquals(List.of("first", "second"), first.getReadCollection());
+    }
+
+    @Test
+    @DisplayName("Read the file again after it was changed.")
+    void testChanged()
+    throws IOException {
+        ReadCache cache = new ReadCache(ReadCache.DEFAULT_MAX_WEIGHT);
+        FileHandler handler = handler(FILE_NAME, cache);
+        handler.read();
+        Path path = Path.of(FILE_NAME);
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.writeString(path, "third\nforth");
+        Files.setLastModifiedTime(path, lastModified);
+        handler.read();
+        assertArrayEquals(new String[] {"third", "forth"}, handler.getReadArray());
+        handler.update(List.of("fifth"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+        handler.read();
+        handler.update(List.of("sixth"), UpdateCommand.UPDATE_FILE_WITH_CONTENTS_OVERWRITING);
+        Files.setLastModifiedTime(path, lastModified);
+        handler.read();
+        assertArrayEquals(new String[] {"sixth"}, handler.getReadArray());
+        assertEquals(0, cache.getHitCount());
+        handler.read();
+        assertEquals(1, cache.getHitCount());
+        handler.setOptions(handler.getOptions().toBuilder().charset(StandardCharsets.ISO_8859_1).build());
+        handler.read();
+        assertEquals(5, cache.getMissCount());
+        cache.clear();
+        LineStore raced = cache.lines(path, StandardCharsets.UTF_8, () -> {
+            cache.invalidate(path);
+            return LineStore.builder().add("stale").build();
+        });
+        assertEquals("stale", raced.get(0));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    @DisplayName("Evict the least recently used file.")
+    void testEviction() {
+        ReadCache cache = new ReadCache(300);
+        FileHandler handler = handler(FILE_NAME, cache);
+        FileHandler other = handler(OTHER_FILE_NAME, cache);
+        handler.read();
+        other.read();
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getSize());
+        assertTrue(cache.getWeight() <= cache.getMaxWeight());
+        other.read();
+        assertEquals(1, cache.getHitCount());
+        cache.clear();
+        assertEquals(0, cache.getWeight());
+        assertThrows(IllegalArgumentException.class, () -> new ReadCache(0));
+    }
+
+    private static FileHandler handler(String fileName, ReadCache cache) {
+        FileHandler handler = new FileHandler(fileName);
+        handler.setOptions(FileHandlerOptions.builder().readCache(cache).build());
+        return handler;
+    }
+}
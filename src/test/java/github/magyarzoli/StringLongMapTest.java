@@ -0,0 +1,50 @@
+package github.magyarzoli;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StringLongMap class testing with JUnit5.
+ * @since       1.0
+ * @author      <a href=https://github.com/MagyarZoli>Magyar Zoltán</a>
+ */
+public class StringLongMapTest {
+
+    @Test
+    @DisplayName("Keep the same entries as a HashMap while growing.")
+    void testEntries() {
+        StringLongMap map = new StringLongMap(0);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = "key" + (i % 7_000);
+            assertEquals(!expected.containsKey(key), map.put(key, i));
+            expected.put(key, (long) i);
+        }
+        assertEquals(expected.size(), map.size());
+        Map<String, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertTrue(map.containsKey("key0"));
+        assertEquals(7_000, map.get("key0"));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertThrows(NoSuchElementException.class, () -> map.get("missing"));
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    }
+
+    @Test
+    @DisplayName("Create an empty map.")
+    void testEmpty() {
+        StringLongMap map = new StringLongMap();
+        assertTrue(map.isEmpty());
+        assertEquals("{}", map.toString());
+        assertFalse(map.containsKey(""));
+        map.put("", 1);
+        assertEquals("{=1}", map.toString());
+        assertThrows(IllegalArgumentException.class, () -> new StringLongMap(-1));
+    }
+}